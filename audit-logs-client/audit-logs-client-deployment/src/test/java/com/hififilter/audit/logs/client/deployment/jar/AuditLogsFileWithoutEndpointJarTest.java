@@ -0,0 +1,53 @@
+package com.hififilter.audit.logs.client.deployment.jar;
+
+import com.hififilter.audit.logs.client.runtime.AuditLogsClientConfig;
+import io.quarkus.test.QuarkusUnitTest;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * Audit logs extension rolling file without endpoint config test
+ */
+public class AuditLogsFileWithoutEndpointJarTest {
+
+    /**
+     * Register extension
+     */
+    @RegisterExtension
+    protected static final QuarkusUnitTest UNIT_TEST = new QuarkusUnitTest()
+        .setArchiveProducer(() ->
+            ShrinkWrap.create(JavaArchive.class)
+                .addAsResource(
+                    new StringAsset("""
+                    quarkus.hifi-filter.audit-logs.clients.file.enabled=true
+                    quarkus.hifi-filter.audit-logs.clients.file.directory=target/audit-logs-file-without-endpoint
+                    quarkus.hifi-filter.audit-logs.toto.enabled=true
+                    """),
+                    "application.properties"
+                )
+        );
+
+    /**
+     * Audit logs extension runtime config
+     */
+    @Inject
+    protected AuditLogsClientConfig auditLogsConfig;
+
+    @Test
+    @ActivateRequestContext
+    public void testFileWithoutEndpointConfig() {
+        // The extension starts: audit logs are written to the rolling file, the endpoint is not needed
+        var config = auditLogsConfig.getClientOrDefault("toto");
+        assertTrue(config.enabled());
+        assertTrue(config.file().enabled());
+        assertTrue(config.endpoint().isEmpty());
+        assertFalse(config.requiresEndpoint());
+    }
+}
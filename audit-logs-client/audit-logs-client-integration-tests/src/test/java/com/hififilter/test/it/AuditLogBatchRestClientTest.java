@@ -0,0 +1,78 @@
+package com.hififilter.test.it;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs batch send tests of {@link com.hififilter.test.it.MyRestClient}
+ */
+@QuarkusTest
+@TestProfile(AuditLogBatchRestClientTest.BatchProfile.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogBatchRestClientTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    /**
+     * Rest client
+     */
+    @RestClient
+    protected MyRestClient myRestClient;
+
+    /**
+     * Wiremock
+     */
+    @InjectWireMock
+    protected WireMockServer wireMock;
+
+    @Test
+    public void testBatchFlushedOnMaxCount() throws InterruptedException {
+        wireMock.stubFor(
+            WireMock
+                .get(WireMock.urlEqualTo("/test/enabled"))
+                .willReturn(WireMock.aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "text/plain")
+                    .withBody("Hello world!")
+                )
+        );
+
+        myRestClient.auditEnabled();
+        myRestClient.auditEnabled();
+
+        for (var i = 0; i < 2; i++) {
+            var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+            assertNotNull(log);
+            assertEquals("/test/enabled", log.getJsonObject("request").getString("uri"));
+            assertEquals("Hello world!", log.getJsonObject("response").getString("body"));
+        }
+    }
+
+    /**
+     * Profile enabling batch send with newline delimited JSON payloads
+     */
+    public static class BatchProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.clients.batch.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.clients.batch.max-count", "2",
+                "quarkus.hifi-filter.audit-logs.clients.batch.format", "ndjson"
+            );
+        }
+    }
+}
@@ -5,6 +5,7 @@ import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.handler.BodyHandler;
@@ -92,7 +93,17 @@ public class AuditLogTestResourceManager implements QuarkusTestResourceLifecycle
         router.route().handler(BodyHandler.create());
         router.route(HttpMethod.POST, "/").handler(ctx -> {
             try {
-                LOGS.put(ctx.body().asJsonObject());
+                // Body is a single audit log, a JSON array or newline delimited JSON (batch send)
+                var body = ctx.body().asString().trim();
+                if (body.startsWith("[")) {
+                    for (var log : new JsonArray(body)) {
+                        LOGS.put((JsonObject) log);
+                    }
+                } else {
+                    for (var line : body.split("\n")) {
+                        LOGS.put(new JsonObject(line));
+                    }
+                }
             } catch (InterruptedException ex) {
                 throw new RuntimeException(ex);
             }
@@ -28,7 +28,12 @@ public class AuditLogsClientConfig {
     protected Map<String, AuditLogsConfig> clients;
 
     /**
-     * Get client config or default config if not set
+     * Get client config or default config if not set.
+     *
+     * <p>Audit logs of all rest clients go through the same delivery pipeline, so its settings (asynchronous
+     * queue, batches, spool,…) always come from the default clients config. The endpoints of the default clients
+     * config are used only by clients without their own endpoint: their audit logs are dropped if it's not set. The
+     * rate limit of the client applies if enabled, otherwise the one of the default clients config.</p>
      *
      * @param clientName Client name
      * @return A Client config
@@ -40,7 +45,24 @@ public class AuditLogsClientConfig {
         var clientConfig = clients().get(clientName);
         return new AuditLogsConfig(
             clientConfig.enabled(),
-            clientConfig.endpoint().or(() -> clientsDefault().endpoint())
+            clientConfig.endpoint().or(() -> clientsDefault().endpoint()),
+            clientConfig.endpoint().isPresent() ? clientConfig.endpoints() : clientsDefault().endpoints(),
+            clientsDefault().async(),
+            clientsDefault().batch(),
+            clientsDefault().spool(),
+            clientsDefault().compression(),
+            clientsDefault().retry(),
+            clientsDefault().circuitBreaker(),
+            clientsDefault().loadBalancer(),
+            clientsDefault().transport(),
+            clientsDefault().file(),
+            clientsDefault().ringBuffer(),
+            clientsDefault().socket(),
+            clientsDefault().syslog(),
+            clientsDefault().fanOut(),
+            clientConfig.rateLimit().enabled() ? clientConfig.rateLimit() : clientsDefault().rateLimit(),
+            clientsDefault().shutdown(),
+            clientsDefault().executor()
         );
     }
 }
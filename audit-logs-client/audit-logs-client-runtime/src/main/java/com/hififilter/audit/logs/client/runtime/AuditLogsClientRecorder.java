@@ -16,7 +16,7 @@ public class AuditLogsClientRecorder {
      *
      * @param config Audit logs extension runtime config
      * @param restClientsConfig Rest clients config
-     * @throws IllegalArgumentException If audit logs are enabled but no endpoint is defined for a client
+     * @throws IllegalArgumentException If audit logs of a client are sent over HTTP but no endpoint is defined
      * @throws NoSuchFieldException If rest clients configKey field is not found
      * @throws IllegalAccessException If rest clients configKey field is not accessible
      */
@@ -25,11 +25,12 @@ public class AuditLogsClientRecorder {
         augmentConfig(config, restClientsConfig);
         var clientsWithMissingConfig = config.clients().keySet().stream()
             .filter(k -> config.getClientOrDefault(k).enabled())
+            .filter(k -> config.getClientOrDefault(k).requiresEndpoint())
             .filter(k -> config.getClientOrDefault(k).endpoint().isEmpty())
             .toList();
         if (!clientsWithMissingConfig.isEmpty()) {
             throw new IllegalArgumentException(
-                "Audit-logs are enabled but no endpoint is defined for clients: "
+                "Audit-logs are sent over HTTP but no endpoint is defined for clients: "
                     + String.join(", ", clientsWithMissingConfig)
             );
         }
@@ -1,41 +1,52 @@
 package com.hififilter.audit.logs.client.runtime.audit;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hififilter.audit.logs.client.runtime.AuditLogsClientConfig;
 import com.hififilter.audit.logs.client.runtime.audit.service.AuditLogClientService;
+import com.hififilter.audit.logs.common.runtime.AuditLogsBatchConfig;
 import com.hififilter.audit.logs.common.runtime.audit.AuditLogSender;
 import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogDisabled;
 import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import com.hififilter.audit.logs.common.runtime.audit.sender.AuditLogEncoder;
+import com.hififilter.audit.logs.common.runtime.audit.sender.AuditLogPayloadSender;
+import com.hififilter.audit.logs.common.runtime.audit.sender.AuditLogPipeline;
+import com.hififilter.audit.logs.common.runtime.audit.sender.AuditLogTransport;
+import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
 import io.smallrye.mutiny.Uni;
-import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.Vertx;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.ext.ContextResolver;
-import java.net.URI;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import org.apache.logging.log4j.Level;
-import org.eclipse.microprofile.rest.client.RestClientBuilder;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
 /**
- * HTTP Audit log sender. Send audit log to an HTTP endpoint on JSON format with Resteasy Client
+ * HTTP Audit log sender. Send audit log to an HTTP endpoint on JSON format with Resteasy Client (or the Vert.x HTTP
+ * client), or to a Unix domain socket, a syslog server, a rolling file or a memory-mapped ring buffer if enabled, or
+ * to several of them if fan-out is enabled
  */
 @ApplicationScoped
 public class HttpAuditLogSender implements AuditLogSender {
 
     /**
-     * HTTP Timeout in seconds.<br />
-     *
-     * <p>Keep it low is a good idea to protect the latency of applications.</p>
+     * Name of the pipeline in metrics and thread names
+     */
+    private static final String PIPELINE_NAME = "client";
+
+    /**
+     * Name of the route to the endpoints of the default clients config in metrics
      */
-    private static final int HTTP_TIMEOUT_IN_MS = 200;
+    private static final String DEFAULT_ROUTE_NAME = "default";
 
     /**
      * Audit logs extension runtime config
@@ -44,47 +55,106 @@ public class HttpAuditLogSender implements AuditLogSender {
     protected AuditLogsClientConfig auditLogsConfig;
 
     /**
-     * Rest client
+     * Jackson object mapper
      */
-    private final Map<String, RestClient> restClients = new HashMap<>();
+    @Inject
+    protected ObjectMapper objectMapper;
+
+    /**
+     * Vert.x instance
+     */
+    @Inject
+    protected Vertx vertx;
+
+    /**
+     * Delivery pipeline, shared by all rest clients
+     */
+    private AuditLogPipeline pipeline;
 
     @Override
     public Uni<Void> send(final AuditLog auditLog) {
-        var restClient = restClients.get(
-            (String) auditLog.customFields().get(AuditLogClientService.REST_CLIENT_CUSTOM_FIELD)
-        );
-        if (restClient != null) {
-            return restClient.sendAuditLog(auditLog)
-                .invoke(response -> {
-                    var success = response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL;
-                    Loggers.AUDIT_LOGS_CLIENT.log(success ? Level.TRACE : Level.ERROR,
-                        "Audit log HTTP response: {}", response.getStatus());
-                })
-                .replaceWithVoid();
-        }
-        return Uni.createFrom().voidItem();
+        return pipeline != null ? pipeline.send(auditLog) : Uni.createFrom().voidItem();
+    }
+
+    /**
+     * Log the HTTP response of the audit log endpoint
+     *
+     * @param response HTTP response
+     */
+    protected void logResponse(final Response response) {
+        var success = response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL;
+        Loggers.AUDIT_LOGS_CLIENT.log(success ? Level.TRACE : Level.ERROR,
+            "Audit log HTTP response: {}", response.getStatus());
     }
 
     /**
-     * Method executed on start. Subscribe to processor to send audit log
+     * Method executed on start. Open the delivery pipeline, with a route to the endpoint of each rest client, and a
+     * default route to the endpoints of the default clients config for rest clients without their own endpoint
      *
      * @param event Startup event
      */
     protected void onStart(@Observes final StartupEvent event) {
+        var config = auditLogsConfig.clientsDefault();
+        var routes = new ArrayList<AuditLogPipeline.Route>();
+        if (config.endpoint().isPresent()) {
+            routes.add(new AuditLogPipeline.Route(
+                DEFAULT_ROUTE_NAME,
+                null,
+                config.allEndpoints(),
+                Paths.get(config.spool().directory()),
+                config.rateLimit()
+            ));
+        }
         auditLogsConfig.clients().entrySet()
             .stream()
             .filter(client -> client.getValue().endpoint().isPresent())
-            .forEach(client -> {
-                var restClient = RestClientBuilder.newBuilder()
-                    .baseUri(URI.create(client.getValue().endpoint().get()))
-                    .register((ContextResolver<HttpClientOptions>) type -> {
-                        var options = new HttpClientOptions();
-                        options.setConnectTimeout(HTTP_TIMEOUT_IN_MS);
-                        return options;
-                    })
-                    .build(RestClient.class);
-                restClients.put(client.getKey(), restClient);
-            });
+            .map(client -> new AuditLogPipeline.Route(
+                client.getKey(),
+                client.getKey(),
+                client.getValue().allEndpoints(),
+                Paths.get(config.spool().directory(), client.getKey()),
+                client.getValue().rateLimit()
+            ))
+            .forEach(routes::add);
+        pipeline = new AuditLogPipeline(PIPELINE_NAME, config, new AuditLogEncoder(objectMapper), routes,
+            HttpAuditLogSender::clientName, vertx, this::newRestClient);
+    }
+
+    /**
+     * Get the rest client name of an audit log
+     *
+     * @param auditLog Audit log
+     * @return Rest client name
+     */
+    protected static String clientName(final AuditLog auditLog) {
+        return (String) auditLog.customFields().get(AuditLogClientService.REST_CLIENT_CUSTOM_FIELD);
+    }
+
+    /**
+     * Build the rest client of an endpoint
+     *
+     * @param uri Endpoint URI
+     * @return HTTP client
+     */
+    protected AuditLogPayloadSender newRestClient(final String uri) {
+        var restClient = AuditLogTransport.restClientBuilder(uri, auditLogsConfig.clientsDefault().transport())
+            .build(RestClient.class);
+        return payload -> (AuditLogsBatchConfig.Format.NDJSON.contentType().equals(payload.contentType())
+            ? restClient.sendAuditLogLines(payload.body(), payload.contentEncoding())
+            : restClient.sendAuditLogs(payload.body(), payload.contentEncoding()))
+            .invoke(this::logResponse)
+            .replaceWithVoid();
+    }
+
+    /**
+     * Method executed on shutdown. Drain and close the delivery pipeline
+     *
+     * @param event Shutdown event
+     */
+    protected void onStop(@Observes final ShutdownEvent event) {
+        if (pipeline != null) {
+            pipeline.close();
+        }
     }
 
     /**
@@ -96,14 +166,28 @@ public class HttpAuditLogSender implements AuditLogSender {
     protected static interface RestClient {
 
         /**
-         * Send audit log
+         * Send audit logs serialized as JSON (a single audit log or a JSON array)
          *
-         * @param log Audit log
+         * @param payload Serialized audit logs
+         * @param contentEncoding Content encoding of the payload (null if not compressed)
          * @return Response
          */
         @POST
         @Consumes(MediaType.APPLICATION_JSON)
-        Uni<Response> sendAuditLog(final AuditLog log);
+        Uni<Response> sendAuditLogs(final byte[] payload,
+            @HeaderParam(HttpHeaders.CONTENT_ENCODING) final String contentEncoding);
+
+        /**
+         * Send a batch of audit logs serialized as newline delimited JSON
+         *
+         * @param payload Serialized audit logs
+         * @param contentEncoding Content encoding of the payload (null if not compressed)
+         * @return Response
+         */
+        @POST
+        @Consumes(AuditLogsBatchConfig.NDJSON_MEDIA_TYPE)
+        Uni<Response> sendAuditLogLines(final byte[] payload,
+            @HeaderParam(HttpHeaders.CONTENT_ENCODING) final String contentEncoding);
     }
 
 }
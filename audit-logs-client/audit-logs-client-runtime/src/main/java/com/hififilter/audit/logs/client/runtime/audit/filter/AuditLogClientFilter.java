@@ -3,6 +3,7 @@ package com.hififilter.audit.logs.client.runtime.audit.filter;
 import com.hififilter.audit.logs.client.runtime.audit.service.AuditLogClientService;
 import com.hififilter.audit.logs.client.runtime.audit.utils.ContextUtils;
 import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.client.ClientResponseContext;
@@ -42,18 +43,18 @@ public class AuditLogClientFilter implements ResteasyReactiveClientRequestFilter
                     Collectors.mapping(NameValuePair::getValue, Collectors.toList())
                 ));
 
-            var uuid = auditLogService.initRequestInfos(
+            auditLogService.initRequestInfos(
                 clientName.get(),
                 request.getMethod(),
                 request.getUri().getPath(),
                 params,
                 request.getStringHeaders()
-            );
-            if (uuid.isPresent()) {
-                request.setProperty(ContextUtils.AUDIT_LOG_UUID_PROPERTY, uuid.get());
-                auditLogService.initResourceMethodInfos(uuid.get(), invokedMethod.get());
-                auditLogService.setRequestBody(uuid.get(), request.getEntity());
-            }
+            )
+                .flatMap(auditLog -> auditLogService.initResourceMethodInfos(auditLog, invokedMethod.get()))
+                .ifPresent(auditLog -> {
+                    request.setProperty(ContextUtils.AUDIT_LOG_PROPERTY, auditLog);
+                    auditLogService.setRequestBody(auditLog, request.getEntity());
+                });
         } catch (RuntimeException ex) {
             Loggers.AUDIT_LOGS.error("Error when filtering client request {}", request::getUri, () -> ex);
         }
@@ -61,16 +62,17 @@ public class AuditLogClientFilter implements ResteasyReactiveClientRequestFilter
 
     @Override
     public void filter(final ResteasyReactiveClientRequestContext request, final ClientResponseContext response) {
-        var uuid = (String) request.getProperty(ContextUtils.AUDIT_LOG_UUID_PROPERTY);
-        if (uuid != null) {
+        var auditLog = (AuditLog) request.getProperty(ContextUtils.AUDIT_LOG_PROPERTY);
+        if (auditLog != null) {
             try {
-                auditLogService.setResponse(uuid, response);
+                auditLogService.setResponse(auditLog, response);
                 // If the reponse succeed and has no entity (method returning void), we send the audit log
                 // If the response failed, hasEntity() will return true even on a void method so the exception mapper
                 // will send the audit log
                 // Warning: if the method returns a Multi, hasEntity() will return false
                 if (!response.hasEntity()) {
-                    auditLogService.send(uuid);
+                    request.removeProperty(ContextUtils.AUDIT_LOG_PROPERTY);
+                    auditLogService.send(auditLog);
                 }
             } catch (RuntimeException ex) {
                 Loggers.AUDIT_LOGS.error("Error when filtering client response {}", request::getUri, () -> ex);
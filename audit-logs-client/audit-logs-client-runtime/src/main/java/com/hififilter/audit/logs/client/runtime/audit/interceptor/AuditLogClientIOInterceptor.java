@@ -2,6 +2,7 @@ package com.hififilter.audit.logs.client.runtime.audit.interceptor;
 
 import com.hififilter.audit.logs.client.runtime.audit.service.AuditLogClientService;
 import com.hififilter.audit.logs.client.runtime.audit.utils.ContextUtils;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.ConstrainedTo;
@@ -28,10 +29,12 @@ public class AuditLogClientIOInterceptor implements ReaderInterceptor {
     public Object aroundReadFrom(final ReaderInterceptorContext context)
         throws IOException, WebApplicationException {
         Object entity = context.proceed();
-        var uuid = (String) context.getProperty(ContextUtils.AUDIT_LOG_UUID_PROPERTY);
-        if (uuid != null) {
-            auditLogClientService.setResponseBody(uuid, entity);
-            auditLogClientService.send(uuid);
+        var auditLog = (AuditLog) context.getProperty(ContextUtils.AUDIT_LOG_PROPERTY);
+        if (auditLog != null) {
+            // Removed first so that the audit log is sent once, even if the entity is read again
+            context.removeProperty(ContextUtils.AUDIT_LOG_PROPERTY);
+            auditLogClientService.setResponseBody(auditLog, entity);
+            auditLogClientService.send(auditLog);
         }
         return entity;
     }
@@ -9,13 +9,16 @@ import jakarta.inject.Inject;
 import jakarta.ws.rs.client.ClientResponseContext;
 import jakarta.ws.rs.core.MultivaluedMap;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 /**
- * Audit log server service
+ * Audit log client service.<br />
+ *
+ * <p>Stateless: the audit log of a rest client call is carried in the properties of its request context (see
+ * {@link com.hififilter.audit.logs.client.runtime.audit.utils.ContextUtils#AUDIT_LOG_PROPERTY}), so concurrent calls
+ * share neither state nor locks.</p>
  */
 @ApplicationScoped
 public class AuditLogClientService {
@@ -37,11 +40,6 @@ public class AuditLogClientService {
     @Inject
     protected AuditLogsClientConfig auditLogsConfig;
 
-    /**
-     * Audit logs by uuid
-     */
-    protected Map<String, AuditLog> auditLogs = new HashMap<>();
-
     /**
      * Init audit log with request infos.
      *
@@ -50,9 +48,9 @@ public class AuditLogClientService {
      * @param uri HTTP Request URI
      * @param queryParams HTTP query params
      * @param headers HTTP request headers
-     * @return Audit log id
+     * @return Audit log, to store in the request properties, or empty if audit logs are disabled for the client
      */
-    public Optional<String> initRequestInfos(
+    public Optional<AuditLog> initRequestInfos(
         final String client,
         final String method,
         final String uri,
@@ -60,11 +58,10 @@ public class AuditLogClientService {
         final MultivaluedMap<String, String> headers) {
         if (auditLogsConfig.getClientOrDefault(client).enabled()) {
             var auditLog = new AuditLog();
-            auditLogs.put(auditLog.uuid(), auditLog);
             var extractedHeaders = AuditLogService.extractHeaders(headers);
             auditLogService.initRequestInfos(auditLog, method, uri, queryParams, extractedHeaders, null);
-            putCustomField(auditLog.uuid(), REST_CLIENT_CUSTOM_FIELD, client);
-            return Optional.of(auditLog.uuid());
+            putCustomField(auditLog, REST_CLIENT_CUSTOM_FIELD, client);
+            return Optional.of(auditLog);
         }
         return Optional.empty();
     }
@@ -72,103 +69,82 @@ public class AuditLogClientService {
     /**
      * Init resource info method, Audit options will be search on this method
      *
-     * @param uuid UUID of the audit log
+     * @param auditLog Audit log
      * @param invokedMethod Invoked API resource
+     * @return Audit log, or empty if audit logs are disabled on the invoked method
      */
-    public void initResourceMethodInfos(final String uuid, final Method invokedMethod) {
-        auditLogs.put(
-            uuid,
-            auditLogService.isDisabledOnInvokedMethod(auditLogs.get(uuid), invokedMethod)
-        );
-        if (isReady(uuid)) {
-            auditLogService.initResourceMethodInfos(auditLogs.get(uuid), invokedMethod);
+    public Optional<AuditLog> initResourceMethodInfos(final AuditLog auditLog, final Method invokedMethod) {
+        var enabledAuditLog = auditLogService.isDisabledOnInvokedMethod(auditLog, invokedMethod);
+        if (enabledAuditLog != null) {
+            auditLogService.initResourceMethodInfos(enabledAuditLog, invokedMethod);
         }
+        return Optional.ofNullable(enabledAuditLog);
     }
 
     /**
      * Inject input body
      *
-     * @param uuid UUID of the audit log
+     * @param auditLog Audit log
      * @param entity HTTP body
      */
-    public void setRequestBody(final String uuid, final Object entity) {
-        if (isReady(uuid)) {
-            auditLogService.setRequestBody(auditLogs.get(uuid), entity);
-        }
+    public void setRequestBody(final AuditLog auditLog, final Object entity) {
+        auditLogService.setRequestBody(auditLog, entity);
     }
 
     /**
      * Inject output information from a ContainerResponseContext object
      *
-     * @param uuid UUID of the audit log
+     * @param auditLog Audit log
      * @param responseContext ClientResponseContext object (JAX-RS object)
      */
-    public void setResponse(final String uuid, final ClientResponseContext responseContext) {
-        if (isReady(uuid)) {
-            auditLogService.setResponse(
-                auditLogs.get(uuid),
-                responseContext.getStatus(),
-                AuditLogService.extractHeaders(responseContext.getHeaders())
-            );
-        }
+    public void setResponse(final AuditLog auditLog, final ClientResponseContext responseContext) {
+        auditLogService.setResponse(
+            auditLog,
+            responseContext.getStatus(),
+            AuditLogService.extractHeaders(responseContext.getHeaders())
+        );
     }
 
     /**
      * Inject input body
      *
-     * @param uuid UUID of the audit log
+     * @param auditLog Audit log
      * @param entity HTTP body
      */
-    public void setResponseBody(final String uuid, final Object entity) {
-        if (isReady(uuid)) {
-            auditLogService.setResponseBody(auditLogs.get(uuid), entity);
-        }
+    public void setResponseBody(final AuditLog auditLog, final Object entity) {
+        auditLogService.setResponseBody(auditLog, entity);
     }
 
     /**
      * Inject a custom field. If the custom field is already defined, it will be silently replaced
      *
-     * @param uuid UUID of the audit log
+     * @param auditLog Audit log
      * @param key Key of custom field
      * @param value Value of custom field
      */
-    public void putCustomField(final String uuid, final String key, final Object value) {
-        if (isReady(uuid)) {
-            auditLogService.putCustomField(auditLogs.get(uuid), key, value);
-        }
-    }
-
-    /**
-     * Send audit log to http endpoint.
-     *
-     * @param uuid UUID of the audit log
-     */
-    public synchronized void send(final String uuid) {
-        if (isReady(uuid)) {
-            var auditLog = auditLogs.remove(uuid);
-            auditLogService.send(auditLog)
-                .subscribe()
-                .with(
-                    response -> Loggers.AUDIT_LOGS_CLIENT.trace(
-                        "Audit log for {} sent",
-                        () -> auditLog.customFields().get(REST_CLIENT_CUSTOM_FIELD)
-                    ),
-                    error -> Loggers.AUDIT_LOGS_CLIENT.error(
-                        "Error while sending audit log for {}",
-                        () -> auditLog.customFields().get(REST_CLIENT_CUSTOM_FIELD),
-                        () -> error
-                    )
-                );
-        }
+    public void putCustomField(final AuditLog auditLog, final String key, final Object value) {
+        auditLogService.putCustomField(auditLog, key, value);
     }
 
     /**
-     * Return true if audit log is enabled for the current request
+     * Send audit log to http endpoint. The caller removes the audit log from the request properties first, so that
+     * it's sent once
      *
-     * @param uuid UUID of audit log
-     * @return true if audit log is enabled for the current request
+     * @param auditLog Audit log
      */
-    protected boolean isReady(final String uuid) {
-        return auditLogs.containsKey(uuid) && auditLogs.get(uuid) != null;
+    public void send(final AuditLog auditLog) {
+        auditLogService.send(auditLog)
+            .subscribe()
+            .with(
+                response -> Loggers.AUDIT_LOGS_CLIENT.trace(
+                    "Audit log for {} sent",
+                    () -> auditLog.customFields().get(REST_CLIENT_CUSTOM_FIELD)
+                ),
+                error -> Loggers.AUDIT_LOGS_CLIENT.error(
+                    "Error while sending audit log for {}",
+                    () -> auditLog.customFields().get(REST_CLIENT_CUSTOM_FIELD),
+                    () -> error
+                )
+            );
     }
 }
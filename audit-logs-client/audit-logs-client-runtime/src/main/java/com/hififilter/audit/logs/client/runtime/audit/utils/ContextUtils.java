@@ -1,5 +1,6 @@
 package com.hififilter.audit.logs.client.runtime.audit.utils;
 
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
 import java.lang.reflect.Method;
 import java.util.Optional;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
@@ -12,9 +13,9 @@ import org.jboss.resteasy.reactive.client.spi.ResteasyReactiveClientRequestConte
 public final class ContextUtils {
 
     /**
-     * Audit log uuid property name
+     * Name of the request property holding the audit log of a rest client call
      */
-    public static final String AUDIT_LOG_UUID_PROPERTY = "auditLogUUID";
+    public static final String AUDIT_LOG_PROPERTY = AuditLog.class.getName();
 
     /**
      * Invoked method property
@@ -0,0 +1,34 @@
+package com.hififilter.audit.logs.common.deployment;
+
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogMethodDefinition;
+import io.quarkus.builder.item.SimpleBuildItem;
+import java.util.List;
+
+/**
+ * Audit log annotations of the resource and rest client methods, read once from the index
+ */
+public final class AuditLogMethodDefinitionsBuildItem extends SimpleBuildItem {
+
+    /**
+     * Method definitions
+     */
+    private final List<AuditLogMethodDefinition> definitions;
+
+    /**
+     * Constructor
+     *
+     * @param definitions Method definitions
+     */
+    public AuditLogMethodDefinitionsBuildItem(final List<AuditLogMethodDefinition> definitions) {
+        this.definitions = definitions;
+    }
+
+    /**
+     * Get method definitions
+     *
+     * @return Method definitions
+     */
+    public List<AuditLogMethodDefinition> getDefinitions() {
+        return definitions;
+    }
+}
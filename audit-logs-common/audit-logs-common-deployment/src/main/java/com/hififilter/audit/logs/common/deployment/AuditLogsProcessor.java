@@ -1,21 +1,46 @@
 package com.hififilter.audit.logs.common.deployment;
 
 import com.hififilter.audit.logs.common.runtime.AuditLogsRecorder;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogCustomFieldsGeneratorFactory;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogMethodDefinition;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogMethodTable;
+import com.hififilter.audit.logs.common.runtime.audit.DefaultAuditLogCustomFieldsGenerator;
 import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogDisabled;
 import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogEnabled;
 import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogHttpOptions;
 import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogOptions;
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
+import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.BuildSteps;
 import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.builditem.IndexDependencyBuildItem;
 import io.quarkus.deployment.metrics.MetricsCapabilityBuildItem;
 import io.quarkus.deployment.metrics.MetricsFactoryConsumerBuildItem;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HEAD;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.OPTIONS;
+import jakarta.ws.rs.PATCH;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.TreeSet;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.Type;
 
 /**
  * Audit log processor
@@ -28,6 +53,39 @@ public class AuditLogsProcessor {
      */
     private static final String FEATURE = "audit-logs-common";
 
+    /**
+     * Audit log disabled annotation
+     */
+    private static final DotName AUDIT_LOG_DISABLED = DotName.createSimple(AuditLogDisabled.class);
+
+    /**
+     * Audit log enabled annotation
+     */
+    private static final DotName AUDIT_LOG_ENABLED = DotName.createSimple(AuditLogEnabled.class);
+
+    /**
+     * Audit log options annotation
+     */
+    private static final DotName AUDIT_LOG_OPTIONS = DotName.createSimple(AuditLogOptions.class);
+
+    /**
+     * Meta-annotation of HTTP method annotations
+     */
+    private static final DotName HTTP_METHOD = DotName.createSimple(HttpMethod.class);
+
+    /**
+     * HTTP method annotations of resource and rest client methods
+     */
+    private static final List<DotName> HTTP_METHODS = List.of(
+        DotName.createSimple(GET.class),
+        DotName.createSimple(POST.class),
+        DotName.createSimple(PUT.class),
+        DotName.createSimple(DELETE.class),
+        DotName.createSimple(PATCH.class),
+        DotName.createSimple(HEAD.class),
+        DotName.createSimple(OPTIONS.class)
+    );
+
     /**
      * Create feature
      *
@@ -51,6 +109,7 @@ public class AuditLogsProcessor {
             .addBeanClass(AuditLogEnabled.class)
             .addBeanClass(AuditLogOptions.class)
             .addBeanClass(AuditLogHttpOptions.class)
+            .addBeanClass(AuditLogCustomFieldsGeneratorFactory.class)
             .build();
     }
 
@@ -82,4 +141,147 @@ public class AuditLogsProcessor {
             metricsProducer.produce(new MetricsFactoryConsumerBuildItem(recorder.registerMetrics()));
         }
     }
+
+    /**
+     * Read the audit log annotations of the resource and rest client methods once, for the build steps using them
+     *
+     * @param indexBuildItem Index build item
+     * @return An instance of AuditLogMethodDefinitionsBuildItem
+     */
+    @BuildStep
+    protected AuditLogMethodDefinitionsBuildItem methodDefinitions(final CombinedIndexBuildItem indexBuildItem) {
+        return new AuditLogMethodDefinitionsBuildItem(definitions(indexBuildItem.getIndex()));
+    }
+
+    /**
+     * Register the custom fields generators referenced by the methods as beans, so that they can use injection
+     *
+     * @param definitionsBuildItem Method definitions build item
+     * @return An instance of AdditionalBeanBuildItem
+     */
+    @BuildStep
+    protected AdditionalBeanBuildItem customFieldsGenerators(
+        final AuditLogMethodDefinitionsBuildItem definitionsBuildItem) {
+        var generators = new TreeSet<String>();
+        generators.add(DefaultAuditLogCustomFieldsGenerator.class.getName());
+        definitionsBuildItem.getDefinitions().forEach(definition -> {
+            generators.add(definition.getRequestGenerator());
+            generators.add(definition.getResponseGenerator());
+        });
+        return new AdditionalBeanBuildItem.Builder()
+            .setUnremovable()
+            .setDefaultScope(DotName.createSimple(Singleton.class))
+            .addBeanClasses(generators)
+            .build();
+    }
+
+    /**
+     * Resolve the audit log annotations of the resource and rest client methods, and register the table of their
+     * metadata as a bean, so that no reflection is needed when handling requests
+     *
+     * @param recorder Audit log recorder
+     * @param definitionsBuildItem Method definitions build item
+     * @return The table bean
+     */
+    @BuildStep
+    @Record(ExecutionTime.STATIC_INIT)
+    protected SyntheticBeanBuildItem methodTable(final AuditLogsRecorder recorder,
+        final AuditLogMethodDefinitionsBuildItem definitionsBuildItem) {
+        return SyntheticBeanBuildItem.configure(AuditLogMethodTable.class)
+            .scope(Singleton.class)
+            .unremovable()
+            .supplier(recorder.methodTable(definitionsBuildItem.getDefinitions()))
+            .done();
+    }
+
+    /**
+     * Read the audit log annotations of the resource and rest client methods: methods annotated with an HTTP method
+     *
+     * @param index Index
+     * @return Method definitions
+     */
+    protected static List<AuditLogMethodDefinition> definitions(final IndexView index) {
+        var httpMethods = new HashSet<>(HTTP_METHODS);
+        index.getAnnotations(HTTP_METHOD).stream()
+            .filter(instance -> instance.target().kind() == AnnotationTarget.Kind.CLASS)
+            .forEach(instance -> httpMethods.add(instance.target().asClass().name()));
+        return httpMethods.stream()
+            .flatMap(httpMethod -> index.getAnnotations(httpMethod).stream())
+            .filter(instance -> instance.target().kind() == AnnotationTarget.Kind.METHOD)
+            .map(instance -> instance.target().asMethod())
+            .distinct()
+            .map(method -> definition(index, method))
+            .toList();
+    }
+
+    /**
+     * Read the audit log annotations of a method
+     *
+     * @param index Index
+     * @param method Method
+     * @return Method definition
+     */
+    protected static AuditLogMethodDefinition definition(final IndexView index, final MethodInfo method) {
+        var disabledOnMethod = method.hasDeclaredAnnotation(AUDIT_LOG_DISABLED);
+        var enabledOnMethod = method.hasDeclaredAnnotation(AUDIT_LOG_ENABLED);
+        var options = method.declaredAnnotation(AUDIT_LOG_OPTIONS);
+        var action = options == null ? null : options.value("action");
+        return new AuditLogMethodDefinition(
+            method.declaringClass().name().toString(),
+            method.name(),
+            method.parameterTypes().stream().map(Type::name).map(DotName::toString).toList(),
+            disabledOnMethod || isDisabledOnClass(index, method.declaringClass()) && !enabledOnMethod,
+            action == null ? "" : action.asString(),
+            logEntity(options, "request"),
+            generator(options, "request"),
+            logEntity(options, "response"),
+            generator(options, "response")
+        );
+    }
+
+    /**
+     * Check if audit log is disabled on a class or on one of its superclasses ({@link AuditLogDisabled} is inherited)
+     *
+     * @param index Index
+     * @param classInfo Class
+     * @return True if audit log is disabled on the class
+     */
+    protected static boolean isDisabledOnClass(final IndexView index, final ClassInfo classInfo) {
+        var current = classInfo;
+        while (current != null) {
+            if (current.hasDeclaredAnnotation(AUDIT_LOG_DISABLED)) {
+                return true;
+            }
+            current = current.superName() == null ? null : index.getClassByName(current.superName());
+        }
+        return false;
+    }
+
+    /**
+     * Read the logEntity option of a request or a response
+     *
+     * @param options {@link AuditLogOptions} annotation, may be null
+     * @param name Option name: request or response
+     * @return True if the body is logged
+     */
+    protected static boolean logEntity(final AnnotationInstance options, final String name) {
+        var http = options == null ? null : options.value(name);
+        var logEntity = http == null ? null : http.asNested().value("logEntity");
+        return logEntity == null || logEntity.asBoolean();
+    }
+
+    /**
+     * Read the customFieldGeneratorClass option of a request or a response
+     *
+     * @param options {@link AuditLogOptions} annotation, may be null
+     * @param name Option name: request or response
+     * @return Name of the custom fields generator class
+     */
+    protected static String generator(final AnnotationInstance options, final String name) {
+        var http = options == null ? null : options.value(name);
+        var generator = http == null ? null : http.asNested().value("customFieldGeneratorClass");
+        return generator == null
+            ? DefaultAuditLogCustomFieldsGenerator.class.getName()
+            : generator.asClass().name().toString();
+    }
 }
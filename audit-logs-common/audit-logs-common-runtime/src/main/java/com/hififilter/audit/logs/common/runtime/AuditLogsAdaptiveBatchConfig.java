@@ -0,0 +1,75 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.DurationConverter;
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Adaptive batch sizing configuration.
+ *
+ * <p>When enabled, the batch count and linger thresholds start at their minimum and are adjusted after each batch
+ * to keep its round-trip time under the target latency (AIMD): if the batch failed or exceeded the target latency,
+ * they are divided by the decrease factor, so smaller batches are sent (and retried) to the struggling collector;
+ * otherwise, if the batch was full, they are increased by their step, so fewer and larger requests are sent while the
+ * collector keeps up, and if it wasn't, the linger is decreased by its step, so audit logs wait less off-peak. They
+ * stay between the min and max count and linger of the batch.</p>
+ */
+@ConfigGroup
+public class AuditLogsAdaptiveBatchConfig {
+
+    /**
+     * If set to true, the batch count and linger thresholds are adjusted to the latency of the collector
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Target round-trip time of a batch. Slower batches decrease the batch count and linger
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0.2S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration targetLatency;
+
+    /**
+     * Minimum number of audit logs in a batch
+     */
+    @Getter
+    @ConfigItem(defaultValue = "1")
+    protected int minCount;
+
+    /**
+     * Minimum time an audit log waits in a batch before the batch is sent
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0.01S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration minLinger;
+
+    /**
+     * Increase of the batch count after a full batch sent within the target latency
+     */
+    @Getter
+    @ConfigItem(defaultValue = "5")
+    protected int countStep;
+
+    /**
+     * Increase of the batch linger after a full batch sent within the target latency, and its decrease after a batch
+     * sent within the target latency before being full
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0.025S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration lingerStep;
+
+    /**
+     * Divisor of the batch count and linger after a failed or slow batch
+     */
+    @Getter
+    @ConfigItem(defaultValue = "2")
+    protected double decreaseFactor;
+}
@@ -0,0 +1,105 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.DurationConverter;
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Asynchronous send configuration.
+ *
+ * <p>When enabled, audit logs are pushed in a bounded in-memory queue drained by a dedicated consumer so the HTTP
+ * response never waits for the audit log endpoint. When the queue is full, audit logs are handled according to the
+ * overflow policy.</p>
+ */
+@ConfigGroup
+public class AuditLogsAsyncConfig {
+
+    /**
+     * If set to true, audit logs are sent asynchronously (fire-and-forget)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Maximum number of audit logs waiting to be sent
+     */
+    @Getter
+    @ConfigItem(defaultValue = "1024")
+    protected int queueSize;
+
+    /**
+     * Behavior when the queue is full
+     */
+    @Getter
+    @ConfigItem(defaultValue = "drop-newest")
+    protected OverflowPolicy overflowPolicy;
+
+    /**
+     * Maximum time to wait for room in the queue with the block policy. The audit log is dropped after this timeout
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0.1S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration blockTimeout;
+
+    /**
+     * Fill ratio of the queue above which new audit logs are sampled with the sample policy
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0.8")
+    protected double sampleThreshold;
+
+    /**
+     * Ratio of the new audit logs kept when the queue is above the sample threshold with the sample policy
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0.1")
+    protected double sampleRatio;
+
+    /**
+     * Maximum number of audit logs being sent at the same time by the consumer
+     */
+    @Getter
+    @ConfigItem(defaultValue = "64")
+    protected int maxInFlight;
+
+    /**
+     * Priority lanes configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsPriorityConfig priority;
+
+    /**
+     * Behavior when the queue is full. With priority lanes, the oldest audit log of a lower priority lane is evicted
+     * first if any
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Drop the new audit log
+         */
+        DROP_NEWEST,
+
+        /**
+         * Drop the oldest audit log (of the same priority lane) to make room for the new one
+         */
+        DROP_OLDEST,
+
+        /**
+         * Block the thread sending the audit log until there is room in the queue, up to the block timeout. The
+         * sending thread may be an event loop: keep the timeout short
+         */
+        BLOCK,
+
+        /**
+         * Keep only a ratio of the new audit logs once the queue is above the sample threshold, then drop the new
+         * audit log when the queue is full
+         */
+        SAMPLE
+    }
+}
@@ -0,0 +1,90 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.DurationConverter;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Batch send configuration.
+ *
+ * <p>When enabled, audit logs are accumulated and sent in a single HTTP request as soon as one of the thresholds
+ * (count, bytes or linger time) is reached.</p>
+ */
+@ConfigGroup
+public class AuditLogsBatchConfig {
+
+    /**
+     * Newline delimited JSON media type
+     */
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    /**
+     * If set to true, audit logs are sent by batch
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Maximum number of audit logs in a batch
+     */
+    @Getter
+    @ConfigItem(defaultValue = "100")
+    protected int maxCount;
+
+    /**
+     * Maximum size of a batch in bytes (serialized audit logs)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "1048576")
+    protected int maxBytes;
+
+    /**
+     * Maximum time an audit log waits in a batch before the batch is sent
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0.5S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration maxLinger;
+
+    /**
+     * Format of the batch payload
+     */
+    @Getter
+    @ConfigItem(defaultValue = "json-array")
+    protected Format format;
+
+    /**
+     * Adaptive batch sizing configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsAdaptiveBatchConfig adaptive;
+
+    /**
+     * Batch payload format
+     */
+    @RequiredArgsConstructor
+    public enum Format {
+
+        /**
+         * JSON array of audit logs
+         */
+        JSON_ARRAY("application/json"),
+
+        /**
+         * Newline delimited JSON (one audit log per line)
+         */
+        NDJSON(NDJSON_MEDIA_TYPE);
+
+        /**
+         * Content type of the payload
+         */
+        @Getter
+        private final String contentType;
+    }
+}
@@ -0,0 +1,55 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.DurationConverter;
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Circuit breaker configuration.
+ *
+ * <p>When enabled, the circuit opens if the failure rate of the last sends reaches the threshold. While open, sends
+ * fail immediately without touching the network (spooled audit logs stay in the spool). After the probe interval, a
+ * single probe send is allowed: the circuit closes if it succeeds and opens again otherwise.</p>
+ */
+@ConfigGroup
+public class AuditLogsCircuitBreakerConfig {
+
+    /**
+     * If set to true, sends go through a circuit breaker
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Number of last sends used to compute the failure rate
+     */
+    @Getter
+    @ConfigItem(defaultValue = "20")
+    protected int windowSize;
+
+    /**
+     * Minimum number of sends in the window before the failure rate is evaluated
+     */
+    @Getter
+    @ConfigItem(defaultValue = "10")
+    protected int minimumCalls;
+
+    /**
+     * Failure rate opening the circuit, from 0 to 1
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0.5")
+    protected double failureRateThreshold;
+
+    /**
+     * Delay the circuit stays open before a probe send is allowed
+     */
+    @Getter
+    @ConfigItem(defaultValue = "5S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration probeInterval;
+}
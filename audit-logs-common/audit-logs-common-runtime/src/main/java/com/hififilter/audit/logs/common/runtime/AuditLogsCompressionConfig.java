@@ -0,0 +1,67 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Payload compression configuration.
+ *
+ * <p>When enabled, payloads bigger than the minimum size are compressed and sent with a
+ * <code>Content-Encoding</code> header. Compression ratios are much better on batch payloads.</p>
+ */
+@ConfigGroup
+public class AuditLogsCompressionConfig {
+
+    /**
+     * If set to true, payloads are compressed
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Compression algorithm
+     */
+    @Getter
+    @ConfigItem(defaultValue = "gzip")
+    protected Algorithm algorithm;
+
+    /**
+     * Compression level, from 1 (fastest) to 9 (smallest)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "6")
+    protected int level;
+
+    /**
+     * Minimum size in bytes of a payload to compress. Smaller payloads are sent uncompressed
+     */
+    @Getter
+    @ConfigItem(defaultValue = "1024")
+    protected int minSize;
+
+    /**
+     * Compression algorithm
+     */
+    @RequiredArgsConstructor
+    public enum Algorithm {
+
+        /**
+         * Gzip format
+         */
+        GZIP("gzip"),
+
+        /**
+         * Zlib format
+         */
+        DEFLATE("deflate");
+
+        /**
+         * Content encoding of the compressed payload
+         */
+        @Getter
+        private final String contentEncoding;
+    }
+}
@@ -4,6 +4,8 @@ import io.quarkus.runtime.annotations.ConfigGroup;
 import io.quarkus.runtime.annotations.ConfigItem;
 import io.quarkus.runtime.annotations.ConvertWith;
 import io.quarkus.runtime.configuration.TrimmedStringConverter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -31,4 +33,153 @@ public class AuditLogsConfig {
     @ConfigItem
     @ConvertWith(TrimmedStringConverter.class)
     protected Optional<String> endpoint;
+
+    /**
+     * Define other audit log HTTP endpoints. Audit logs are load balanced between endpoint and these endpoints
+     */
+    @Getter
+    @ConfigItem
+    protected Optional<List<String>> endpoints;
+
+    /**
+     * Asynchronous send configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsAsyncConfig async;
+
+    /**
+     * Batch send configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsBatchConfig batch;
+
+    /**
+     * Disk spool configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsSpoolConfig spool;
+
+    /**
+     * Payload compression configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsCompressionConfig compression;
+
+    /**
+     * Retry configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsRetryConfig retry;
+
+    /**
+     * Circuit breaker configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsCircuitBreakerConfig circuitBreaker;
+
+    /**
+     * Load balancer configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsLoadBalancerConfig loadBalancer;
+
+    /**
+     * HTTP transport configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsTransportConfig transport;
+
+    /**
+     * Rolling file configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsFileConfig file;
+
+    /**
+     * Memory-mapped ring buffer configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsRingBufferConfig ringBuffer;
+
+    /**
+     * Unix domain socket configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsSocketConfig socket;
+
+    /**
+     * Syslog configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsSyslogConfig syslog;
+
+    /**
+     * Fan-out configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsFanOutConfig fanOut;
+
+    /**
+     * Outbound rate limit configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsRateLimitConfig rateLimit;
+
+    /**
+     * Shutdown configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsShutdownConfig shutdown;
+
+    /**
+     * Dedicated executor configuration
+     */
+    @Getter
+    @ConfigItem
+    protected AuditLogsExecutorConfig executor;
+
+    /**
+     * Get all audit log endpoints: endpoint followed by the other endpoints
+     *
+     * @return Endpoint URIs (empty if endpoint is not set)
+     */
+    public List<String> allEndpoints() {
+        var all = new ArrayList<String>();
+        endpoint().ifPresent(uri -> {
+            all.add(uri);
+            endpoints().ifPresent(all::addAll);
+        });
+        return all;
+    }
+
+    /**
+     * Check if audit logs are sent over HTTP: no local sink (ring buffer, rolling file, syslog or Unix domain socket)
+     * is enabled, or fan-out has a filter for the endpoint sink
+     *
+     * @return True if the endpoint is mandatory
+     */
+    public boolean requiresEndpoint() {
+        if (socket().enabled()) {
+            return false;
+        }
+        if (fanOut().enabled() && fanOut().sinks().containsKey(AuditLogsFanOutConfig.ENDPOINT_SINK)) {
+            return true;
+        }
+        return !ringBuffer().enabled() && !file().enabled() && !syslog().enabled();
+    }
 }
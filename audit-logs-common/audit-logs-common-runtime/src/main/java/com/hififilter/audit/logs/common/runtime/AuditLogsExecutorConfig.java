@@ -0,0 +1,37 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import lombok.Getter;
+
+/**
+ * Dedicated executor configuration.
+ *
+ * <p>When enabled, audit logs are serialized and sent (or queued) by a dedicated bounded pool of threads instead of the
+ * event loop completing the response, so audit work doesn't compete with request handling. When all the threads are
+ * busy and the executor queue is full, audit logs are dropped.</p>
+ */
+@ConfigGroup
+public class AuditLogsExecutorConfig {
+
+    /**
+     * If set to true, audit logs are serialized and sent by the dedicated executor
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Number of threads of the executor
+     */
+    @Getter
+    @ConfigItem(defaultValue = "2")
+    protected int threads;
+
+    /**
+     * Maximum number of audit logs waiting for a thread of the executor
+     */
+    @Getter
+    @ConfigItem(defaultValue = "1000")
+    protected int queueSize;
+}
@@ -0,0 +1,52 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Fan-out configuration.
+ *
+ * <p>By default audit logs go to a single sink: the ring buffer, the rolling file, syslog or the endpoint, in this
+ * order, whichever is enabled first. When fan-out is enabled, they go to all enabled sinks, each with its own filter
+ * and its own queue (if asynchronous send is enabled). An audit log is serialized once for all sinks.</p>
+ */
+@ConfigGroup
+public class AuditLogsFanOutConfig {
+
+    /**
+     * Name of the ring buffer sink
+     */
+    public static final String RING_BUFFER_SINK = "ring-buffer";
+
+    /**
+     * Name of the rolling file sink
+     */
+    public static final String FILE_SINK = "file";
+
+    /**
+     * Name of the syslog sink
+     */
+    public static final String SYSLOG_SINK = "syslog";
+
+    /**
+     * Name of the endpoint sink (HTTP endpoints or Unix domain socket)
+     */
+    public static final String ENDPOINT_SINK = "endpoint";
+
+    /**
+     * If set to true, audit logs are sent to all enabled sinks
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Filters of the sinks, by sink name: ring-buffer, file, syslog or endpoint. A sink without filter receives all
+     * audit logs
+     */
+    @Getter
+    @ConfigItem
+    protected Map<String, AuditLogsSinkConfig> sinks;
+}
@@ -0,0 +1,116 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.quarkus.runtime.configuration.TrimmedStringConverter;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * Rolling file configuration.
+ *
+ * <p>When enabled, audit logs are appended as newline delimited JSON to a local file instead of being sent to the
+ * endpoint (a node agent is expected to ship the files). The active file is named {@code <prefix>.log}; on rotation
+ * it's renamed with a timestamp and a new file is opened.</p>
+ */
+@ConfigGroup
+public class AuditLogsFileConfig {
+
+    /**
+     * If set to true, audit logs are written to rolling files instead of the endpoint
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Directory of the files
+     */
+    @Getter
+    @ConfigItem(defaultValue = "audit-logs")
+    @ConvertWith(TrimmedStringConverter.class)
+    protected String directory;
+
+    /**
+     * Prefix of the file names
+     */
+    @Getter
+    @ConfigItem(defaultValue = "audit")
+    @ConvertWith(TrimmedStringConverter.class)
+    protected String prefix;
+
+    /**
+     * Maximum size in bytes of a file before rotation
+     */
+    @Getter
+    @ConfigItem(defaultValue = "104857600")
+    protected long maxFileSize;
+
+    /**
+     * Maximum age of a file before rotation. No time-based rotation if not set
+     */
+    @Getter
+    @ConfigItem
+    @ConvertWith(DurationConverter.class)
+    protected Optional<Duration> rotationInterval;
+
+    /**
+     * Maximum number of rotated files kept in the directory (0 to keep all of them)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0")
+    protected int maxFiles;
+
+    /**
+     * When written audit logs are forced to the storage device
+     */
+    @Getter
+    @ConfigItem(defaultValue = "interval")
+    protected Fsync fsync;
+
+    /**
+     * Interval between forces to the storage device, with the interval fsync policy
+     */
+    @Getter
+    @ConfigItem(defaultValue = "1S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration fsyncInterval;
+
+    /**
+     * Size in bytes of the write buffer
+     */
+    @Getter
+    @ConfigItem(defaultValue = "65536")
+    protected int bufferSize;
+
+    /**
+     * Maximum number of audit logs waiting to be written. When the queue is full, new audit logs are dropped
+     */
+    @Getter
+    @ConfigItem(defaultValue = "8192")
+    protected int queueSize;
+
+    /**
+     * Fsync policy
+     */
+    public enum Fsync {
+
+        /**
+         * Never force writes, the OS flushes them
+         */
+        NEVER,
+
+        /**
+         * Force writes at most once per fsync interval
+         */
+        INTERVAL,
+
+        /**
+         * Force writes after each batch of audit logs written
+         */
+        BATCH
+    }
+}
@@ -0,0 +1,100 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.DurationConverter;
+import java.time.Duration;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Load balancer configuration, used when several endpoints are defined.
+ *
+ * <p>An endpoint failing several times in a row is ejected (no audit log is sent to it) for the ejection duration.
+ * Endpoints with an open circuit breaker are also skipped. If all endpoints are ejected, they are all used again.</p>
+ */
+@ConfigGroup
+public class AuditLogsLoadBalancerConfig {
+
+    /**
+     * Load balancing strategy
+     */
+    @Getter
+    @ConfigItem(defaultValue = "round-robin")
+    protected Strategy strategy;
+
+    /**
+     * Audit log field hashed by the consistent-hash strategy
+     */
+    @Getter
+    @ConfigItem(defaultValue = "user-id")
+    protected HashKey hashKey;
+
+    /**
+     * Number of consecutive failures ejecting an endpoint
+     */
+    @Getter
+    @ConfigItem(defaultValue = "5")
+    protected int ejectionFailures;
+
+    /**
+     * Duration of an endpoint ejection
+     */
+    @Getter
+    @ConfigItem(defaultValue = "30S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration ejectionDuration;
+
+    /**
+     * Load balancing strategy
+     */
+    public enum Strategy {
+
+        /**
+         * Endpoints are used in turn
+         */
+        ROUND_ROBIN,
+
+        /**
+         * Endpoint with the least requests in progress is used
+         */
+        LEAST_OUTSTANDING,
+
+        /**
+         * Endpoint is chosen by hashing an audit log field, so audit logs with the same value go to the same
+         * endpoint. Batch and spooled payloads contain several audit logs and are sent in round-robin
+         */
+        CONSISTENT_HASH
+    }
+
+    /**
+     * Audit log field hashed by the consistent-hash strategy
+     */
+    @RequiredArgsConstructor
+    public enum HashKey {
+
+        /**
+         * User ID
+         */
+        USER_ID(auditLog -> auditLog.user().id()),
+
+        /**
+         * Action
+         */
+        ACTION(AuditLog::action),
+
+        /**
+         * Request URI
+         */
+        URI(auditLog -> auditLog.request().uri());
+
+        /**
+         * Field value extractor
+         */
+        @Getter
+        private final Function<AuditLog, String> extractor;
+    }
+}
@@ -1,5 +1,14 @@
 package com.hififilter.audit.logs.common.runtime;
 
+import com.hififilter.audit.logs.common.runtime.audit.sender.AuditLogDroppedException;
+import io.quarkus.runtime.metrics.MetricsFactory;
+import io.smallrye.mutiny.Uni;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
@@ -17,6 +26,116 @@ public final class AuditLogsMetrics {
      */
     public static final String SEND_FAILED = "hifi-filter.audit-logs.send.failed";
 
+    /**
+     * Send dropped (asynchronous queue full)
+     */
+    public static final String SEND_DROPPED = "hifi-filter.audit-logs.send.dropped";
+
+    /**
+     * Send retried
+     */
+    public static final String SEND_RETRIED = "hifi-filter.audit-logs.send.retried";
+
+    /**
+     * Send rejected (circuit breaker open)
+     */
+    public static final String SEND_REJECTED = "hifi-filter.audit-logs.send.rejected";
+
+    /**
+     * Send throttled (rate limit exceeded)
+     */
+    public static final String SEND_THROTTLED = "hifi-filter.audit-logs.send.throttled";
+
+    /**
+     * Endpoint send success (tagged with the endpoint URI)
+     */
+    public static final String ENDPOINT_SUCCESS = "hifi-filter.audit-logs.endpoint.success";
+
+    /**
+     * Endpoint send failed (tagged with the endpoint URI)
+     */
+    public static final String ENDPOINT_FAILED = "hifi-filter.audit-logs.endpoint.failed";
+
+    /**
+     * Endpoint ejections (tagged with the endpoint URI)
+     */
+    public static final String ENDPOINT_EJECTED = "hifi-filter.audit-logs.endpoint.ejected";
+
+    /**
+     * Endpoint requests in progress (tagged with the endpoint URI)
+     */
+    public static final String ENDPOINT_OUTSTANDING = "hifi-filter.audit-logs.endpoint.outstanding";
+
+    /**
+     * Asynchronous queue depth (tagged with the queue name)
+     */
+    public static final String QUEUE_DEPTH = "hifi-filter.audit-logs.queue.depth";
+
+    /**
+     * Asynchronous queue high-water mark (tagged with the queue name)
+     */
+    public static final String QUEUE_HIGH_WATER_MARK = "hifi-filter.audit-logs.queue.high-water-mark";
+
+    /**
+     * Audit logs dropped by an asynchronous queue (tagged with the queue name and the reason)
+     */
+    public static final String QUEUE_DROPPED = "hifi-filter.audit-logs.queue.dropped";
+
+    /**
+     * Current batch count threshold (tagged with the batch name)
+     */
+    public static final String BATCH_SIZE = "hifi-filter.audit-logs.batch.size";
+
+    /**
+     * Current batch linger threshold in milliseconds (tagged with the batch name)
+     */
+    public static final String BATCH_LINGER = "hifi-filter.audit-logs.batch.linger";
+
+    /**
+     * Dedicated executor threads running a task (tagged with the executor name)
+     */
+    public static final String EXECUTOR_ACTIVE = "hifi-filter.audit-logs.executor.active";
+
+    /**
+     * Dedicated executor tasks waiting for a thread (tagged with the executor name)
+     */
+    public static final String EXECUTOR_QUEUED = "hifi-filter.audit-logs.executor.queued";
+
+    /**
+     * Dedicated executor utilization: ratio of threads running a task (tagged with the executor name)
+     */
+    public static final String EXECUTOR_UTILIZATION = "hifi-filter.audit-logs.executor.utilization";
+
+    /**
+     * Audit logs rejected by the dedicated executor, its queue being full (tagged with the executor name)
+     */
+    public static final String EXECUTOR_REJECTED = "hifi-filter.audit-logs.executor.rejected";
+
+    /**
+     * Endpoint metric tag
+     */
+    private static final String ENDPOINT_TAG = "endpoint";
+
+    /**
+     * Queue metric tag
+     */
+    private static final String QUEUE_TAG = "queue";
+
+    /**
+     * Batch metric tag
+     */
+    private static final String BATCH_TAG = "batch";
+
+    /**
+     * Executor metric tag
+     */
+    private static final String EXECUTOR_TAG = "executor";
+
+    /**
+     * Drop reason metric tag
+     */
+    private static final String REASON_TAG = "reason";
+
     /**
      * Send success counter
      */
@@ -27,9 +146,328 @@ public final class AuditLogsMetrics {
      */
     public static final LongAdder SEND_FAILED_COUNTER = new LongAdder();
 
+    /**
+     * Send dropped counter
+     */
+    public static final LongAdder SEND_DROPPED_COUNTER = new LongAdder();
+
+    /**
+     * Send retried counter
+     */
+    public static final LongAdder SEND_RETRIED_COUNTER = new LongAdder();
+
+    /**
+     * Send rejected counter
+     */
+    public static final LongAdder SEND_REJECTED_COUNTER = new LongAdder();
+
+    /**
+     * Send throttled counter
+     */
+    public static final LongAdder SEND_THROTTLED_COUNTER = new LongAdder();
+
+    /**
+     * Endpoint metrics by endpoint URI
+     */
+    private static final Map<String, Endpoint> ENDPOINTS = new ConcurrentHashMap<>();
+
+    /**
+     * Queue metrics by queue name
+     */
+    private static final Map<String, Queue> QUEUES = new ConcurrentHashMap<>();
+
+    /**
+     * Batch metrics by batch name
+     */
+    private static final Map<String, Batch> BATCHES = new ConcurrentHashMap<>();
+
+    /**
+     * Executor metrics by executor name
+     */
+    private static final Map<String, Executor> EXECUTORS = new ConcurrentHashMap<>();
+
+    /**
+     * Metrics factory used to register endpoint metrics. Null if metrics are disabled
+     */
+    private static volatile MetricsFactory metricsFactory;
+
     /**
      * Constructor
      */
     private AuditLogsMetrics() {
     }
+
+    /**
+     * Set the metrics factory used to register endpoint metrics (endpoints are only known at runtime)
+     *
+     * @param factory Metrics factory
+     */
+    public static void metricsFactory(final MetricsFactory factory) {
+        metricsFactory = factory;
+    }
+
+    /**
+     * Get metrics of an endpoint, registered on first call
+     *
+     * @param uri Endpoint URI
+     * @return Endpoint metrics
+     */
+    public static Endpoint endpoint(final String uri) {
+        return ENDPOINTS.computeIfAbsent(uri, key -> {
+            var endpoint = new Endpoint(new LongAdder(), new LongAdder(), new LongAdder(), new AtomicInteger());
+            var factory = metricsFactory;
+            if (factory != null) {
+                factory.builder(ENDPOINT_SUCCESS)
+                    .description("Counter of audit log send success by endpoint")
+                    .tag(ENDPOINT_TAG, key)
+                    .buildCounter(endpoint.success()::longValue);
+                factory.builder(ENDPOINT_FAILED)
+                    .description("Counter of audit log send failed by endpoint")
+                    .tag(ENDPOINT_TAG, key)
+                    .buildCounter(endpoint.failed()::longValue);
+                factory.builder(ENDPOINT_EJECTED)
+                    .description("Counter of endpoint ejections by the load balancer")
+                    .tag(ENDPOINT_TAG, key)
+                    .buildCounter(endpoint.ejected()::longValue);
+                factory.builder(ENDPOINT_OUTSTANDING)
+                    .description("Gauge of audit log requests in progress by endpoint")
+                    .tag(ENDPOINT_TAG, key)
+                    .buildGauge(endpoint.outstanding()::get);
+            }
+            return endpoint;
+        });
+    }
+
+    /**
+     * Get metrics of an asynchronous queue, registered on first call
+     *
+     * @param name Queue name
+     * @return Queue metrics
+     */
+    public static Queue queue(final String name) {
+        return QUEUES.computeIfAbsent(name, key -> {
+            var dropped = new EnumMap<DropReason, LongAdder>(DropReason.class);
+            var queue = new Queue(new AtomicInteger(), new AtomicInteger(), dropped);
+            var factory = metricsFactory;
+            if (factory != null) {
+                factory.builder(QUEUE_DEPTH)
+                    .description("Gauge of audit logs waiting in the queue")
+                    .tag(QUEUE_TAG, key)
+                    .buildGauge(queue.depth()::get);
+                factory.builder(QUEUE_HIGH_WATER_MARK)
+                    .description("Gauge of the maximum number of audit logs waiting in the queue")
+                    .tag(QUEUE_TAG, key)
+                    .buildGauge(queue.highWaterMark()::get);
+            }
+            for (var reason : DropReason.values()) {
+                var counter = new LongAdder();
+                dropped.put(reason, counter);
+                if (factory != null) {
+                    factory.builder(QUEUE_DROPPED)
+                        .description("Counter of audit logs dropped by the queue")
+                        .tag(QUEUE_TAG, key)
+                        .tag(REASON_TAG, reason.tag())
+                        .buildCounter(counter::longValue);
+                }
+            }
+            return queue;
+        });
+    }
+
+    /**
+     * Get metrics of an adaptive batch, registered on first call
+     *
+     * @param name Batch name
+     * @return Batch metrics
+     */
+    public static Batch batch(final String name) {
+        return BATCHES.computeIfAbsent(name, key -> {
+            var batch = new Batch(new AtomicInteger(), new AtomicLong());
+            var factory = metricsFactory;
+            if (factory != null) {
+                factory.builder(BATCH_SIZE)
+                    .description("Gauge of the current maximum number of audit logs in a batch")
+                    .tag(BATCH_TAG, key)
+                    .buildGauge(batch.size()::get);
+                factory.builder(BATCH_LINGER)
+                    .description("Gauge of the current maximum time in milliseconds an audit log waits in a batch")
+                    .tag(BATCH_TAG, key)
+                    .buildGauge(batch.linger()::get);
+            }
+            return batch;
+        });
+    }
+
+    /**
+     * Get metrics of a dedicated executor, registered on first call
+     *
+     * @param name Executor name
+     * @return Executor metrics
+     */
+    public static Executor executor(final String name) {
+        return EXECUTORS.computeIfAbsent(name, key -> {
+            var executor = new Executor(new AtomicInteger(), new AtomicInteger(), new AtomicInteger(), new LongAdder());
+            var factory = metricsFactory;
+            if (factory != null) {
+                factory.builder(EXECUTOR_ACTIVE)
+                    .description("Gauge of the executor threads running a task")
+                    .tag(EXECUTOR_TAG, key)
+                    .buildGauge(executor.active()::get);
+                factory.builder(EXECUTOR_QUEUED)
+                    .description("Gauge of the executor tasks waiting for a thread")
+                    .tag(EXECUTOR_TAG, key)
+                    .buildGauge(executor.queued()::get);
+                factory.builder(EXECUTOR_UTILIZATION)
+                    .description("Gauge of the ratio of executor threads running a task")
+                    .tag(EXECUTOR_TAG, key)
+                    .buildGauge(executor::utilization);
+                factory.builder(EXECUTOR_REJECTED)
+                    .description("Counter of audit logs rejected by the executor")
+                    .tag(EXECUTOR_TAG, key)
+                    .buildCounter(executor.rejected()::longValue);
+            }
+            return executor;
+        });
+    }
+
+    /**
+     * Update send counters with the result of a send. Audit logs dropped on purpose (see
+     * {@link AuditLogDroppedException}) are counted as dropped, not as failed
+     *
+     * @param send Send result
+     * @param count Number of audit logs sent
+     * @return The send result
+     */
+    public static Uni<Void> record(final Uni<Void> send, final int count) {
+        return record(send, count, true);
+    }
+
+    /**
+     * Update send counters with the result of a send
+     *
+     * @param send Send result
+     * @param count Number of audit logs sent
+     * @param dropping True if audit logs dropped on purpose are lost, false if they are kept to be sent again (and not
+     * counted)
+     * @return The send result
+     */
+    public static Uni<Void> record(final Uni<Void> send, final int count, final boolean dropping) {
+        return send
+            .onItem()
+            .invoke(() -> SEND_SUCCESS_COUNTER.add(count))
+            .onFailure()
+            .invoke(error -> {
+                if (!(error instanceof AuditLogDroppedException)) {
+                    SEND_FAILED_COUNTER.add(count);
+                } else if (dropping) {
+                    SEND_DROPPED_COUNTER.add(count);
+                }
+            });
+    }
+
+    /**
+     * Metrics of an endpoint
+     *
+     * @param success Send success counter
+     * @param failed Send failed counter
+     * @param ejected Ejections counter
+     * @param outstanding Requests in progress
+     */
+    public record Endpoint(LongAdder success, LongAdder failed, LongAdder ejected, AtomicInteger outstanding) {
+    }
+
+    /**
+     * Metrics of a dedicated executor
+     *
+     * @param threads Number of threads
+     * @param active Threads running a task
+     * @param queued Tasks waiting for a thread
+     * @param rejected Rejected audit logs counter
+     */
+    public record Executor(AtomicInteger threads, AtomicInteger active, AtomicInteger queued, LongAdder rejected) {
+
+        /**
+         * Get the ratio of threads running a task
+         *
+         * @return Utilization, between 0 and 1
+         */
+        public double utilization() {
+            var count = threads.get();
+            return count == 0 ? 0 : (double) active.get() / count;
+        }
+    }
+
+    /**
+     * Metrics of an adaptive batch
+     *
+     * @param size Current batch count threshold
+     * @param linger Current batch linger threshold in milliseconds
+     */
+    public record Batch(AtomicInteger size, AtomicLong linger) {
+    }
+
+    /**
+     * Metrics of an asynchronous queue
+     *
+     * @param depth Audit logs waiting in the queue
+     * @param highWaterMark Maximum number of audit logs waiting in the queue
+     * @param dropped Dropped counters by reason
+     */
+    public record Queue(AtomicInteger depth, AtomicInteger highWaterMark, Map<DropReason, LongAdder> dropped) {
+
+        /**
+         * Update the depth and the high-water mark
+         *
+         * @param size Number of audit logs waiting in the queue
+         */
+        public void depth(final int size) {
+            depth.set(size);
+            highWaterMark.accumulateAndGet(size, Math::max);
+        }
+
+        /**
+         * Count a dropped audit log
+         *
+         * @param reason Drop reason
+         */
+        public void drop(final DropReason reason) {
+            dropped.get(reason).increment();
+            SEND_DROPPED_COUNTER.increment();
+        }
+    }
+
+    /**
+     * Reason of an audit log dropped by a queue
+     */
+    public enum DropReason {
+
+        /**
+         * Queue full, new audit log dropped
+         */
+        FULL,
+
+        /**
+         * Evicted to make room for a new audit log
+         */
+        EVICTED,
+
+        /**
+         * No room in the queue before the block timeout
+         */
+        TIMEOUT,
+
+        /**
+         * Not kept by sampling
+         */
+        SAMPLED;
+
+        /**
+         * Get the metric tag of the reason
+         *
+         * @return Tag value
+         */
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import java.util.List;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * Priority lanes configuration of the asynchronous queue.
+ *
+ * <p>When enabled, audit logs are queued in a high, normal or low priority lane. Lanes are drained by weighted round
+ * robin, so no lane is starved; when the queue is full, a new audit log takes the place of the oldest audit log of a
+ * lower priority lane, so low priority audit logs are shed first. An audit log is high priority if its response status
+ * or its action matches, otherwise low priority if its action matches or if it is a successful request with a low
+ * priority method, otherwise normal priority.</p>
+ */
+@ConfigGroup
+public class AuditLogsPriorityConfig {
+
+    /**
+     * If set to true, audit logs are queued in priority lanes
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Response statuses of high priority audit logs: status codes (403) or status families (5xx)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "5xx,401,403")
+    protected List<String> highStatuses;
+
+    /**
+     * Action patterns (regular expressions) of high priority audit logs
+     */
+    @Getter
+    @ConfigItem
+    protected Optional<List<String>> highActions;
+
+    /**
+     * Action patterns (regular expressions) of low priority audit logs
+     */
+    @Getter
+    @ConfigItem
+    protected Optional<List<String>> lowActions;
+
+    /**
+     * HTTP methods of low priority audit logs, when the response status is below 400
+     */
+    @Getter
+    @ConfigItem(defaultValue = "GET,HEAD,OPTIONS")
+    protected List<String> lowMethods;
+
+    /**
+     * Number of high priority audit logs taken from the queue in a round
+     */
+    @Getter
+    @ConfigItem(defaultValue = "8")
+    protected int highWeight;
+
+    /**
+     * Number of normal priority audit logs taken from the queue in a round
+     */
+    @Getter
+    @ConfigItem(defaultValue = "3")
+    protected int normalWeight;
+
+    /**
+     * Number of low priority audit logs taken from the queue in a round
+     */
+    @Getter
+    @ConfigItem(defaultValue = "1")
+    protected int lowWeight;
+}
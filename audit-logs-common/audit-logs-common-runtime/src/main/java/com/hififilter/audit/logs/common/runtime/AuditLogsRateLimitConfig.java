@@ -0,0 +1,77 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.DurationConverter;
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Outbound rate limit configuration.
+ *
+ * <p>When enabled, each endpoint has its own token bucket (per rest client with the client extension): each request
+ * to the endpoint, retries included, takes a token; tokens are refilled at <code>rate</code> per second, up to
+ * <code>burst</code>. When the bucket is empty, the request is handled according to <code>on-exhausted</code>.</p>
+ */
+@ConfigGroup
+public class AuditLogsRateLimitConfig {
+
+    /**
+     * If set to true, requests to the endpoint are rate limited
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Maximum number of requests per second to an endpoint, on average
+     */
+    @Getter
+    @ConfigItem(defaultValue = "100")
+    protected double rate;
+
+    /**
+     * Maximum number of requests sent at once to an endpoint after an idle period (size of the bucket)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "100")
+    protected int burst;
+
+    /**
+     * Behavior when the bucket is empty
+     */
+    @Getter
+    @ConfigItem(defaultValue = "queue")
+    protected OnExhausted onExhausted;
+
+    /**
+     * Maximum delay of a queued request. A request which would wait longer is dropped
+     */
+    @Getter
+    @ConfigItem(defaultValue = "1S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration maxDelay;
+
+    /**
+     * Behavior when the bucket is empty
+     */
+    public enum OnExhausted {
+
+        /**
+         * Delay the request until a token is available, up to the max delay
+         */
+        QUEUE,
+
+        /**
+         * Fail the request at once, so the audit logs stay in the disk spool and are sent again after the spool retry
+         * interval. Without the disk spool, the request is dropped
+         */
+        SPOOL,
+
+        /**
+         * Drop the request
+         */
+        DROP
+    }
+}
@@ -1,8 +1,14 @@
 package com.hififilter.audit.logs.common.runtime;
 
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogCustomFieldsGeneratorFactory;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogMethodDefinition;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogMethodTable;
+import io.quarkus.arc.Arc;
 import io.quarkus.runtime.annotations.Recorder;
 import io.quarkus.runtime.metrics.MetricsFactory;
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Audit logs recorder
@@ -17,12 +23,36 @@ public class AuditLogsRecorder {
      */
     public Consumer<MetricsFactory> registerMetrics() {
         return metricsFactory -> {
+            AuditLogsMetrics.metricsFactory(metricsFactory);
             metricsFactory.builder(AuditLogsMetrics.SEND_SUCCESS)
                 .description("Counter of audit log send success")
                 .buildCounter(AuditLogsMetrics.SEND_SUCCESS_COUNTER::longValue);
             metricsFactory.builder(AuditLogsMetrics.SEND_FAILED)
                 .description("Counter of audit log send failed")
                 .buildCounter(AuditLogsMetrics.SEND_FAILED_COUNTER::longValue);
+            metricsFactory.builder(AuditLogsMetrics.SEND_DROPPED)
+                .description("Counter of audit log dropped before being sent")
+                .buildCounter(AuditLogsMetrics.SEND_DROPPED_COUNTER::longValue);
+            metricsFactory.builder(AuditLogsMetrics.SEND_RETRIED)
+                .description("Counter of audit log send retries")
+                .buildCounter(AuditLogsMetrics.SEND_RETRIED_COUNTER::longValue);
+            metricsFactory.builder(AuditLogsMetrics.SEND_REJECTED)
+                .description("Counter of audit log send rejected by the open circuit breaker")
+                .buildCounter(AuditLogsMetrics.SEND_REJECTED_COUNTER::longValue);
+            metricsFactory.builder(AuditLogsMetrics.SEND_THROTTLED)
+                .description("Counter of audit log send throttled by the rate limit")
+                .buildCounter(AuditLogsMetrics.SEND_THROTTLED_COUNTER::longValue);
         };
     }
+
+    /**
+     * Build the table of audit log metadata of the methods read at build time
+     *
+     * @param definitions Definitions of the methods
+     * @return A supplier of the table
+     */
+    public Supplier<AuditLogMethodTable> methodTable(final List<AuditLogMethodDefinition> definitions) {
+        return () -> AuditLogMethodTable.of(definitions, Thread.currentThread().getContextClassLoader(),
+            Arc.container().instance(AuditLogCustomFieldsGeneratorFactory.class).get());
+    }
 }
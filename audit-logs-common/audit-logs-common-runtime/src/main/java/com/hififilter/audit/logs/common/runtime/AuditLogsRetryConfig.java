@@ -0,0 +1,77 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.DurationConverter;
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Retry configuration.
+ *
+ * <p>When enabled, sends failing on a connection error, a 5xx or a 429 response are retried with an exponential
+ * backoff and jitter. A global retry budget limits retries to a ratio of first attempts, so an endpoint brown-out
+ * doesn't turn into a retry storm.</p>
+ */
+@ConfigGroup
+public class AuditLogsRetryConfig {
+
+    /**
+     * If set to true, failed sends are retried
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Maximum number of attempts of a send (first attempt included)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "3")
+    protected int maxAttempts;
+
+    /**
+     * Delay before the first retry
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0.1S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration initialBackoff;
+
+    /**
+     * Maximum delay between two attempts. A 429 response asking to retry later than this delay is not retried
+     */
+    @Getter
+    @ConfigItem(defaultValue = "5S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration maxBackoff;
+
+    /**
+     * Factor applied to the delay after each retry
+     */
+    @Getter
+    @ConfigItem(defaultValue = "2")
+    protected double multiplier;
+
+    /**
+     * Random part of the delay, from 0 (no jitter) to 1 (delay between 0 and the backoff)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0.5")
+    protected double jitter;
+
+    /**
+     * Maximum ratio of retries to first attempts (0.1 means retries may not exceed 10% of first attempts)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0.1")
+    protected double budgetRatio;
+
+    /**
+     * Maximum number of retries allowed in a row by the budget, available at startup
+     */
+    @Getter
+    @ConfigItem(defaultValue = "10")
+    protected int budgetBurst;
+}
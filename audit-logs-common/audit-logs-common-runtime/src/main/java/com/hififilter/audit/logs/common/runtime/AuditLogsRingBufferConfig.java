@@ -0,0 +1,41 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.TrimmedStringConverter;
+import lombok.Getter;
+
+/**
+ * Memory-mapped ring buffer configuration.
+ *
+ * <p>When enabled, audit logs are written to a ring buffer in a memory-mapped file instead of being sent to the
+ * endpoint. A shipper process on the same host consumes it with
+ * {@link com.hififilter.audit.logs.common.runtime.audit.sender.AuditLogRingBufferReader}. When the ring buffer is
+ * full, new audit logs are dropped.</p>
+ */
+@ConfigGroup
+public class AuditLogsRingBufferConfig {
+
+    /**
+     * If set to true, audit logs are written to the ring buffer instead of the endpoint
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Path of the ring buffer file. Put it on a memory file system (/dev/shm) to avoid disk writes
+     */
+    @Getter
+    @ConfigItem(defaultValue = "audit-logs.ring")
+    @ConvertWith(TrimmedStringConverter.class)
+    protected String path;
+
+    /**
+     * Size in bytes of the data region, a power of two
+     */
+    @Getter
+    @ConfigItem(defaultValue = "16777216")
+    protected int capacity;
+}
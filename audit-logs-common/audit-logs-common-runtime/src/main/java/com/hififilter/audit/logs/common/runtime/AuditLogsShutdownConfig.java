@@ -0,0 +1,28 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.DurationConverter;
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Shutdown configuration.
+ *
+ * <p>On shutdown, new audit logs are no longer accepted, then audit logs waiting in the asynchronous queue and in the
+ * current batch are sent to the endpoint (or to the spool), until they are all sent or the drain timeout is reached.
+ * The numbers of audit logs flushed and abandoned are logged.</p>
+ */
+@ConfigGroup
+public class AuditLogsShutdownConfig {
+
+    /**
+     * Maximum time to send the pending audit logs on shutdown. Audit logs still pending after this timeout are
+     * abandoned
+     */
+    @Getter
+    @ConfigItem(defaultValue = "10S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration drainTimeout;
+}
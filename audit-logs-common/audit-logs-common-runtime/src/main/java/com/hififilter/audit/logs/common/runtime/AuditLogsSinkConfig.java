@@ -0,0 +1,57 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import java.util.List;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * Sink filter configuration, when audit logs are sent to several sinks
+ */
+@ConfigGroup
+public class AuditLogsSinkConfig {
+
+    /**
+     * Actions of the audit logs sent to the sink. All actions if not set
+     */
+    @Getter
+    @ConfigItem
+    protected Optional<List<String>> actions;
+
+    /**
+     * Minimum HTTP response status of the audit logs sent to the sink
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0")
+    protected int minStatus;
+
+    /**
+     * Maximum HTTP response status of the audit logs sent to the sink
+     */
+    @Getter
+    @ConfigItem(defaultValue = "999")
+    protected int maxStatus;
+
+    /**
+     * Rest clients of the audit logs sent to the sink. All rest clients if not set. Ignored by the server extension
+     */
+    @Getter
+    @ConfigItem
+    protected Optional<List<String>> clients;
+
+    /**
+     * Check if an audit log must be sent to the sink
+     *
+     * @param auditLog Audit log
+     * @param clientName Rest client name of the audit log (null on server side)
+     * @return True if the audit log matches the filter
+     */
+    public boolean matches(final AuditLog auditLog, final String clientName) {
+        var status = auditLog.response() != null ? auditLog.response().status() : 0;
+        return actions().map(list -> list.contains(auditLog.action())).orElse(true)
+            && status >= minStatus() && status <= maxStatus()
+            && (clientName == null || clients().map(list -> list.contains(clientName)).orElse(true));
+    }
+}
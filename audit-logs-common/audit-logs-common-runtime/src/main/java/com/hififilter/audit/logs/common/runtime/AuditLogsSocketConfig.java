@@ -0,0 +1,35 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.TrimmedStringConverter;
+import lombok.Getter;
+
+/**
+ * Unix domain socket configuration.
+ *
+ * <p>When enabled, audit logs are sent to a node-local agent listening on a Unix domain socket instead of the HTTP
+ * endpoint, with the framing described in
+ * {@link com.hififilter.audit.logs.common.runtime.audit.sender.AuditLogSocketClient}. Batch, spool, compression,
+ * retry and circuit breaker settings apply as with the HTTP endpoint; read timeout and pool size come from the
+ * transport settings.</p>
+ */
+@ConfigGroup
+public class AuditLogsSocketConfig {
+
+    /**
+     * If set to true, audit logs are sent to the Unix domain socket instead of the HTTP endpoint
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Path of the Unix domain socket of the agent
+     */
+    @Getter
+    @ConfigItem(defaultValue = "audit-logs.sock")
+    @ConvertWith(TrimmedStringConverter.class)
+    protected String path;
+}
@@ -0,0 +1,72 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.quarkus.runtime.configuration.TrimmedStringConverter;
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Disk spool configuration.
+ *
+ * <p>When enabled, audit logs are queued, a writer appends them to segment files on disk and a shipper sends them
+ * to the endpoint. The offset of the last acknowledged audit log is checkpointed so a restart only replays unsent
+ * audit logs.</p>
+ */
+@ConfigGroup
+public class AuditLogsSpoolConfig {
+
+    /**
+     * If set to true, audit logs are written to a disk spool before being sent
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Directory of the spool segment files
+     */
+    @Getter
+    @ConfigItem(defaultValue = "audit-logs-spool")
+    @ConvertWith(TrimmedStringConverter.class)
+    protected String directory;
+
+    /**
+     * Maximum size in bytes of a segment file
+     */
+    @Getter
+    @ConfigItem(defaultValue = "16777216")
+    protected long segmentSize;
+
+    /**
+     * Maximum size in bytes of the unsent audit logs. When the spool is full, new audit logs are dropped
+     */
+    @Getter
+    @ConfigItem(defaultValue = "268435456")
+    protected long maxSize;
+
+    /**
+     * Maximum number of audit logs waiting to be written to the spool. When the queue is full, new audit logs are
+     * dropped
+     */
+    @Getter
+    @ConfigItem(defaultValue = "8192")
+    protected int queueSize;
+
+    /**
+     * If set to true, each batch of writes is forced to the storage device (survives an OS crash, but slower)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean sync;
+
+    /**
+     * Delay before sending again audit logs after a send failure
+     */
+    @Getter
+    @ConfigItem(defaultValue = "1S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration retryInterval;
+}
@@ -0,0 +1,134 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.quarkus.runtime.configuration.TrimmedStringConverter;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * Syslog configuration.
+ *
+ * <p>When enabled, audit logs are sent as RFC 5424 syslog messages (rsyslog, syslog-ng,…) instead of being sent to
+ * the endpoint: the audit log JSON is the message, and its main fields are copied in a structured data element. Over
+ * UDP each message is a datagram (lossy, no connection to maintain); over TCP messages are framed by octet counting
+ * (RFC 6587) and a lost connection is reopened.</p>
+ */
+@ConfigGroup
+public class AuditLogsSyslogConfig {
+
+    /**
+     * If set to true, audit logs are sent to the syslog server instead of the endpoint
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean enabled;
+
+    /**
+     * Host of the syslog server
+     */
+    @Getter
+    @ConfigItem(defaultValue = "localhost")
+    @ConvertWith(TrimmedStringConverter.class)
+    protected String host;
+
+    /**
+     * Port of the syslog server
+     */
+    @Getter
+    @ConfigItem(defaultValue = "514")
+    protected int port;
+
+    /**
+     * Transport protocol
+     */
+    @Getter
+    @ConfigItem(defaultValue = "udp")
+    protected Protocol protocol;
+
+    /**
+     * Syslog facility (13: log audit)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "13")
+    protected int facility;
+
+    /**
+     * Syslog severity (5: notice)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "5")
+    protected int severity;
+
+    /**
+     * Application name of the messages
+     */
+    @Getter
+    @ConfigItem(defaultValue = "audit-logs")
+    @ConvertWith(TrimmedStringConverter.class)
+    protected String appName;
+
+    /**
+     * Host name of the messages. Local host name if not set
+     */
+    @Getter
+    @ConfigItem
+    @ConvertWith(TrimmedStringConverter.class)
+    protected Optional<String> hostname;
+
+    /**
+     * Id of the structured data element holding the audit log fields (name@private enterprise number)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "audit@32473")
+    @ConvertWith(TrimmedStringConverter.class)
+    protected String structuredDataId;
+
+    /**
+     * Maximum size in bytes of a UDP message. Larger audit logs are dropped
+     */
+    @Getter
+    @ConfigItem(defaultValue = "8192")
+    protected int maxDatagramSize;
+
+    /**
+     * Delay before reopening the TCP connection after an error
+     */
+    @Getter
+    @ConfigItem(defaultValue = "1S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration reconnectDelay;
+
+    /**
+     * Size in bytes of the write buffer
+     */
+    @Getter
+    @ConfigItem(defaultValue = "65536")
+    protected int bufferSize;
+
+    /**
+     * Maximum number of audit logs waiting to be sent. When the queue is full, new audit logs are dropped
+     */
+    @Getter
+    @ConfigItem(defaultValue = "8192")
+    protected int queueSize;
+
+    /**
+     * Syslog transport protocol
+     */
+    public enum Protocol {
+
+        /**
+         * UDP (RFC 5426), one message per datagram
+         */
+        UDP,
+
+        /**
+         * TCP with octet counting framing (RFC 6587)
+         */
+        TCP
+    }
+}
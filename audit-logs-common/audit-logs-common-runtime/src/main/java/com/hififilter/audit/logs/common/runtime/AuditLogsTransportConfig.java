@@ -0,0 +1,132 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConvertWith;
+import io.quarkus.runtime.configuration.DurationConverter;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * HTTP transport configuration of the audit log endpoints (connection pool, keep-alive, HTTP/2 and timeouts).
+ *
+ * <p>Each endpoint has its own connection pool. With HTTP/2, a connection multiplexes several requests, so a small
+ * pool is usually enough.</p>
+ */
+@ConfigGroup
+public class AuditLogsTransportConfig {
+
+    /**
+     * Connection timeout. Keep it low to protect the latency of applications
+     */
+    @Getter
+    @ConfigItem(defaultValue = "0.2S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration connectTimeout;
+
+    /**
+     * Timeout of the response of the endpoint
+     */
+    @Getter
+    @ConfigItem(defaultValue = "30S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration readTimeout;
+
+    /**
+     * Maximum number of connections to each endpoint
+     */
+    @Getter
+    @ConfigItem(defaultValue = "20")
+    protected int maxPoolSize;
+
+    /**
+     * Maximum number of requests waiting for a connection (-1 for unbounded). Requests beyond fail immediately
+     */
+    @Getter
+    @ConfigItem(defaultValue = "-1")
+    protected int maxWaitQueueSize;
+
+    /**
+     * If set to true, connections are kept alive and reused
+     */
+    @Getter
+    @ConfigItem(defaultValue = "true")
+    protected boolean keepAlive;
+
+    /**
+     * Time an unused connection is kept alive in the pool
+     */
+    @Getter
+    @ConfigItem(defaultValue = "60S")
+    @ConvertWith(DurationConverter.class)
+    protected Duration keepAliveTimeout;
+
+    /**
+     * Time after which a connection without any read or write is closed. No idle timeout if not set
+     */
+    @Getter
+    @ConfigItem
+    @ConvertWith(DurationConverter.class)
+    protected Optional<Duration> idleTimeout;
+
+    /**
+     * If set to true, HTTP/1.1 requests are pipelined on the connections
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean pipelining;
+
+    /**
+     * Maximum number of pipelined requests on a connection
+     */
+    @Getter
+    @ConfigItem(defaultValue = "10")
+    protected int pipeliningLimit;
+
+    /**
+     * If set to true, HTTP/2 is used: negotiated with ALPN over TLS, h2c otherwise
+     */
+    @Getter
+    @ConfigItem(defaultValue = "false")
+    protected boolean http2;
+
+    /**
+     * If set to true, h2c connections are upgraded from HTTP/1.1. If set to false, HTTP/2 is used directly (prior
+     * knowledge)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "true")
+    protected boolean http2ClearTextUpgrade;
+
+    /**
+     * Maximum number of concurrent streams on an HTTP/2 connection (-1 for the limit of the endpoint)
+     */
+    @Getter
+    @ConfigItem(defaultValue = "-1")
+    protected int http2MaxConcurrentStreams;
+
+    /**
+     * HTTP client sending audit logs to the endpoints
+     */
+    @Getter
+    @ConfigItem(defaultValue = "rest-client")
+    protected Client client;
+
+    /**
+     * HTTP client
+     */
+    public enum Client {
+
+        /**
+         * Reactive rest client
+         */
+        REST_CLIENT,
+
+        /**
+         * Vert.x HTTP client: serialized audit logs are written as is, without the JAX-RS providers, filters and
+         * interceptors of the rest client
+         */
+        VERTX
+    }
+}
@@ -1,13 +1,23 @@
 package com.hififilter.audit.logs.common.runtime.audit;
 
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InstanceHandle;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * Factory to get AuditLogCustomFieldsGenerator instance
+ * Factory to get AuditLogCustomFieldsGenerator instance. Generators referenced by resource and rest client methods
+ * are beans registered at build time; other generators are instantiated from their empty constructor.<br />
+ *
+ * <p>Only used when the methods metadata are resolved: each method is bound to its generator instances. Generators
+ * declared {@link Dependent} are destroyed with the factory.</p>
  */
 @ApplicationScoped
 public class AuditLogCustomFieldsGeneratorFactory {
@@ -18,6 +28,11 @@ public class AuditLogCustomFieldsGeneratorFactory {
     protected final Map<Class<? extends AuditLogCustomFieldsGenerator>, AuditLogCustomFieldsGenerator>
         customFieldsGeneratorInstances = new ConcurrentHashMap<>();
 
+    /**
+     * Handles of the dependent generator beans, destroyed with the factory
+     */
+    protected final Queue<InstanceHandle<?>> dependentHandles = new ConcurrentLinkedQueue<>();
+
     /**
      * Get AuditLogCustomFieldsGenerator instance
      *
@@ -26,11 +41,29 @@ public class AuditLogCustomFieldsGeneratorFactory {
      */
     public AuditLogCustomFieldsGenerator getInstance(final Class<? extends AuditLogCustomFieldsGenerator> clazz) {
         return customFieldsGeneratorInstances.computeIfAbsent(clazz, c -> {
+            var bean = Arc.container().instance(c);
+            if (bean.isAvailable()) {
+                if (Dependent.class.equals(bean.getBean().getScope())) {
+                    dependentHandles.add(bean);
+                }
+                return bean.get();
+            }
             var instance = createInstance(c);
             return instance.isPresent() ? instance.get() : new DefaultAuditLogCustomFieldsGenerator();
         });
     }
 
+    /**
+     * Destroy the dependent generator beans
+     */
+    @PreDestroy
+    protected void destroy() {
+        InstanceHandle<?> handle;
+        while ((handle = dependentHandles.poll()) != null) {
+            handle.destroy();
+        }
+    }
+
     /**
      * Create instance from empty constructor
      *
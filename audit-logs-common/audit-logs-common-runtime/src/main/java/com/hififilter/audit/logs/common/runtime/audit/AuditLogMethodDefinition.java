@@ -0,0 +1,65 @@
+package com.hififilter.audit.logs.common.runtime.audit;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * Audit log annotations of a resource or rest client method, read from the index at build time. Java bean accessors
+ * so that it can be passed to a recorder
+ */
+@Getter
+@Setter
+@Accessors(fluent = false, chain = false)
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogMethodDefinition {
+
+    /**
+     * Name of the declaring class
+     */
+    private String className;
+
+    /**
+     * Method name
+     */
+    private String methodName;
+
+    /**
+     * Names of the parameter types (erased)
+     */
+    private List<String> parameterTypes;
+
+    /**
+     * True if audit log is disabled on the method
+     */
+    private boolean disabled;
+
+    /**
+     * Action name
+     */
+    private String action;
+
+    /**
+     * True if the request body is logged
+     */
+    private boolean requestLogEntity;
+
+    /**
+     * Name of the request custom fields generator class
+     */
+    private String requestGenerator;
+
+    /**
+     * True if the response body is logged
+     */
+    private boolean responseLogEntity;
+
+    /**
+     * Name of the response custom fields generator class
+     */
+    private String responseGenerator;
+}
@@ -0,0 +1,76 @@
+package com.hififilter.audit.logs.common.runtime.audit;
+
+import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogDisabled;
+import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogEnabled;
+import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogHttpOptions;
+import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogOptions;
+import java.lang.reflect.Method;
+
+/**
+ * Audit log metadata of a resource or rest client method, resolved from its annotations
+ *
+ * @param disabled True if audit log is disabled on the method
+ * @param action Action name
+ * @param request Request options
+ * @param response Response options
+ * @param invokedMethodSignature Signature of the method
+ */
+public record AuditLogMethodMetadata(boolean disabled, String action, Http request, Http response,
+    String invokedMethodSignature) {
+
+    /**
+     * Resolve the metadata of a method from its annotations (by reflection)
+     *
+     * @param method Method
+     * @param generators Factory of the custom fields generators
+     * @return Metadata
+     */
+    public static AuditLogMethodMetadata of(final Method method,
+        final AuditLogCustomFieldsGeneratorFactory generators) {
+        var disabledOnClass = method.getDeclaringClass().getAnnotation(AuditLogDisabled.class) != null;
+        var disabledOnMethod = method.getAnnotation(AuditLogDisabled.class) != null;
+        var enabledOnMethod = method.getAnnotation(AuditLogEnabled.class) != null;
+        var options = method.getAnnotation(AuditLogOptions.class);
+        return new AuditLogMethodMetadata(
+            disabledOnMethod || disabledOnClass && !enabledOnMethod,
+            options == null ? "" : options.action(),
+            Http.of(options == null ? null : options.request(), generators),
+            Http.of(options == null ? null : options.response(), generators),
+            signature(method.getDeclaringClass().getCanonicalName(), method.getName())
+        );
+    }
+
+    /**
+     * Get the signature of a method
+     *
+     * @param className Canonical name of the declaring class
+     * @param methodName Method name
+     * @return Signature
+     */
+    public static String signature(final String className, final String methodName) {
+        return className + "." + methodName;
+    }
+
+    /**
+     * Audit log options of a request or a response
+     *
+     * @param logEntity True if the body is logged
+     * @param customFieldsGenerator Custom fields generator
+     */
+    public record Http(boolean logEntity, AuditLogCustomFieldsGenerator customFieldsGenerator) {
+
+        /**
+         * Get the options of an annotation
+         *
+         * @param options Annotation, null for default options
+         * @param generators Factory of the custom fields generators
+         * @return Options
+         */
+        public static Http of(final AuditLogHttpOptions options,
+            final AuditLogCustomFieldsGeneratorFactory generators) {
+            return options == null
+                ? new Http(true, generators.getInstance(DefaultAuditLogCustomFieldsGenerator.class))
+                : new Http(options.logEntity(), generators.getInstance(options.customFieldGeneratorClass()));
+        }
+    }
+}
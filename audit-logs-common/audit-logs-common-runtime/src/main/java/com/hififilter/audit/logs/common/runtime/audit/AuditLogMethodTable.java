@@ -0,0 +1,162 @@
+package com.hififilter.audit.logs.common.runtime.audit;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Audit log metadata of the resource and rest client methods. Built from the annotations resolved at build time;
+ * methods unknown at build time are resolved by reflection on first call.
+ */
+public class AuditLogMethodTable {
+
+    /**
+     * Metadata of the methods resolved at build time
+     */
+    protected final Map<Method, AuditLogMethodMetadata> methods;
+
+    /**
+     * Metadata of the methods resolved at runtime
+     */
+    protected final Map<Method, AuditLogMethodMetadata> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Factory of the custom fields generators, used to resolve methods at runtime
+     */
+    protected final AuditLogCustomFieldsGeneratorFactory generators;
+
+    /**
+     * Constructor
+     *
+     * @param methods Metadata of the methods resolved at build time
+     * @param generators Factory of the custom fields generators
+     */
+    public AuditLogMethodTable(final Map<Method, AuditLogMethodMetadata> methods,
+        final AuditLogCustomFieldsGeneratorFactory generators) {
+        this.methods = Map.copyOf(methods);
+        this.generators = generators;
+    }
+
+    /**
+     * Get the metadata of a method
+     *
+     * @param method Method
+     * @return Metadata
+     */
+    public AuditLogMethodMetadata get(final Method method) {
+        var metadata = methods.get(method);
+        return metadata != null ? metadata : resolved.computeIfAbsent(method,
+            key -> AuditLogMethodMetadata.of(key, generators));
+    }
+
+    /**
+     * Get the methods resolved at build time
+     *
+     * @return Methods
+     */
+    public Set<Method> methods() {
+        return methods.keySet();
+    }
+
+    /**
+     * Get the methods resolved at runtime, by reflection, as they were unknown at build time
+     *
+     * @return Methods
+     */
+    public Set<Method> resolved() {
+        return Set.copyOf(resolved.keySet());
+    }
+
+    /**
+     * Build the table from the definitions read at build time. Classes, methods and custom fields generators are
+     * looked up once, at startup
+     *
+     * @param definitions Definitions of the methods
+     * @param classLoader Class loader of the application
+     * @param generators Factory of the custom fields generators
+     * @return Table
+     */
+    public static AuditLogMethodTable of(final List<AuditLogMethodDefinition> definitions,
+        final ClassLoader classLoader, final AuditLogCustomFieldsGeneratorFactory generators) {
+        var methods = new HashMap<Method, AuditLogMethodMetadata>();
+        definitions.stream()
+            .collect(Collectors.groupingBy(AuditLogMethodDefinition::getClassName))
+            .forEach((className, classDefinitions) -> {
+                try {
+                    var declaredMethods = Class.forName(className, false, classLoader).getDeclaredMethods();
+                    for (var definition : classDefinitions) {
+                        var metadata = metadata(definition, classLoader, generators);
+                        Arrays.stream(declaredMethods)
+                            .filter(method -> matches(method, definition))
+                            .forEach(method -> methods.put(method, metadata));
+                    }
+                } catch (ClassNotFoundException | LinkageError ex) {
+                    Loggers.AUDIT_LOGS.warn("Audit log annotations of {} resolved on first call, by reflection",
+                        () -> className, () -> ex);
+                }
+            });
+        return new AuditLogMethodTable(methods, generators);
+    }
+
+    /**
+     * Build the metadata of a method definition
+     *
+     * @param definition Method definition
+     * @param classLoader Class loader of the application
+     * @param generators Factory of the custom fields generators
+     * @return Metadata
+     * @throws ClassNotFoundException If a custom fields generator class is not found
+     */
+    protected static AuditLogMethodMetadata metadata(final AuditLogMethodDefinition definition,
+        final ClassLoader classLoader, final AuditLogCustomFieldsGeneratorFactory generators)
+        throws ClassNotFoundException {
+        return new AuditLogMethodMetadata(
+            definition.isDisabled(),
+            definition.getAction(),
+            new AuditLogMethodMetadata.Http(definition.isRequestLogEntity(),
+                generators.getInstance(generatorClass(definition.getRequestGenerator(), classLoader))),
+            new AuditLogMethodMetadata.Http(definition.isResponseLogEntity(),
+                generators.getInstance(generatorClass(definition.getResponseGenerator(), classLoader))),
+            AuditLogMethodMetadata.signature(definition.getClassName().replace('$', '.'), definition.getMethodName())
+        );
+    }
+
+    /**
+     * Load a custom fields generator class
+     *
+     * @param className Class name
+     * @param classLoader Class loader of the application
+     * @return Class
+     * @throws ClassNotFoundException If the class is not found
+     */
+    protected static Class<? extends AuditLogCustomFieldsGenerator> generatorClass(final String className,
+        final ClassLoader classLoader) throws ClassNotFoundException {
+        return Class.forName(className, false, classLoader).asSubclass(AuditLogCustomFieldsGenerator.class);
+    }
+
+    /**
+     * Check if a method matches a definition: same name and same parameter types
+     *
+     * @param method Method
+     * @param definition Method definition
+     * @return True if the method matches
+     */
+    protected static boolean matches(final Method method, final AuditLogMethodDefinition definition) {
+        if (method.isSynthetic() || !method.getName().equals(definition.getMethodName())
+            || method.getParameterCount() != definition.getParameterTypes().size()) {
+            return false;
+        }
+        var parameterTypes = method.getParameterTypes();
+        for (var i = 0; i < parameterTypes.length; i++) {
+            if (!parameterTypes[i].getName().equals(definition.getParameterTypes().get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,11 +1,8 @@
 package com.hififilter.audit.logs.common.runtime.audit;
 
-import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogDisabled;
-import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogEnabled;
-import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogOptions;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import java.lang.reflect.Method;
-import java.util.Optional;
 
 /**
  * Utils to handle annotations
@@ -13,6 +10,12 @@ import java.util.Optional;
 @ApplicationScoped
 public class AuditLogOptionsService {
 
+    /**
+     * Audit log metadata of the methods, resolved at build time
+     */
+    @Inject
+    protected AuditLogMethodTable methodTable;
+
     /**
      * Check if audit log is disabled on the current method.<br />
      *
@@ -22,11 +25,7 @@ public class AuditLogOptionsService {
      * @return True if audit log is disabled
      */
     public boolean isDisabled(final Method invokedMethod) {
-        var disabledOnClass = invokedMethod.getDeclaringClass().getAnnotation(AuditLogDisabled.class) != null;
-        var disabledOnMethod = invokedMethod.getAnnotation(AuditLogDisabled.class) != null;
-        var enabledOnMethod = invokedMethod.getAnnotation(AuditLogEnabled.class) != null;
-
-        return disabledOnMethod || disabledOnClass && !enabledOnMethod;
+        return methodTable.get(invokedMethod).disabled();
     }
 
     /**
@@ -35,22 +34,7 @@ public class AuditLogOptionsService {
      * @param invokedMethod Invoked method
      * @return Options for current method
      */
-    public AuditLogOptions getOptions(final Method invokedMethod) {
-        return Optional.ofNullable(invokedMethod.getAnnotation(AuditLogOptions.class))
-            .orElseGet(() -> {
-                try {
-                    return getClass().getDeclaredMethod("holderMethod").getAnnotation(AuditLogOptions.class);
-                } catch (NoSuchMethodException ex) {
-                    throw new IllegalStateException("holderMethod method doesn't exists in " + getClass().getName());
-                }
-            });
+    public AuditLogMethodMetadata getOptions(final Method invokedMethod) {
+        return methodTable.get(invokedMethod);
     }
-
-    /**
-     * Simple method which do nothing but hold an annotation implementation of AuditLogOptions
-     */
-    @AuditLogOptions
-    private void holderMethod() {
-    }
-
 }
@@ -2,6 +2,7 @@ package com.hififilter.audit.logs.common.runtime.audit.bean;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogMethodMetadata;
 import java.lang.reflect.Method;
 import java.time.Clock;
 import java.time.Duration;
@@ -32,6 +33,20 @@ public class AuditLog {
     @Setter
     protected Method invokedMethod;
 
+    /**
+     * Signature of the invoked method, precomputed. Computed from the invoked method if null
+     */
+    @Setter
+    protected String invokedMethodSignature;
+
+    /**
+     * Audit log options of the invoked method, kept with the audit log so that concurrent requests don't share them.
+     * Null until the invoked method is known
+     */
+    @Getter
+    @Setter
+    protected AuditLogMethodMetadata options;
+
     /**
      * Random UUID
      */
@@ -137,6 +152,9 @@ public class AuditLog {
      */
     @JsonProperty
     public String invokedMethodSignature() {
+        if (invokedMethodSignature != null) {
+            return invokedMethodSignature;
+        }
         return invokedMethod == null
             ? null
             : invokedMethod.getDeclaringClass().getCanonicalName() + "." + invokedMethod.getName();
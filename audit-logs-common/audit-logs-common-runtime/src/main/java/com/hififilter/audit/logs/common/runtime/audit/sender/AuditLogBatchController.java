@@ -0,0 +1,126 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsAdaptiveBatchConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsBatchConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive batch controller, targeting the round-trip time of the batches (AIMD). Decrease the batch count and linger
+ * thresholds multiplicatively after a failed or slow batch, as the round-trip time of a batch grows with its size.
+ * Increase them additively after a full batch sent within the target latency, and decrease the linger additively after
+ * a batch sent within the target latency before being full.
+ */
+public class AuditLogBatchController {
+
+    /**
+     * Adaptive batch configuration
+     */
+    protected final AuditLogsAdaptiveBatchConfig config;
+
+    /**
+     * Maximum batch count
+     */
+    protected final int maxCount;
+
+    /**
+     * Maximum batch linger in ns
+     */
+    protected final long maxLinger;
+
+    /**
+     * Minimum batch count
+     */
+    protected final int minCount;
+
+    /**
+     * Minimum batch linger in ns
+     */
+    protected final long minLinger;
+
+    /**
+     * Batch metrics
+     */
+    protected final AuditLogsMetrics.Batch metrics;
+
+    /**
+     * Current batch count threshold
+     */
+    protected volatile int count;
+
+    /**
+     * Current batch linger threshold in ns
+     */
+    protected volatile long linger;
+
+    /**
+     * Constructor
+     *
+     * @param name Batch name, used in metrics
+     * @param config Batch configuration
+     */
+    public AuditLogBatchController(final String name, final AuditLogsBatchConfig config) {
+        this.config = config.adaptive();
+        this.maxCount = config.maxCount();
+        this.maxLinger = config.maxLinger().toNanos();
+        this.minCount = Math.max(1, Math.min(this.config.minCount(), maxCount));
+        this.minLinger = Math.min(this.config.minLinger().toNanos(), maxLinger);
+        this.metrics = AuditLogsMetrics.batch(name);
+        update(minCount, minLinger);
+    }
+
+    /**
+     * Get current batch count threshold
+     *
+     * @return Maximum number of audit logs in a batch
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Get current batch linger threshold
+     *
+     * @return Maximum time in ms an audit log waits in a batch
+     */
+    public long linger() {
+        return TimeUnit.NANOSECONDS.toMillis(linger);
+    }
+
+    /**
+     * Adjust the thresholds to the outcome of a batch
+     *
+     * @param size Number of audit logs in the batch
+     * @param latency Round-trip time of the batch in ns
+     * @param failure True if the batch failed
+     */
+    public synchronized void record(final int size, final long latency, final boolean failure) {
+        if (failure || latency > config.targetLatency().toNanos()) {
+            var factor = Math.max(1, config.decreaseFactor());
+            update(
+                Math.max(minCount, (int) (count / factor)),
+                Math.max(minLinger, (long) (linger / factor))
+            );
+        } else if (size >= count) {
+            update(
+                Math.min(maxCount, count + config.countStep()),
+                Math.min(maxLinger, linger + config.lingerStep().toNanos())
+            );
+        } else {
+            update(count, Math.max(minLinger, linger - config.lingerStep().toNanos()));
+        }
+    }
+
+    /**
+     * Set the thresholds and their gauges
+     *
+     * @param count Batch count threshold
+     * @param linger Batch linger threshold in ns
+     */
+    protected void update(final int count, final long linger) {
+        this.count = count;
+        this.linger = linger;
+        metrics.size().set(count);
+        metrics.linger().set(TimeUnit.NANOSECONDS.toMillis(linger));
+    }
+}
@@ -0,0 +1,212 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsCircuitBreakerConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker of an audit log endpoint (closed, open and half-open states), based on the failure rate of a
+ * sliding window of the last sends
+ */
+public class AuditLogCircuitBreaker {
+
+    /**
+     * Status code of too many requests responses
+     */
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * Circuit breaker configuration
+     */
+    protected final AuditLogsCircuitBreakerConfig config;
+
+    /**
+     * Outcomes of the last sends (true for a failure), used as a ring buffer
+     */
+    protected final boolean[] window;
+
+    /**
+     * Index of the next outcome in the window
+     */
+    protected int index;
+
+    /**
+     * Number of outcomes in the window
+     */
+    protected int calls;
+
+    /**
+     * Number of failures in the window
+     */
+    protected int failures;
+
+    /**
+     * Circuit state
+     */
+    protected State state = State.CLOSED;
+
+    /**
+     * Time in ms when the circuit was opened or the last probe was allowed
+     */
+    protected long openedAt;
+
+    /**
+     * Constructor
+     *
+     * @param config Circuit breaker configuration
+     */
+    public AuditLogCircuitBreaker(final AuditLogsCircuitBreakerConfig config) {
+        this.config = config;
+        this.window = new boolean[config.windowSize()];
+    }
+
+    /**
+     * Send through the circuit breaker
+     *
+     * @param send Send
+     * @return A void uni, failed immediately with an {@link AuditLogDroppedException} if the circuit is open
+     */
+    public Uni<Void> apply(final Supplier<Uni<Void>> send) {
+        if (!acquire()) {
+            AuditLogsMetrics.SEND_REJECTED_COUNTER.increment();
+            return Uni.createFrom().failure(new AuditLogDroppedException("Audit log circuit breaker is open"));
+        }
+        return Uni.createFrom().deferred(send::get)
+            .onItem()
+            .invoke(() -> record(false))
+            .onFailure()
+            .invoke(error -> record(isEndpointFailure(error)));
+    }
+
+    /**
+     * Get circuit state
+     *
+     * @return Circuit state
+     */
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Check without side effect if a send would be allowed (circuit closed or probe interval elapsed)
+     *
+     * @return True if a send would be allowed
+     */
+    public synchronized boolean permits() {
+        return state == State.CLOSED || System.currentTimeMillis() - openedAt >= config.probeInterval().toMillis();
+    }
+
+    /**
+     * Check if a send is allowed. Once the probe interval is elapsed, the open circuit goes half-open and lets a
+     * single probe through (a new probe is allowed if the previous one didn't complete within the probe interval)
+     *
+     * @return True if the send is allowed
+     */
+    protected synchronized boolean acquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        var now = System.currentTimeMillis();
+        if (now - openedAt < config.probeInterval().toMillis()) {
+            return false;
+        }
+        state = State.HALF_OPEN;
+        openedAt = now;
+        return true;
+    }
+
+    /**
+     * Record the outcome of a send and update the circuit state
+     *
+     * @param failure True if the send failed
+     */
+    protected synchronized void record(final boolean failure) {
+        if (state == State.HALF_OPEN) {
+            if (failure) {
+                open();
+            } else {
+                Loggers.AUDIT_LOGS.info("Audit log circuit breaker closed");
+                reset(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        if (calls == window.length) {
+            failures -= window[index] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        window[index] = failure;
+        failures += failure ? 1 : 0;
+        index = (index + 1) % window.length;
+        if (calls >= config.minimumCalls() && failures >= config.failureRateThreshold() * calls) {
+            open();
+        }
+    }
+
+    /**
+     * Open the circuit
+     */
+    protected void open() {
+        Loggers.AUDIT_LOGS.warn("Audit log circuit breaker opened, sends are rejected for {}",
+            config::probeInterval);
+        reset(State.OPEN);
+        openedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Clear the window and change state
+     *
+     * @param newState New circuit state
+     */
+    protected void reset(final State newState) {
+        state = newState;
+        index = 0;
+        calls = 0;
+        failures = 0;
+    }
+
+    /**
+     * Check if a send failure is caused by the endpoint. Client errors (4xx except 429) are caused by the audit log
+     * and don't open the circuit
+     *
+     * @param error Send failure
+     * @return True if the failure is caused by the endpoint
+     */
+    protected static boolean isEndpointFailure(final Throwable error) {
+        if (error instanceof WebApplicationException webApplicationException) {
+            var status = webApplicationException.getResponse().getStatus();
+            return status == TOO_MANY_REQUESTS
+                || webApplicationException.getResponse().getStatusInfo().getFamily()
+                    != Response.Status.Family.CLIENT_ERROR;
+        }
+        return true;
+    }
+
+    /**
+     * Circuit state
+     */
+    public enum State {
+
+        /**
+         * Sends are allowed
+         */
+        CLOSED,
+
+        /**
+         * Sends are rejected
+         */
+        OPEN,
+
+        /**
+         * A probe send is in progress, other sends are rejected
+         */
+        HALF_OPEN
+    }
+}
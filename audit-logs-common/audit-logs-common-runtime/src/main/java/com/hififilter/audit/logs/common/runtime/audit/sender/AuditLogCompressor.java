@@ -0,0 +1,108 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsCompressionConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Audit log payload compressor
+ */
+public class AuditLogCompressor {
+
+    /**
+     * Compression configuration
+     */
+    protected final AuditLogsCompressionConfig config;
+
+    /**
+     * Constructor
+     *
+     * @param config Compression configuration
+     */
+    public AuditLogCompressor(final AuditLogsCompressionConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Compress a payload if it is bigger than the minimum size
+     *
+     * @param payload Payload
+     * @return Compressed payload, or the payload itself if too small or already compressed
+     * @throws UncheckedIOException If payload can't be compressed
+     */
+    public AuditLogPayload compress(final AuditLogPayload payload) {
+        if (payload.contentEncoding() != null || payload.body().length < config.minSize()) {
+            return payload;
+        }
+        var compressed = new ByteArrayOutputStream(payload.body().length / 2);
+        try (var output = open(compressed)) {
+            output.write(payload.body());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new AuditLogPayload(compressed.toByteArray(), payload.count(), payload.contentType(),
+            config.algorithm().contentEncoding());
+    }
+
+    /**
+     * Open a compressing stream with the configured algorithm and level
+     *
+     * @param output Output stream of compressed bytes
+     * @return Compressing stream
+     * @throws IOException If stream header can't be written
+     */
+    protected DeflaterOutputStream open(final OutputStream output) throws IOException {
+        if (config.algorithm() == AuditLogsCompressionConfig.Algorithm.GZIP) {
+            return new LevelGzipOutputStream(output, config.level());
+        }
+        return new LevelDeflaterOutputStream(output, config.level());
+    }
+
+    /**
+     * Gzip output stream with a custom compression level
+     */
+    private static class LevelGzipOutputStream extends GZIPOutputStream {
+
+        /**
+         * Constructor
+         *
+         * @param output Output stream
+         * @param level Compression level
+         * @throws IOException If gzip header can't be written
+         */
+        LevelGzipOutputStream(final OutputStream output, final int level) throws IOException {
+            super(output);
+            def.setLevel(level);
+        }
+    }
+
+    /**
+     * Zlib output stream with a custom compression level, releasing its deflater on close
+     */
+    private static class LevelDeflaterOutputStream extends DeflaterOutputStream {
+
+        /**
+         * Constructor
+         *
+         * @param output Output stream
+         * @param level Compression level
+         */
+        LevelDeflaterOutputStream(final OutputStream output, final int level) {
+            super(output, new Deflater(level));
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                def.end();
+            }
+        }
+    }
+}
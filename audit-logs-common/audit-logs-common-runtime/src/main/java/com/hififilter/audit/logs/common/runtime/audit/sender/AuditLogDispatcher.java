@@ -0,0 +1,178 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsAsyncConfig;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogSender;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.smallrye.mutiny.Uni;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Audit log dispatcher. Deliver audit logs to a sender, synchronously or through a bounded queue (with priority lanes
+ * if enabled) drained by a dedicated consumer thread (fire-and-forget mode).
+ */
+public class AuditLogDispatcher implements AuditLogSender {
+
+    /**
+     * Name of the consumer thread
+     */
+    private static final String CONSUMER_THREAD_NAME = "audit-logs-dispatcher";
+
+    /**
+     * Name of the queue in metrics
+     */
+    private static final String QUEUE_NAME = "dispatcher";
+
+    /**
+     * Sender used to deliver audit logs
+     */
+    protected final AuditLogSender delegate;
+
+    /**
+     * Queue of audit logs waiting to be sent. Null if asynchronous mode is disabled
+     */
+    protected final AuditLogQueue<AuditLog> queue;
+
+    /**
+     * Permits limiting the number of audit logs being sent at the same time
+     */
+    protected final Semaphore inFlight;
+
+    /**
+     * Consumer thread. Null if asynchronous mode is disabled
+     */
+    protected final Thread consumer;
+
+    /**
+     * Running flag of consumer thread
+     */
+    protected volatile boolean running;
+
+    /**
+     * Number of audit logs queued or being sent
+     */
+    protected final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Number of audit logs which failed to be sent
+     */
+    protected final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param config Asynchronous send configuration
+     * @param delegate Sender used to deliver audit logs
+     */
+    public AuditLogDispatcher(final AuditLogsAsyncConfig config, final AuditLogSender delegate) {
+        this.delegate = delegate;
+        if (config.enabled()) {
+            queue = new AuditLogQueue<>(QUEUE_NAME, config, Function.identity());
+            inFlight = new Semaphore(config.maxInFlight());
+            running = true;
+            consumer = new Thread(this::consume, CONSUMER_THREAD_NAME);
+            consumer.setDaemon(true);
+            consumer.start();
+        } else {
+            queue = null;
+            inFlight = null;
+            consumer = null;
+        }
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog) {
+        if (queue == null) {
+            return deliver(auditLog);
+        }
+        var dropped = queue.offer(auditLog);
+        if (dropped == null) {
+            pending.incrementAndGet();
+        } else {
+            Loggers.AUDIT_LOGS.warn("Audit log queue is full, audit log {} dropped", dropped::uuid);
+        }
+        return Uni.createFrom().voidItem();
+    }
+
+    /**
+     * Get number of audit logs queued or being sent
+     *
+     * @return Pending audit logs
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Wait until the queued audit logs are sent, then stop the consumer thread
+     *
+     * @param deadline Deadline, in {@link System#nanoTime()} time, after which pending audit logs are abandoned
+     * @return Number of abandoned audit logs: still pending at the deadline or failed to be sent meanwhile
+     */
+    public long close(final long deadline) {
+        if (queue == null) {
+            return 0;
+        }
+        var failed = failures.get();
+        AuditLogDrain.await(pending::get, deadline);
+        close();
+        return pending.get() + failures.get() - failed;
+    }
+
+    /**
+     * Stop the consumer thread. Audit logs still in queue are discarded
+     */
+    public void close() {
+        running = false;
+        if (consumer != null) {
+            consumer.interrupt();
+        }
+    }
+
+    /**
+     * Deliver audit log to the sender
+     *
+     * @param auditLog Audit log
+     * @return A void uni
+     */
+    protected Uni<Void> deliver(final AuditLog auditLog) {
+        return Uni.createFrom().deferred(() -> delegate.send(auditLog));
+    }
+
+    /**
+     * Consumer loop: take audit logs from the queue and deliver them without waiting for the response
+     */
+    protected void consume() {
+        while (running) {
+            try {
+                var auditLog = queue.take();
+                inFlight.acquire();
+                deliver(auditLog)
+                    .subscribe()
+                    .with(
+                        ignored -> {
+                            inFlight.release();
+                            pending.decrementAndGet();
+                        },
+                        error -> {
+                            inFlight.release();
+                            failures.incrementAndGet();
+                            pending.decrementAndGet();
+                            if (error instanceof AuditLogDroppedException) {
+                                Loggers.AUDIT_LOGS.debug("Audit log {} dropped: {}", auditLog::uuid, error::getMessage);
+                            } else {
+                                Loggers.AUDIT_LOGS.error("Error while sending audit log {}", auditLog::uuid,
+                                    () -> error);
+                            }
+                        }
+                    );
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+
+/**
+ * Drain of pending audit logs on shutdown
+ */
+public final class AuditLogDrain {
+
+    /**
+     * Interval between checks of the pending audit logs
+     */
+    private static final long POLL_INTERVAL_IN_NS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Constructor
+     */
+    private AuditLogDrain() {
+    }
+
+    /**
+     * Get the deadline of a drain
+     *
+     * @param timeout Drain timeout
+     * @return Deadline, in {@link System#nanoTime()} time
+     */
+    public static long deadline(final Duration timeout) {
+        return System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * Wait until there is no pending audit log, or until the deadline
+     *
+     * @param pending Number of pending audit logs
+     * @param deadline Deadline, in {@link System#nanoTime()} time
+     */
+    public static void await(final IntSupplier pending, final long deadline) {
+        while (pending.getAsInt() > 0 && System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(POLL_INTERVAL_IN_NS);
+        }
+    }
+
+    /**
+     * Wait until a thread ends, or until the deadline
+     *
+     * @param thread Thread
+     * @param deadline Deadline, in {@link System#nanoTime()} time
+     */
+    public static void join(final Thread thread, final long deadline) {
+        try {
+            var remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                thread.join(TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+/**
+ * Audit logs dropped before reaching the endpoint, on purpose: rate limit exceeded in drop mode, or circuit breaker
+ * open. Not a send failure: counted as dropped, neither as failed nor against the endpoint health, and not logged as
+ * an error. Thrown often under load, so without stack trace
+ */
+public class AuditLogDroppedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor
+     *
+     * @param message Reason of the drop
+     */
+    public AuditLogDroppedException(final String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,111 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hififilter.audit.logs.common.runtime.AuditLogsBatchConfig;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Audit log JSON encoder
+ */
+public class AuditLogEncoder {
+
+    /**
+     * JSON media type
+     */
+    private static final String JSON_MEDIA_TYPE = "application/json";
+
+    /**
+     * JSON array start
+     */
+    private static final byte ARRAY_START = '[';
+
+    /**
+     * JSON array separator
+     */
+    private static final byte ARRAY_SEPARATOR = ',';
+
+    /**
+     * JSON array end
+     */
+    private static final byte ARRAY_END = ']';
+
+    /**
+     * NDJSON line separator
+     */
+    private static final byte LINE_SEPARATOR = '\n';
+
+    /**
+     * Jackson object mapper
+     */
+    protected final ObjectMapper objectMapper;
+
+    /**
+     * Constructor
+     *
+     * @param objectMapper Jackson object mapper
+     */
+    public AuditLogEncoder(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Serialize an audit log to JSON
+     *
+     * @param auditLog Audit log
+     * @return JSON bytes
+     * @throws UncheckedIOException If audit log can't be serialized
+     */
+    public byte[] encode(final AuditLog auditLog) {
+        try {
+            return objectMapper.writeValueAsBytes(auditLog);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Wrap a serialized audit log in a payload
+     *
+     * @param entry Serialized audit log
+     * @return Payload
+     */
+    public AuditLogPayload encode(final byte[] entry) {
+        return new AuditLogPayload(entry, 1, JSON_MEDIA_TYPE);
+    }
+
+    /**
+     * Join serialized audit logs in a single payload
+     *
+     * @param entries Serialized audit logs
+     * @param format Payload format
+     * @return Payload
+     */
+    public AuditLogPayload encode(final List<byte[]> entries, final AuditLogsBatchConfig.Format format) {
+        var jsonArray = format == AuditLogsBatchConfig.Format.JSON_ARRAY;
+        var size = entries.stream().mapToInt(entry -> entry.length).sum()
+            + (jsonArray ? 2 + Math.max(0, entries.size() - 1) : entries.size());
+        var body = new byte[size];
+        var position = 0;
+        if (jsonArray) {
+            body[position++] = ARRAY_START;
+        }
+        for (var i = 0; i < entries.size(); i++) {
+            if (jsonArray && i > 0) {
+                body[position++] = ARRAY_SEPARATOR;
+            }
+            var entry = entries.get(i);
+            System.arraycopy(entry, 0, body, position, entry.length);
+            position += entry.length;
+            if (!jsonArray) {
+                body[position++] = LINE_SEPARATOR;
+            }
+        }
+        if (jsonArray) {
+            body[position] = ARRAY_END;
+        }
+        return new AuditLogPayload(body, entries.size(), format.contentType());
+    }
+}
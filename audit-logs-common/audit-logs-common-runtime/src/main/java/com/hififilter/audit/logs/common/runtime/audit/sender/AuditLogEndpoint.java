@@ -0,0 +1,170 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsCircuitBreakerConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsLoadBalancerConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.AuditLogsRateLimitConfig;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import io.smallrye.mutiny.Uni;
+import java.util.function.Function;
+
+/**
+ * Audit log endpoint: client of the endpoint, its circuit breaker, its rate limiter, its health and its metrics
+ *
+ * @param <C> Client type
+ */
+public class AuditLogEndpoint<C> {
+
+    /**
+     * Endpoint URI
+     */
+    protected final String uri;
+
+    /**
+     * Endpoint client
+     */
+    protected final C client;
+
+    /**
+     * Circuit breaker. Null if circuit breaker is disabled
+     */
+    protected final AuditLogCircuitBreaker circuitBreaker;
+
+    /**
+     * Rate limiter. Null if rate limit is disabled
+     */
+    protected final AuditLogRateLimiter rateLimiter;
+
+    /**
+     * Load balancer configuration (ejection thresholds)
+     */
+    protected final AuditLogsLoadBalancerConfig loadBalancerConfig;
+
+    /**
+     * Endpoint metrics
+     */
+    protected final AuditLogsMetrics.Endpoint metrics;
+
+    /**
+     * Number of consecutive failures
+     */
+    protected int consecutiveFailures;
+
+    /**
+     * Time in ms until which the endpoint is ejected
+     */
+    protected volatile long ejectedUntil;
+
+    /**
+     * Constructor
+     *
+     * @param uri Endpoint URI
+     * @param client Endpoint client
+     * @param circuitBreakerConfig Circuit breaker configuration
+     * @param loadBalancerConfig Load balancer configuration
+     * @param rateLimitConfig Rate limit configuration
+     */
+    public AuditLogEndpoint(final String uri, final C client,
+        final AuditLogsCircuitBreakerConfig circuitBreakerConfig,
+        final AuditLogsLoadBalancerConfig loadBalancerConfig,
+        final AuditLogsRateLimitConfig rateLimitConfig) {
+        this.uri = uri;
+        this.client = client;
+        this.circuitBreaker = circuitBreakerConfig.enabled() ? new AuditLogCircuitBreaker(circuitBreakerConfig) : null;
+        this.rateLimiter = rateLimitConfig.enabled() ? new AuditLogRateLimiter(rateLimitConfig) : null;
+        this.loadBalancerConfig = loadBalancerConfig;
+        this.metrics = AuditLogsMetrics.endpoint(uri);
+    }
+
+    /**
+     * Get endpoint URI
+     *
+     * @return Endpoint URI
+     */
+    public String uri() {
+        return uri;
+    }
+
+    /**
+     * Get endpoint client
+     *
+     * @return Endpoint client
+     */
+    public C client() {
+        return client;
+    }
+
+    /**
+     * Get number of requests in progress
+     *
+     * @return Requests in progress
+     */
+    public int outstanding() {
+        return metrics.outstanding().get();
+    }
+
+    /**
+     * Check if the endpoint can be used: not ejected and circuit breaker closed (or ready for a probe)
+     *
+     * @return True if the endpoint is available
+     */
+    public boolean available() {
+        return System.currentTimeMillis() >= ejectedUntil && (circuitBreaker == null || circuitBreaker.permits());
+    }
+
+    /**
+     * Send to the endpoint, within its rate limit and through its circuit breaker if enabled, and update its health
+     * and metrics. Requests throttled by the rate limit or rejected by the circuit breaker don't count as endpoint
+     * failures
+     *
+     * @param count Number of audit logs sent
+     * @param send Send using the endpoint client
+     * @return A void uni
+     */
+    public Uni<Void> call(final int count, final Function<C, Uni<Void>> send) {
+        return rateLimiter != null
+            ? rateLimiter.acquire(count).chain(() -> call(send))
+            : call(send);
+    }
+
+    /**
+     * Send to the endpoint, through its circuit breaker if enabled, and update its health and metrics
+     *
+     * @param send Send using the endpoint client
+     * @return A void uni
+     */
+    protected Uni<Void> call(final Function<C, Uni<Void>> send) {
+        return Uni.createFrom()
+            .deferred(() -> circuitBreaker != null
+                ? circuitBreaker.apply(() -> send.apply(client))
+                : send.apply(client))
+            .onSubscription()
+            .invoke(() -> metrics.outstanding().incrementAndGet())
+            .onItem()
+            .invoke(() -> record(false))
+            .onFailure(error -> !(error instanceof AuditLogDroppedException))
+            .invoke(() -> record(true))
+            .onTermination()
+            .invoke(() -> metrics.outstanding().decrementAndGet());
+    }
+
+    /**
+     * Record the outcome of a send and eject the endpoint after too many consecutive failures
+     *
+     * @param failure True if the send failed
+     */
+    protected void record(final boolean failure) {
+        (failure ? metrics.failed() : metrics.success()).increment();
+        synchronized (this) {
+            if (!failure) {
+                consecutiveFailures = 0;
+            } else if (++consecutiveFailures >= loadBalancerConfig.ejectionFailures()) {
+                consecutiveFailures = 0;
+                ejectedUntil = System.currentTimeMillis() + loadBalancerConfig.ejectionDuration().toMillis();
+                metrics.ejected().increment();
+                Loggers.AUDIT_LOGS.warn("Audit log endpoint {} ejected for {}", () -> uri,
+                    loadBalancerConfig::ejectionDuration);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Interface to implement a sender of audit logs already serialized, so that an audit log delivered to several
+ * senders is serialized once
+ */
+@FunctionalInterface
+public interface AuditLogEntrySender {
+
+    /**
+     * Send serialized audit log.
+     *
+     * @param auditLog Audit log
+     * @param entry Audit log serialized to JSON. Must not be modified, it may be shared by several senders
+     * @return void
+     */
+    Uni<Void> send(AuditLog auditLog, byte[] entry);
+}
@@ -0,0 +1,132 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.google.common.collect.Iterables;
+import com.google.common.hash.Hashing;
+import com.hififilter.audit.logs.common.runtime.AuditLogsLoadBalancerConfig;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Audit log endpoints load balancer. Unavailable endpoints (ejected or with an open circuit breaker) are skipped
+ * unless all endpoints are unavailable
+ *
+ * @param <C> Client type
+ */
+public class AuditLogLoadBalancer<C> {
+
+    /**
+     * Number of points of each endpoint on the consistent hash ring
+     */
+    private static final int VIRTUAL_NODES = 100;
+
+    /**
+     * Load balancer configuration
+     */
+    protected final AuditLogsLoadBalancerConfig config;
+
+    /**
+     * Endpoints
+     */
+    protected final List<AuditLogEndpoint<C>> endpoints;
+
+    /**
+     * Consistent hash ring. Empty if strategy is not consistent hash
+     */
+    protected final NavigableMap<Integer, AuditLogEndpoint<C>> ring = new TreeMap<>();
+
+    /**
+     * Round-robin counter
+     */
+    protected final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructor
+     *
+     * @param config Load balancer configuration
+     * @param endpoints Endpoints
+     */
+    public AuditLogLoadBalancer(final AuditLogsLoadBalancerConfig config, final List<AuditLogEndpoint<C>> endpoints) {
+        this.config = config;
+        this.endpoints = List.copyOf(endpoints);
+        if (config.strategy() == AuditLogsLoadBalancerConfig.Strategy.CONSISTENT_HASH) {
+            for (var endpoint : this.endpoints) {
+                for (var i = 0; i < VIRTUAL_NODES; i++) {
+                    ring.put(hash(endpoint.uri() + "#" + i), endpoint);
+                }
+            }
+        }
+    }
+
+    /**
+     * Select the endpoint of an audit log
+     *
+     * @param auditLog Audit log
+     * @return Endpoint
+     */
+    public AuditLogEndpoint<C> select(final AuditLog auditLog) {
+        if (config.strategy() == AuditLogsLoadBalancerConfig.Strategy.CONSISTENT_HASH && endpoints.size() > 1) {
+            var key = config.hashKey().extractor().apply(auditLog);
+            if (key != null) {
+                return selectByHash(key);
+            }
+        }
+        return select();
+    }
+
+    /**
+     * Select the endpoint of a payload (or an audit log without hash key)
+     *
+     * @return Endpoint
+     */
+    public AuditLogEndpoint<C> select() {
+        if (endpoints.size() == 1) {
+            return endpoints.get(0);
+        }
+        if (config.strategy() == AuditLogsLoadBalancerConfig.Strategy.LEAST_OUTSTANDING) {
+            var available = endpoints.stream().filter(AuditLogEndpoint::available).toList();
+            return (available.isEmpty() ? endpoints : available).stream()
+                .min(Comparator.comparingInt(AuditLogEndpoint::outstanding))
+                .orElseThrow();
+        }
+        var start = Math.floorMod(next.getAndIncrement(), endpoints.size());
+        for (var i = 0; i < endpoints.size(); i++) {
+            var endpoint = endpoints.get((start + i) % endpoints.size());
+            if (endpoint.available()) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(start);
+    }
+
+    /**
+     * Select the first available endpoint following the key hash on the ring
+     *
+     * @param key Hash key
+     * @return Endpoint
+     */
+    protected AuditLogEndpoint<C> selectByHash(final String key) {
+        var hash = hash(key);
+        var candidates = Iterables.concat(ring.tailMap(hash, true).values(), ring.headMap(hash, false).values());
+        for (var endpoint : candidates) {
+            if (endpoint.available()) {
+                return endpoint;
+            }
+        }
+        return candidates.iterator().next();
+    }
+
+    /**
+     * Hash a string on the ring
+     *
+     * @param value String
+     * @return Hash
+     */
+    protected static int hash(final String value) {
+        return Hashing.murmur3_32_fixed().hashString(value, StandardCharsets.UTF_8).asInt();
+    }
+}
@@ -0,0 +1,23 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+/**
+ * Serialized audit logs ready to be sent
+ *
+ * @param body Serialized audit logs
+ * @param count Number of audit logs in body
+ * @param contentType Content type of body
+ * @param contentEncoding Content encoding of body (null if not compressed)
+ */
+public record AuditLogPayload(byte[] body, int count, String contentType, String contentEncoding) {
+
+    /**
+     * Constructor of an uncompressed payload
+     *
+     * @param body Serialized audit logs
+     * @param count Number of audit logs in body
+     * @param contentType Content type of body
+     */
+    public AuditLogPayload(final byte[] body, final int count, final String contentType) {
+        this(body, count, contentType, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Interface to implement a sender of serialized audit logs
+ */
+@FunctionalInterface
+public interface AuditLogPayloadSender {
+
+    /**
+     * Send serialized audit logs.
+     *
+     * @param payload Serialized audit logs
+     * @return void
+     */
+    Uni<Void> send(AuditLogPayload payload);
+}
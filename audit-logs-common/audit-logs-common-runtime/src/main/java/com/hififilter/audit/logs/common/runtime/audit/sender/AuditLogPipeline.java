@@ -0,0 +1,502 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsFanOutConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.AuditLogsRateLimitConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsTransportConfig;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogSender;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.Level;
+
+/**
+ * Delivery pipeline of audit logs, shared by the server and client extensions.<br />
+ *
+ * <p>Build the sinks enabled by the configuration: the ring buffer, the rolling file, syslog and the endpoint. The
+ * endpoint is the Unix domain socket, or the HTTP endpoints of each route, through a disk spool or by batch if enabled.
+ * Audit logs go to the first enabled sink in this order, or to all of them if fan-out is enabled, through the
+ * dedicated executor if enabled.</p>
+ */
+public class AuditLogPipeline implements AuditLogSender {
+
+    /**
+     * Name of the route to the Unix domain socket, used in metrics
+     */
+    public static final String SOCKET_ROUTE = "socket";
+
+    /**
+     * Audit logs configuration
+     */
+    protected final AuditLogsConfig config;
+
+    /**
+     * Audit log encoder
+     */
+    protected final AuditLogEncoder encoder;
+
+    /**
+     * Get the rest client name of an audit log (null on server side)
+     */
+    protected final Function<AuditLog, String> clientName;
+
+    /**
+     * Vert.x instance
+     */
+    protected final Vertx vertx;
+
+    /**
+     * Build the rest client of an endpoint URI, used unless the Vert.x HTTP client is configured
+     */
+    protected final Function<String, AuditLogPayloadSender> restClients;
+
+    /**
+     * Senders of the routes of a rest client, by rest client name
+     */
+    protected final Map<String, AuditLogEntrySender> clientRoutes = new HashMap<>();
+
+    /**
+     * Batching senders, one per route. Empty if batch send is disabled
+     */
+    protected final List<BatchingAuditLogSender> batchingSenders = new ArrayList<>();
+
+    /**
+     * Spooling senders, one per route, each with its own spool directory. Empty if disk spool is disabled
+     */
+    protected final List<SpoolingAuditLogSender> spoolingSenders = new ArrayList<>();
+
+    /**
+     * Vert.x HTTP clients of the endpoints. Empty if the rest client is used
+     */
+    protected final List<VertxAuditLogHttpClient> vertxClients = new ArrayList<>();
+
+    /**
+     * Sender of the route of all audit logs (socket, or route without rest client). Null if there is none
+     */
+    protected AuditLogEntrySender defaultRoute;
+
+    /**
+     * Unix domain socket endpoint. Null if audit logs are sent to the HTTP endpoints
+     */
+    protected AuditLogEndpoint<AuditLogSocketClient> socketEndpoint;
+
+    /**
+     * Payload compressor. Null if compression is disabled
+     */
+    protected AuditLogCompressor compressor;
+
+    /**
+     * Retry policy. Null if retry is disabled
+     */
+    protected AuditLogRetryPolicy retryPolicy;
+
+    /**
+     * Rolling file sender. Null if audit logs are sent to another sink
+     */
+    protected FileAuditLogSender fileSender;
+
+    /**
+     * Ring buffer sender. Null if the ring buffer is disabled
+     */
+    protected RingBufferAuditLogSender ringBufferSender;
+
+    /**
+     * Syslog sender. Null if audit logs are sent to another sink
+     */
+    protected SyslogAuditLogSender syslogSender;
+
+    /**
+     * Dispatcher used to deliver audit logs (synchronously or asynchronously) to a single sink. Null if fan-out is
+     * enabled or if there is no sink
+     */
+    protected AuditLogDispatcher dispatcher;
+
+    /**
+     * Fan-out sender delivering audit logs to all enabled sinks. Null if fan-out is disabled or if there is no sink
+     */
+    protected FanOutAuditLogSender fanOutSender;
+
+    /**
+     * Dedicated executor sender. Null if the dedicated executor is disabled
+     */
+    protected ExecutorAuditLogSender executorSender;
+
+    /**
+     * False once shutdown has started: new audit logs are no longer accepted
+     */
+    protected volatile boolean accepting = true;
+
+    /**
+     * Constructor. Open the sinks enabled by the configuration
+     *
+     * @param name Name of the pipeline (server or client), used in metrics and thread names of the executor
+     * @param config Audit logs configuration
+     * @param encoder Audit log encoder
+     * @param routes Routes to the HTTP endpoints, ignored if the Unix domain socket is enabled
+     * @param clientName Get the rest client name of an audit log, used by routes and fan-out filters
+     * @param vertx Vert.x instance
+     * @param restClients Build the rest client of an endpoint URI
+     */
+    public AuditLogPipeline(final String name, final AuditLogsConfig config, final AuditLogEncoder encoder,
+        final List<Route> routes, final Function<AuditLog, String> clientName, final Vertx vertx,
+        final Function<String, AuditLogPayloadSender> restClients) {
+        this.config = config;
+        this.encoder = encoder;
+        this.clientName = clientName;
+        this.vertx = vertx;
+        this.restClients = restClients;
+        var fanOut = config.fanOut().enabled();
+        var sinks = new ArrayList<FanOutAuditLogSender.Sink>();
+        if (config.ringBuffer().enabled()) {
+            ringBufferSender = new RingBufferAuditLogSender(newRingBuffer(), encoder);
+            sinks.add(sink(AuditLogsFanOutConfig.RING_BUFFER_SINK, ringBufferSender));
+        }
+        if (config.file().enabled() && (fanOut || sinks.isEmpty())) {
+            fileSender = new FileAuditLogSender(config.file(), Paths.get(config.file().directory()), encoder);
+            sinks.add(sink(AuditLogsFanOutConfig.FILE_SINK, fileSender));
+        }
+        if (config.syslog().enabled() && (fanOut || sinks.isEmpty())) {
+            syslogSender = new SyslogAuditLogSender(config.syslog(), encoder);
+            sinks.add(sink(AuditLogsFanOutConfig.SYSLOG_SINK, syslogSender));
+        }
+        if ((config.socket().enabled() || !routes.isEmpty()) && (fanOut || sinks.isEmpty())) {
+            sinks.add(sink(AuditLogsFanOutConfig.ENDPOINT_SINK, newEndpointSender(routes)));
+        }
+        if (sinks.isEmpty()) {
+            Loggers.AUDIT_LOGS.warn("Audit log is enabled but endpoint is missing");
+            return;
+        } else if (fanOut) {
+            fanOutSender = new FanOutAuditLogSender(config.async(), encoder, sinks);
+        } else {
+            var sender = sinks.get(0).sender();
+            dispatcher = new AuditLogDispatcher(config.async(),
+                auditLog -> sender.send(auditLog, encoder.encode(auditLog)));
+        }
+        if (config.executor().enabled()) {
+            executorSender = new ExecutorAuditLogSender(name, config.executor(), this::dispatch);
+        }
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog) {
+        if (!accepting) {
+            AuditLogsMetrics.SEND_DROPPED_COUNTER.increment();
+            Loggers.AUDIT_LOGS.warn("Audit logs are shutting down, audit log {} dropped", auditLog::uuid);
+            return Uni.createFrom().voidItem();
+        }
+        return executorSender != null ? executorSender.send(auditLog) : dispatch(auditLog);
+    }
+
+    /**
+     * Deliver audit log to the dispatcher or to the fan-out sender
+     *
+     * @param auditLog Audit log
+     * @return A void uni
+     */
+    protected Uni<Void> dispatch(final AuditLog auditLog) {
+        if (dispatcher != null) {
+            return dispatcher.send(auditLog);
+        }
+        return fanOutSender != null ? fanOutSender.send(auditLog) : Uni.createFrom().voidItem();
+    }
+
+    /**
+     * Open the Unix domain socket or the HTTP endpoints of each route, and the spool or the batch if enabled
+     *
+     * @param routes Routes to the HTTP endpoints
+     * @return Sender to the endpoint
+     */
+    protected AuditLogEntrySender newEndpointSender(final List<Route> routes) {
+        if (config.compression().enabled()) {
+            compressor = new AuditLogCompressor(config.compression());
+        }
+        if (config.retry().enabled()) {
+            retryPolicy = new AuditLogRetryPolicy(config.retry());
+        }
+        if (config.socket().enabled()) {
+            var path = config.socket().path();
+            socketEndpoint = new AuditLogEndpoint<>(
+                "unix:" + path,
+                new AuditLogSocketClient(Paths.get(path), config.transport()),
+                config.circuitBreaker(),
+                config.loadBalancer(),
+                config.rateLimit()
+            );
+            defaultRoute = route(
+                SOCKET_ROUTE,
+                Paths.get(config.spool().directory()),
+                this::post,
+                (auditLog, entry) -> AuditLogsMetrics.record(post(encoder.encode(entry)), 1)
+            );
+        } else {
+            for (var route : routes) {
+                var loadBalancer = new AuditLogLoadBalancer<>(
+                    config.loadBalancer(),
+                    route.uris().stream()
+                        .map(uri -> new AuditLogEndpoint<>(uri, newHttpClient(uri), config.circuitBreaker(),
+                            config.loadBalancer(), route.rateLimit()))
+                        .toList()
+                );
+                var sender = route(
+                    route.name(),
+                    route.spoolDirectory(),
+                    payload -> post(loadBalancer, payload),
+                    (auditLog, entry) -> post(loadBalancer, auditLog, entry)
+                );
+                if (route.client() == null) {
+                    defaultRoute = sender;
+                } else {
+                    clientRoutes.put(route.client(), sender);
+                }
+            }
+        }
+        return this::route;
+    }
+
+    /**
+     * Build the delivery of a route: through a disk spool or by batch, if enabled
+     *
+     * @param name Name of the route, used in metrics
+     * @param spoolDirectory Spool directory of the route
+     * @param payloadSender Sender of payloads to the endpoint
+     * @param sender Sender of a single audit log to the endpoint
+     * @return Sender of the route
+     */
+    protected AuditLogEntrySender route(final String name, final Path spoolDirectory,
+        final AuditLogPayloadSender payloadSender, final AuditLogEntrySender sender) {
+        if (config.spool().enabled()) {
+            var spoolingSender = new SpoolingAuditLogSender(config.spool(), config.batch(), spoolDirectory, encoder,
+                payloadSender);
+            spoolingSenders.add(spoolingSender);
+            return spoolingSender;
+        } else if (config.batch().enabled()) {
+            var batchingSender = new BatchingAuditLogSender(name, config.batch(), encoder, payloadSender);
+            batchingSenders.add(batchingSender);
+            return batchingSender;
+        }
+        return sender;
+    }
+
+    /**
+     * Send serialized audit log to the route of its rest client, or to the default route. Dropped if there is none
+     *
+     * @param auditLog Audit log
+     * @param entry Audit log serialized to JSON
+     * @return A void uni
+     */
+    protected Uni<Void> route(final AuditLog auditLog, final byte[] entry) {
+        var client = clientName.apply(auditLog);
+        var sender = client != null ? clientRoutes.getOrDefault(client, defaultRoute) : defaultRoute;
+        if (sender == null) {
+            AuditLogsMetrics.SEND_DROPPED_COUNTER.increment();
+            Loggers.AUDIT_LOGS.debug("No endpoint for rest client {}, audit log {} dropped", client, auditLog.uuid());
+            return Uni.createFrom().voidItem();
+        }
+        return sender.send(auditLog, entry);
+    }
+
+    /**
+     * Post audit log to the HTTP endpoints of a route, compressed if enabled. The endpoint is selected from the audit
+     * log, for the consistent-hash strategy
+     *
+     * @param loadBalancer Audit log endpoints load balancer of the route
+     * @param auditLog Audit log
+     * @param entry Audit log serialized to JSON
+     * @return A void uni
+     */
+    protected Uni<Void> post(final AuditLogLoadBalancer<AuditLogPayloadSender> loadBalancer, final AuditLog auditLog,
+        final byte[] entry) {
+        return AuditLogsMetrics.record(call(() -> loadBalancer.select(auditLog), compress(encoder.encode(entry))), 1);
+    }
+
+    /**
+     * Post serialized audit logs to the HTTP endpoints of a route, compressed if enabled
+     *
+     * @param loadBalancer Audit log endpoints load balancer of the route
+     * @param payload Payload
+     * @return A void uni
+     */
+    protected Uni<Void> post(final AuditLogLoadBalancer<AuditLogPayloadSender> loadBalancer,
+        final AuditLogPayload payload) {
+        return call(loadBalancer::select, compress(payload));
+    }
+
+    /**
+     * Call an endpoint through its circuit breaker and with retries, if enabled. The endpoint is selected on each
+     * attempt, so a retry may go to another endpoint
+     *
+     * @param selector Endpoint selector
+     * @param payload Payload
+     * @return A void uni
+     */
+    protected Uni<Void> call(final Supplier<AuditLogEndpoint<AuditLogPayloadSender>> selector,
+        final AuditLogPayload payload) {
+        return retry(() -> selector.get().call(payload.count(), httpClient -> httpClient.send(payload)));
+    }
+
+    /**
+     * Post serialized audit logs to the Unix domain socket, compressed if enabled
+     *
+     * @param payload Payload
+     * @return A void uni
+     */
+    protected Uni<Void> post(final AuditLogPayload payload) {
+        var compressed = compress(payload);
+        return retry(() -> socketEndpoint.call(compressed.count(), socketClient -> socketClient.send(compressed)));
+    }
+
+    /**
+     * Compress a payload, if enabled
+     *
+     * @param payload Payload
+     * @return Compressed payload, or the payload itself
+     */
+    protected AuditLogPayload compress(final AuditLogPayload payload) {
+        return compressor != null ? compressor.compress(payload) : payload;
+    }
+
+    /**
+     * Make an attempt, with retries if enabled
+     *
+     * @param attempt Attempt
+     * @return A void uni
+     */
+    protected Uni<Void> retry(final Supplier<Uni<Void>> attempt) {
+        return retryPolicy != null ? retryPolicy.apply(attempt) : attempt.get();
+    }
+
+    /**
+     * Build a sink, with its fan-out filter if any
+     *
+     * @param name Sink name
+     * @param sender Sender of the sink
+     * @return Sink
+     */
+    protected FanOutAuditLogSender.Sink sink(final String name, final AuditLogEntrySender sender) {
+        var filter = config.fanOut().sinks().get(name);
+        return new FanOutAuditLogSender.Sink(
+            name,
+            filter != null ? auditLog -> filter.matches(auditLog, clientName.apply(auditLog)) : auditLog -> true,
+            sender
+        );
+    }
+
+    /**
+     * Open the ring buffer
+     *
+     * @return Ring buffer
+     * @throws UncheckedIOException If the ring buffer file can't be mapped
+     */
+    protected AuditLogRingBuffer newRingBuffer() {
+        try {
+            return new AuditLogRingBuffer(Paths.get(config.ringBuffer().path()), config.ringBuffer().capacity());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Build the HTTP client of an endpoint: the Vert.x HTTP client or a rest client, depending on the transport
+     * configuration
+     *
+     * @param uri Endpoint URI
+     * @return HTTP client
+     */
+    protected AuditLogPayloadSender newHttpClient(final String uri) {
+        if (config.transport().client() == AuditLogsTransportConfig.Client.VERTX) {
+            var vertxClient = new VertxAuditLogHttpClient(vertx, uri, config.transport());
+            vertxClients.add(vertxClient);
+            return vertxClient;
+        }
+        return restClients.apply(uri);
+    }
+
+    /**
+     * Stop accepting audit logs, send the queued audit logs, the current batches, the spooled audit logs and the audit
+     * logs queued in the file or syslog sinks until the drain timeout, then close the spools, the file, syslog or the
+     * ring buffer
+     *
+     * @return Number of audit logs flushed, abandoned and kept in the spools for the next start
+     */
+    public Drain close() {
+        accepting = false;
+        var deadline = AuditLogDrain.deadline(config.shutdown().drainTimeout());
+        long pending = 0;
+        long abandoned = 0;
+        long spooled = 0;
+        // Count pending audit logs before draining, as each stage is drained into the next one
+        pending += executorSender != null ? executorSender.pending() : 0;
+        pending += dispatcher != null ? dispatcher.pending() : 0;
+        pending += fanOutSender != null ? fanOutSender.pending() : 0;
+        pending += batchingSenders.stream().mapToInt(BatchingAuditLogSender::pending).sum();
+        pending += spoolingSenders.stream().mapToInt(SpoolingAuditLogSender::pending).sum();
+        pending += fileSender != null ? fileSender.pending() : 0;
+        pending += syslogSender != null ? syslogSender.pending() : 0;
+        if (executorSender != null) {
+            abandoned += executorSender.close(deadline);
+        }
+        if (dispatcher != null) {
+            abandoned += dispatcher.close(deadline);
+        }
+        if (fanOutSender != null) {
+            abandoned += fanOutSender.close(deadline);
+        }
+        abandoned += batchingSenders.stream().mapToLong(batchingSender -> batchingSender.close(deadline)).sum();
+        spooled += spoolingSenders.stream().mapToLong(spoolingSender -> spoolingSender.close(deadline)).sum();
+        if (fileSender != null) {
+            abandoned += fileSender.close(deadline);
+        }
+        if (syslogSender != null) {
+            abandoned += syslogSender.close(deadline);
+        }
+        var drain = new Drain(Math.max(pending - abandoned - spooled, 0), abandoned, spooled);
+        if (pending > 0 || abandoned > 0) {
+            Loggers.AUDIT_LOGS.log(abandoned > 0 ? Level.WARN : Level.INFO,
+                "Audit logs drained on shutdown: {} flushed, {} abandoned, {} spooled", drain.flushed(),
+                drain.abandoned(), drain.spooled());
+        }
+        if (ringBufferSender != null) {
+            ringBufferSender.close();
+        }
+        if (socketEndpoint != null) {
+            socketEndpoint.client().close();
+        }
+        vertxClients.forEach(VertxAuditLogHttpClient::close);
+        return drain;
+    }
+
+    /**
+     * Route of audit logs to HTTP endpoints
+     *
+     * @param name Route name, used in metrics
+     * @param client Rest client of the audit logs of the route, null for all audit logs
+     * @param uris Endpoint URIs, load balanced
+     * @param spoolDirectory Spool directory of the route
+     * @param rateLimit Outbound rate limit of each endpoint
+     */
+    public record Route(String name, String client, List<String> uris, Path spoolDirectory,
+        AuditLogsRateLimitConfig rateLimit) {
+    }
+
+    /**
+     * Audit logs drained on shutdown
+     *
+     * @param flushed Audit logs sent before the drain timeout
+     * @param abandoned Audit logs lost: not sent before the drain timeout, or failed
+     * @param spooled Audit logs kept in the spools, sent on next start
+     */
+    public record Drain(long flushed, long abandoned, long spooled) {
+    }
+}
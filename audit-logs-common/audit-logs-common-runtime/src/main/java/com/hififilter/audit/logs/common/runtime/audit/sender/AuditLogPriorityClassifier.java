@@ -0,0 +1,117 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsPriorityConfig;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Classifier of audit logs into priority lanes, following the priority lanes configuration
+ */
+public class AuditLogPriorityClassifier implements ToIntFunction<AuditLog> {
+
+    /**
+     * Lane of high priority audit logs
+     */
+    public static final int HIGH = 0;
+
+    /**
+     * Lane of normal priority audit logs
+     */
+    public static final int NORMAL = 1;
+
+    /**
+     * Lane of low priority audit logs
+     */
+    public static final int LOW = 2;
+
+    /**
+     * Suffix of status families (5xx)
+     */
+    private static final String FAMILY_SUFFIX = "xx";
+
+    /**
+     * Status codes of high priority audit logs
+     */
+    protected final Set<Integer> highStatuses;
+
+    /**
+     * Status families (status / 100) of high priority audit logs
+     */
+    protected final Set<Integer> highFamilies;
+
+    /**
+     * Action patterns of high priority audit logs
+     */
+    protected final List<Pattern> highActions;
+
+    /**
+     * Action patterns of low priority audit logs
+     */
+    protected final List<Pattern> lowActions;
+
+    /**
+     * HTTP methods of low priority audit logs (upper case)
+     */
+    protected final Set<String> lowMethods;
+
+    /**
+     * Constructor
+     *
+     * @param config Priority lanes configuration
+     * @throws IllegalArgumentException If a status is neither a status code nor a status family
+     */
+    public AuditLogPriorityClassifier(final AuditLogsPriorityConfig config) {
+        var statuses = config.highStatuses().stream().map(String::trim).map(status -> status.toLowerCase(Locale.ROOT));
+        var families = statuses.collect(Collectors.partitioningBy(status -> status.endsWith(FAMILY_SUFFIX)));
+        this.highStatuses = families.get(false).stream().map(Integer::valueOf).collect(Collectors.toSet());
+        this.highFamilies = families.get(true).stream()
+            .map(status -> Integer.valueOf(status.substring(0, status.length() - FAMILY_SUFFIX.length())))
+            .collect(Collectors.toSet());
+        this.highActions = config.highActions().orElse(List.of()).stream().map(Pattern::compile).toList();
+        this.lowActions = config.lowActions().orElse(List.of()).stream().map(Pattern::compile).toList();
+        this.lowMethods = config.lowMethods().stream()
+            .map(method -> method.trim().toUpperCase(Locale.ROOT))
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Get the lane of an audit log
+     *
+     * @param auditLog Audit log
+     * @return {@link #HIGH}, {@link #NORMAL} or {@link #LOW}
+     */
+    @Override
+    public int applyAsInt(final AuditLog auditLog) {
+        var status = auditLog.response() != null ? auditLog.response().status() : 0;
+        var action = auditLog.action() != null ? auditLog.action() : "";
+        if (highStatuses.contains(status) || highFamilies.contains(status / 100) || matches(highActions, action)) {
+            return HIGH;
+        }
+        var method = auditLog.request() != null ? auditLog.request().method() : null;
+        if (matches(lowActions, action) || status < 400 && method != null && lowMethods.contains(method)) {
+            return LOW;
+        }
+        return NORMAL;
+    }
+
+    /**
+     * Check if an action matches one of the patterns
+     *
+     * @param patterns Action patterns
+     * @param action Action
+     * @return True if the action matches a pattern
+     */
+    protected static boolean matches(final List<Pattern> patterns, final String action) {
+        for (var pattern : patterns) {
+            if (pattern.matcher(action).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,252 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsAsyncConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded queue of the asynchronous mode, with priority lanes if enabled.
+ *
+ * <p>Lanes are drained by smooth weighted round robin: each lane is taken from in proportion to its weight, among the
+ * lanes which aren't empty. When the queue is full, a new element evicts the oldest element of the lowest priority
+ * lane below its own; if there is none, the overflow policy applies. High priority elements are never sampled.</p>
+ *
+ * <p>Depth, high-water mark and dropped elements by reason are recorded in the queue metrics.</p>
+ *
+ * @param <E> Element type
+ */
+public class AuditLogQueue<E> {
+
+    /**
+     * Asynchronous send configuration
+     */
+    protected final AuditLogsAsyncConfig config;
+
+    /**
+     * Maximum number of elements
+     */
+    protected final int capacity;
+
+    /**
+     * Number of elements above which new elements are sampled. Max value if the overflow policy isn't sample
+     */
+    protected final int sampleSize;
+
+    /**
+     * Lanes, by decreasing priority
+     */
+    protected final List<ArrayDeque<E>> lanes;
+
+    /**
+     * Weights of the lanes
+     */
+    protected final int[] weights;
+
+    /**
+     * Current weights of the lanes (smooth weighted round robin)
+     */
+    protected final int[] current;
+
+    /**
+     * Lane of an element. Null if there is a single lane
+     */
+    protected final ToIntFunction<E> classifier;
+
+    /**
+     * Lock guarding the lanes
+     */
+    protected final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Condition signaled when an element is added
+     */
+    protected final Condition notEmpty = lock.newCondition();
+
+    /**
+     * Condition signaled when an element is removed
+     */
+    protected final Condition notFull = lock.newCondition();
+
+    /**
+     * Queue metrics
+     */
+    protected final AuditLogsMetrics.Queue metrics;
+
+    /**
+     * Number of elements
+     */
+    protected int size;
+
+    /**
+     * Constructor
+     *
+     * @param name Queue name, used in metrics
+     * @param config Asynchronous send configuration
+     * @param auditLog Audit log of an element
+     */
+    @SuppressWarnings("unchecked")
+    public AuditLogQueue(final String name, final AuditLogsAsyncConfig config, final Function<E, AuditLog> auditLog) {
+        this.config = config;
+        this.capacity = config.queueSize();
+        this.sampleSize = config.overflowPolicy() == AuditLogsAsyncConfig.OverflowPolicy.SAMPLE
+            ? (int) (capacity * config.sampleThreshold())
+            : Integer.MAX_VALUE;
+        this.metrics = AuditLogsMetrics.queue(name);
+        var priority = config.priority();
+        if (priority.enabled()) {
+            var priorityClassifier = new AuditLogPriorityClassifier(priority);
+            this.classifier = element -> priorityClassifier.applyAsInt(auditLog.apply(element));
+            this.weights = new int[] {priority.highWeight(), priority.normalWeight(), priority.lowWeight()};
+        } else {
+            this.classifier = null;
+            this.weights = new int[] {1};
+        }
+        this.lanes = new ArrayList<>(weights.length);
+        for (var i = 0; i < weights.length; i++) {
+            lanes.add(new ArrayDeque<>());
+        }
+        this.current = new int[weights.length];
+    }
+
+    /**
+     * Add an element, evicting a lower priority element or applying the overflow policy if the queue is full
+     *
+     * @param element Element
+     * @return The element dropped (the new element or an evicted one), or null if none
+     */
+    public E offer(final E element) {
+        var lane = classifier != null ? classifier.applyAsInt(element) : 0;
+        lock.lock();
+        try {
+            if (size >= sampleSize && (lane > 0 || lanes.size() == 1)
+                && ThreadLocalRandom.current().nextDouble() >= config.sampleRatio()) {
+                metrics.drop(AuditLogsMetrics.DropReason.SAMPLED);
+                return element;
+            }
+            E dropped = null;
+            if (size == capacity) {
+                dropped = evict(lane);
+                if (dropped == null) {
+                    var reason = overflow(lane);
+                    if (reason != null) {
+                        metrics.drop(reason);
+                        return element;
+                    }
+                    dropped = size == capacity ? evict(lane - 1) : null;
+                }
+            }
+            lanes.get(lane).addLast(element);
+            size++;
+            metrics.depth(size);
+            notEmpty.signal();
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evict the oldest element of the lowest priority lane below a lane
+     *
+     * @param lane Lane of the new element
+     * @return Evicted element, or null if lower lanes are empty
+     */
+    protected E evict(final int lane) {
+        for (var victim = lanes.size() - 1; victim > lane; victim--) {
+            if (!lanes.get(victim).isEmpty()) {
+                size--;
+                metrics.drop(AuditLogsMetrics.DropReason.EVICTED);
+                return lanes.get(victim).pollFirst();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Apply the overflow policy when the queue is full and no lower priority element can be evicted
+     *
+     * @param lane Lane of the new element
+     * @return Reason to drop the new element, or null if it can be added (after evicting the oldest element of its
+     * lane with the drop oldest policy)
+     */
+    protected AuditLogsMetrics.DropReason overflow(final int lane) {
+        switch (config.overflowPolicy()) {
+            case DROP_OLDEST:
+                return lanes.get(lane).isEmpty() ? AuditLogsMetrics.DropReason.FULL : null;
+            case BLOCK:
+                try {
+                    var nanos = config.blockTimeout().toNanos();
+                    while (size == capacity) {
+                        if (nanos <= 0) {
+                            return AuditLogsMetrics.DropReason.TIMEOUT;
+                        }
+                        nanos = notFull.awaitNanos(nanos);
+                    }
+                    return null;
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return AuditLogsMetrics.DropReason.TIMEOUT;
+                }
+            default:
+                return AuditLogsMetrics.DropReason.FULL;
+        }
+    }
+
+    /**
+     * Take an element, waiting for one if the queue is empty
+     *
+     * @return Element
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public E take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            size--;
+            metrics.depth(size);
+            notFull.signal();
+            if (lanes.size() == 1) {
+                return lanes.get(0).pollFirst();
+            }
+            var selected = -1;
+            var total = 0;
+            for (var i = 0; i < lanes.size(); i++) {
+                if (!lanes.get(i).isEmpty()) {
+                    current[i] += weights[i];
+                    total += weights[i];
+                    if (selected < 0 || current[i] > current[selected]) {
+                        selected = i;
+                    }
+                }
+            }
+            current[selected] -= total;
+            return lanes.get(selected).pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get number of elements
+     *
+     * @return Number of elements
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.AuditLogsRateLimitConfig;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket limiting the rate of requests to an audit log endpoint.
+ *
+ * <p>In queue mode a request may take a token before it is refilled (the bucket goes negative) and waits until then,
+ * so queued requests are sent at the configured rate in their arrival order.</p>
+ */
+public class AuditLogRateLimiter {
+
+    /**
+     * Nanoseconds per second
+     */
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Rate limit configuration
+     */
+    protected final AuditLogsRateLimitConfig config;
+
+    /**
+     * Tokens available (negative when tokens are reserved by queued requests)
+     */
+    protected double tokens;
+
+    /**
+     * Time in ns of the last refill
+     */
+    protected long refilledAt;
+
+    /**
+     * Constructor. The bucket starts full
+     *
+     * @param config Rate limit configuration
+     */
+    public AuditLogRateLimiter(final AuditLogsRateLimitConfig config) {
+        this.config = config;
+        this.tokens = config.burst();
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Take a token for a request
+     *
+     * @param count Number of audit logs of the request
+     * @return A void uni, delayed until the token is available in queue mode, or failed with an
+     * {@link AuditLogDroppedException} if the rate limit is exceeded
+     */
+    public Uni<Void> acquire(final int count) {
+        var delay = reserve();
+        if (delay == 0) {
+            return Uni.createFrom().voidItem();
+        } else if (delay > 0) {
+            return Uni.createFrom().voidItem().onItem().delayIt().by(Duration.ofNanos(delay));
+        }
+        AuditLogsMetrics.SEND_THROTTLED_COUNTER.add(count);
+        Loggers.AUDIT_LOGS.debug("Audit log rate limit exceeded, {} audit logs throttled", count);
+        return Uni.createFrom().failure(new AuditLogDroppedException("Audit log rate limit exceeded"));
+    }
+
+    /**
+     * Refill the bucket and take a token
+     *
+     * @return 0 if a token was available, the delay in ns until the reserved token is refilled in queue mode, or -1 if
+     * the rate limit is exceeded
+     */
+    protected synchronized long reserve() {
+        var now = System.nanoTime();
+        tokens = Math.min(config.burst(), tokens + (now - refilledAt) * config.rate() / NANOS_PER_SECOND);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+        if (config.onExhausted() == AuditLogsRateLimitConfig.OnExhausted.QUEUE) {
+            var delay = (long) Math.ceil((1 - tokens) * NANOS_PER_SECOND / config.rate());
+            if (delay <= config.maxDelay().toNanos()) {
+                tokens--;
+                return delay;
+            }
+        }
+        return -1;
+    }
+}
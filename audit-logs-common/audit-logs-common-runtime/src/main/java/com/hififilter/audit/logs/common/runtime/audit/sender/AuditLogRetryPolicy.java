@@ -0,0 +1,162 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.AuditLogsRetryConfig;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Retry policy of audit log sends: exponential backoff with jitter, limited by a global retry budget.
+ *
+ * <p>The budget is a token bucket of <code>budget-burst</code> tokens: each first attempt deposits
+ * <code>budget-ratio</code> token and each retry withdraws one, so retries never exceed this ratio of first attempts
+ * over time.</p>
+ */
+public class AuditLogRetryPolicy {
+
+    /**
+     * Status code of too many requests responses
+     */
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * Retry configuration
+     */
+    protected final AuditLogsRetryConfig config;
+
+    /**
+     * Retry tokens available
+     */
+    protected double budget;
+
+    /**
+     * Constructor
+     *
+     * @param config Retry configuration
+     */
+    public AuditLogRetryPolicy(final AuditLogsRetryConfig config) {
+        this.config = config;
+        this.budget = config.budgetBurst();
+    }
+
+    /**
+     * Send with retries
+     *
+     * @param send Send attempt, called on each attempt
+     * @return A void uni, failed with the last error if all attempts failed
+     */
+    public Uni<Void> apply(final Supplier<Uni<Void>> send) {
+        synchronized (this) {
+            budget = Math.min(config.budgetBurst(), budget + config.budgetRatio());
+        }
+        return attempt(send, 1);
+    }
+
+    /**
+     * Send attempt, followed by a retry on a retryable failure
+     *
+     * @param send Send attempt
+     * @param attempt Attempt number (starting at 1)
+     * @return A void uni
+     */
+    protected Uni<Void> attempt(final Supplier<Uni<Void>> send, final int attempt) {
+        return Uni.createFrom().deferred(send::get)
+            .onFailure()
+            .recoverWithUni(error -> {
+                var delay = attempt < config.maxAttempts() ? delay(error, attempt) : null;
+                if (delay == null || !withdraw()) {
+                    return Uni.createFrom().failure(error);
+                }
+                AuditLogsMetrics.SEND_RETRIED_COUNTER.increment();
+                Loggers.AUDIT_LOGS.debug("Audit log send failed, retry {} in {}", attempt, delay);
+                return Uni.createFrom().voidItem()
+                    .onItem()
+                    .delayIt()
+                    .by(delay)
+                    .chain(() -> attempt(send, attempt + 1));
+            });
+    }
+
+    /**
+     * Get delay before retrying a failed attempt
+     *
+     * @param error Failure of the attempt
+     * @param attempt Attempt number (starting at 1)
+     * @return Delay before the retry, or null if the failure is not retryable
+     */
+    protected Duration delay(final Throwable error, final int attempt) {
+        var backoff = Math.min(
+            config.initialBackoff().toMillis() * Math.pow(config.multiplier(), attempt - 1.0),
+            config.maxBackoff().toMillis()
+        );
+        var jitter = config.jitter() * ThreadLocalRandom.current().nextDouble();
+        var delay = Duration.ofMillis((long) (backoff * (1 - jitter)));
+        if (error instanceof WebApplicationException webApplicationException) {
+            var response = webApplicationException.getResponse();
+            if (response.getStatus() == TOO_MANY_REQUESTS) {
+                var retryAfter = retryAfter(response);
+                if (retryAfter == null) {
+                    return delay;
+                }
+                return retryAfter.compareTo(config.maxBackoff()) <= 0 ? retryAfter : null;
+            }
+            return response.getStatusInfo().getFamily() == Response.Status.Family.SERVER_ERROR ? delay : null;
+        }
+        return isConnectionError(error) ? delay : null;
+    }
+
+    /**
+     * Withdraw a retry token from the budget
+     *
+     * @return False if the budget is exhausted
+     */
+    protected synchronized boolean withdraw() {
+        if (budget < 1) {
+            Loggers.AUDIT_LOGS.debug("Audit log retry budget exhausted");
+            return false;
+        }
+        budget--;
+        return true;
+    }
+
+    /**
+     * Get the delay of a <code>Retry-After</code> header in seconds
+     *
+     * @param response HTTP response
+     * @return Delay, or null if header is missing or is not a number of seconds
+     */
+    protected static Duration retryAfter(final Response response) {
+        var header = response.getHeaderString(HttpHeaders.RETRY_AFTER);
+        if (header != null) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(header.trim()));
+            } catch (NumberFormatException ex) {
+                Loggers.AUDIT_LOGS.debug("Unsupported Retry-After header: {}", header);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if an error is a connection error (connection refused or reset, timeout,…)
+     *
+     * @param error Error
+     * @return True for a connection error
+     */
+    protected static boolean isConnectionError(final Throwable error) {
+        for (var cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
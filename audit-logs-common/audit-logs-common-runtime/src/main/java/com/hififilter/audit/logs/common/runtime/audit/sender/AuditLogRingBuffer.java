@@ -0,0 +1,267 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory-mapped ring buffer of serialized audit logs, written by the application and consumed by another process on
+ * the same host with {@link AuditLogRingBufferReader}.
+ *
+ * <p>File layout, little endian:</p>
+ * <ul>
+ *     <li>Header of 128 bytes: magic (int, offset 0), version (int, offset 4), capacity of the data region (int,
+ *     offset 8) and consumer position (long, offset 64, on its own cache line)</li>
+ *     <li>Data region of capacity bytes (a power of two), from offset 128</li>
+ * </ul>
+ *
+ * <p>Records start on 8 bytes boundaries. A record header holds the record length including the header (int) and
+ * the record type (int): an audit log, followed by its JSON, or padding filling the end of the data region when a
+ * record doesn't fit before wrapping. The length is written last with release semantics: a zero length means no
+ * record yet.</p>
+ *
+ * <p>Positions only grow, the offset in the data region is the position modulo the capacity. The reader zeroes each
+ * consumed record then publishes the consumer position, which writers use to compute the free space. Several threads
+ * may write concurrently, a single reader is supported.</p>
+ */
+public class AuditLogRingBuffer implements Closeable {
+
+    /**
+     * Magic number of the file ("HFAL")
+     */
+    public static final int MAGIC = 0x4846414C;
+
+    /**
+     * Version of the layout
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Offset of the version
+     */
+    public static final int VERSION_OFFSET = 4;
+
+    /**
+     * Offset of the capacity
+     */
+    public static final int CAPACITY_OFFSET = 8;
+
+    /**
+     * Offset of the consumer position
+     */
+    public static final int CONSUMER_POSITION_OFFSET = 64;
+
+    /**
+     * Size of the file header, offset of the data region
+     */
+    public static final int HEADER_SIZE = 128;
+
+    /**
+     * Size of a record header (length and type)
+     */
+    public static final int RECORD_HEADER_SIZE = 8;
+
+    /**
+     * Offset of the type in a record header
+     */
+    public static final int RECORD_TYPE_OFFSET = 4;
+
+    /**
+     * Type of an audit log record
+     */
+    public static final int AUDIT_LOG_TYPE = 1;
+
+    /**
+     * Type of a padding record
+     */
+    public static final int PADDING_TYPE = 2;
+
+    /**
+     * Alignment of records
+     */
+    public static final int ALIGNMENT = 8;
+
+    /**
+     * Access to ints of the mapped buffer with memory ordering
+     */
+    static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Access to longs of the mapped buffer with memory ordering
+     */
+    static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * File channel
+     */
+    protected final FileChannel channel;
+
+    /**
+     * Mapped file
+     */
+    protected final MappedByteBuffer buffer;
+
+    /**
+     * Capacity of the data region
+     */
+    protected final int capacity;
+
+    /**
+     * Position of the next record
+     */
+    protected final AtomicLong producerPosition = new AtomicLong();
+
+    /**
+     * Constructor. Create the ring buffer file, or reuse it if it has the same capacity: records not consumed yet are
+     * kept, and a record left uncommitted by a crash ends the ring buffer
+     *
+     * @param path Path of the ring buffer file
+     * @param capacity Capacity of the data region, a power of two
+     * @throws IOException If file can't be mapped
+     * @throws IllegalArgumentException If capacity isn't a power of two
+     */
+    public AuditLogRingBuffer(final Path path, final int capacity) throws IOException {
+        if (capacity < ALIGNMENT || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Audit log ring buffer capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        var reused = channel.size() == (long) HEADER_SIZE + capacity;
+        if (!reused) {
+            channel.truncate(0);
+        }
+        this.buffer = map(channel, capacity);
+        if (reused && (int) INT.getAcquire(buffer, 0) == MAGIC && buffer.getInt(VERSION_OFFSET) == VERSION
+            && buffer.getInt(CAPACITY_OFFSET) == capacity) {
+            recover();
+        } else {
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+            LONG.setRelease(buffer, CONSUMER_POSITION_OFFSET, 0L);
+            INT.setRelease(buffer, 0, MAGIC);
+        }
+    }
+
+    /**
+     * Append an audit log. Never blocks: fails if there is not enough free space
+     *
+     * @param entry Serialized audit log
+     * @return False if the ring buffer is full
+     */
+    public boolean offer(final byte[] entry) {
+        var length = RECORD_HEADER_SIZE + entry.length;
+        var recordSize = align(length);
+        if (recordSize > capacity) {
+            return false;
+        }
+        while (true) {
+            var position = producerPosition.get();
+            var toEnd = capacity - offset(position);
+            var claimed = recordSize <= toEnd ? recordSize : toEnd + recordSize;
+            if (position + claimed - consumerPosition() > capacity) {
+                return false;
+            }
+            if (producerPosition.compareAndSet(position, position + claimed)) {
+                if (claimed != recordSize) {
+                    var padding = HEADER_SIZE + offset(position);
+                    buffer.putInt(padding + RECORD_TYPE_OFFSET, PADDING_TYPE);
+                    INT.setRelease(buffer, padding, toEnd);
+                }
+                var record = HEADER_SIZE + offset(position + claimed - recordSize);
+                buffer.putInt(record + RECORD_TYPE_OFFSET, AUDIT_LOG_TYPE);
+                buffer.put(record + RECORD_HEADER_SIZE, entry);
+                INT.setRelease(buffer, record, length);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Get the number of bytes written and not consumed yet
+     *
+     * @return Used bytes
+     */
+    public long size() {
+        return producerPosition.get() - consumerPosition();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * Find the end of the records not consumed yet and clear the rest of the data region
+     */
+    protected void recover() {
+        var consumer = consumerPosition();
+        var position = consumer;
+        while (position - consumer < capacity) {
+            var length = (int) INT.getAcquire(buffer, HEADER_SIZE + offset(position));
+            if (length <= 0 || length > capacity - offset(position)) {
+                break;
+            }
+            position += align(length);
+        }
+        producerPosition.set(position);
+        for (var cleared = position; cleared < consumer + capacity; cleared += ALIGNMENT) {
+            buffer.putLong(HEADER_SIZE + offset(cleared), 0L);
+        }
+    }
+
+    /**
+     * Get the consumer position published by the reader
+     *
+     * @return Consumer position
+     */
+    protected long consumerPosition() {
+        return (long) LONG.getAcquire(buffer, CONSUMER_POSITION_OFFSET);
+    }
+
+    /**
+     * Get the offset of a position in the data region
+     *
+     * @param position Position
+     * @return Offset
+     */
+    protected int offset(final long position) {
+        return (int) (position & (capacity - 1));
+    }
+
+    /**
+     * Align a record length on the record alignment
+     *
+     * @param length Record length
+     * @return Aligned length
+     */
+    static int align(final int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * Map a ring buffer file
+     *
+     * @param channel File channel
+     * @param capacity Capacity of the data region
+     * @return Mapped file, little endian
+     * @throws IOException If file can't be mapped
+     */
+    static MappedByteBuffer map(final FileChannel channel, final int capacity) throws IOException {
+        var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) HEADER_SIZE + capacity);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,118 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Reader of an {@link AuditLogRingBuffer}, for a shipper process on the same host. A single reader is supported.
+ *
+ * <pre>
+ * try (var reader = new AuditLogRingBufferReader(Path.of("/dev/shm/audit-logs.ring"))) {
+ *     while (running) {
+ *         if (reader.poll(json -&gt; ship(json), 100) == 0) {
+ *             Thread.onSpinWait();
+ *         }
+ *     }
+ * }
+ * </pre>
+ */
+public class AuditLogRingBufferReader implements Closeable {
+
+    /**
+     * File channel
+     */
+    protected final FileChannel channel;
+
+    /**
+     * Mapped file
+     */
+    protected final MappedByteBuffer buffer;
+
+    /**
+     * Capacity of the data region
+     */
+    protected final int capacity;
+
+    /**
+     * Position of the next record to read
+     */
+    protected long position;
+
+    /**
+     * Constructor. Map a ring buffer file created by the application and resume from its consumer position
+     *
+     * @param path Path of the ring buffer file
+     * @throws IOException If file can't be mapped or isn't a ring buffer
+     */
+    public AuditLogRingBufferReader(final Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < AuditLogRingBuffer.HEADER_SIZE) {
+            channel.close();
+            throw new IOException("Not an audit log ring buffer: " + path);
+        }
+        var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, AuditLogRingBuffer.HEADER_SIZE)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != AuditLogRingBuffer.MAGIC
+            || header.getInt(AuditLogRingBuffer.VERSION_OFFSET) != AuditLogRingBuffer.VERSION
+            || channel.size() != (long) AuditLogRingBuffer.HEADER_SIZE
+                + header.getInt(AuditLogRingBuffer.CAPACITY_OFFSET)) {
+            channel.close();
+            throw new IOException("Not an audit log ring buffer or unsupported version: " + path);
+        }
+        this.capacity = header.getInt(AuditLogRingBuffer.CAPACITY_OFFSET);
+        this.buffer = AuditLogRingBuffer.map(channel, capacity);
+        this.position = (long) AuditLogRingBuffer.LONG.getAcquire(buffer,
+            AuditLogRingBuffer.CONSUMER_POSITION_OFFSET);
+    }
+
+    /**
+     * Read available audit logs. Each record is released as soon as the handler returns
+     *
+     * @param handler Handler of the serialized audit logs
+     * @param limit Maximum number of audit logs to read
+     * @return Number of audit logs read
+     */
+    public int poll(final Consumer<byte[]> handler, final int limit) {
+        var count = 0;
+        while (count < limit) {
+            var record = AuditLogRingBuffer.HEADER_SIZE + (int) (position & (capacity - 1));
+            var length = (int) AuditLogRingBuffer.INT.getAcquire(buffer, record);
+            if (length <= 0) {
+                break;
+            }
+            if (buffer.getInt(record + AuditLogRingBuffer.RECORD_TYPE_OFFSET) == AuditLogRingBuffer.AUDIT_LOG_TYPE) {
+                var entry = new byte[length - AuditLogRingBuffer.RECORD_HEADER_SIZE];
+                buffer.get(record + AuditLogRingBuffer.RECORD_HEADER_SIZE, entry);
+                handler.accept(entry);
+                count++;
+            }
+            var recordSize = AuditLogRingBuffer.align(length);
+            for (var i = recordSize - AuditLogRingBuffer.ALIGNMENT; i >= 0; i -= AuditLogRingBuffer.ALIGNMENT) {
+                buffer.putLong(record + i, 0L);
+            }
+            position += recordSize;
+            AuditLogRingBuffer.LONG.setRelease(buffer, AuditLogRingBuffer.CONSUMER_POSITION_OFFSET, position);
+        }
+        return count;
+    }
+
+    /**
+     * Get the position of the next record to read
+     *
+     * @return Position
+     */
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,232 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsBatchConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsCompressionConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsTransportConfig;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.WebApplicationException;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Client of a node-local audit agent listening on a Unix domain socket.
+ *
+ * <p>Each payload is sent as a frame: its length + 1 (int, big endian), flags (byte) then the payload. Flags: 1 if
+ * the payload is newline delimited JSON (a JSON object or array otherwise), 2 if gzip compressed, 4 if deflate
+ * compressed. The agent acknowledges each frame with an HTTP status code (short, big endian): 2xx if accepted, 429 or
+ * 5xx to have it retried later, 4xx if rejected. Connections are reused for the next frames.</p>
+ *
+ * <p>Frames are exchanged with blocking I/O on dedicated threads, one per connection at most. A connection is claimed
+ * either by the exchange, once acknowledged, or by the timeout, which closes it: a connection whose acknowledgement
+ * timed out is never reused.</p>
+ */
+public class AuditLogSocketClient implements Closeable {
+
+    /**
+     * Flag of newline delimited JSON payloads
+     */
+    public static final byte NDJSON_FLAG = 1;
+
+    /**
+     * Flag of gzip compressed payloads
+     */
+    public static final byte GZIP_FLAG = 2;
+
+    /**
+     * Flag of deflate compressed payloads
+     */
+    public static final byte DEFLATE_FLAG = 4;
+
+    /**
+     * Size of a frame header (length and flags)
+     */
+    private static final int FRAME_HEADER_SIZE = Integer.BYTES + 1;
+
+    /**
+     * Prefix of the names of the threads exchanging frames
+     */
+    private static final String THREAD_NAME_PREFIX = "audit-logs-socket-";
+
+    /**
+     * Maximum number of frames waiting for a thread, if not configured
+     */
+    private static final int DEFAULT_WAIT_QUEUE_SIZE = 1024;
+
+    /**
+     * Socket address
+     */
+    protected final UnixDomainSocketAddress address;
+
+    /**
+     * Maximum time to wait for the acknowledgement of a frame
+     */
+    protected final Duration timeout;
+
+    /**
+     * Maximum number of idle connections kept open
+     */
+    protected final int maxIdle;
+
+    /**
+     * Idle connections
+     */
+    protected final Deque<SocketChannel> idle = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Executor exchanging frames, bounded by the maximum number of connections and of waiting frames
+     */
+    protected final ThreadPoolExecutor executor;
+
+    /**
+     * Constructor
+     *
+     * @param path Socket path
+     * @param config Transport configuration: acknowledgement timeout, maximum number of connections and of frames
+     * waiting for a connection
+     */
+    public AuditLogSocketClient(final Path path, final AuditLogsTransportConfig config) {
+        this.address = UnixDomainSocketAddress.of(path);
+        this.timeout = config.readTimeout();
+        this.maxIdle = config.maxPoolSize();
+        var threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(config.maxPoolSize(), config.maxPoolSize(), 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(config.maxWaitQueueSize() < 0 ? DEFAULT_WAIT_QUEUE_SIZE
+                : Math.max(config.maxWaitQueueSize(), 1)),
+            runnable -> {
+                var thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Send a payload on a thread of the client and wait for its acknowledgement
+     *
+     * @param payload Payload
+     * @return A void uni, failed with a {@link WebApplicationException} if the payload isn't accepted, or with a
+     * {@link java.util.concurrent.RejectedExecutionException} if too many frames are waiting for a connection
+     */
+    public Uni<Void> send(final AuditLogPayload payload) {
+        var inFlight = new AtomicReference<SocketChannel>();
+        return Uni.createFrom().<Void>item(() -> {
+            exchange(payload, inFlight);
+            return null;
+        })
+            .runSubscriptionOn(executor)
+            .ifNoItem()
+            .after(timeout)
+            .failWith(() -> new TimeoutException("No acknowledgement from audit agent " + address))
+            .onFailure(TimeoutException.class)
+            .invoke(() -> closeQuietly(inFlight.getAndSet(null)));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        SocketChannel channel;
+        while ((channel = idle.pollFirst()) != null) {
+            closeQuietly(channel);
+        }
+    }
+
+    /**
+     * Write a frame and read its acknowledgement. The connection is reused unless an I/O error occurred or the
+     * acknowledgement timed out
+     *
+     * @param payload Payload
+     * @param inFlight Holder of the connection in use, claimed by the timeout to close it
+     * @throws UncheckedIOException If frame can't be sent
+     * @throws WebApplicationException If payload isn't accepted
+     */
+    protected void exchange(final AuditLogPayload payload, final AtomicReference<SocketChannel> inFlight) {
+        SocketChannel channel = null;
+        int status;
+        try {
+            channel = idle.pollFirst();
+            if (channel == null) {
+                channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+                channel.connect(address);
+            }
+            inFlight.set(channel);
+            var header = ByteBuffer.allocate(FRAME_HEADER_SIZE)
+                .putInt(payload.body().length + 1)
+                .put(flags(payload))
+                .flip();
+            var body = ByteBuffer.wrap(payload.body());
+            while (header.hasRemaining() || body.hasRemaining()) {
+                channel.write(new ByteBuffer[] {header, body});
+            }
+            var acknowledgement = ByteBuffer.allocate(Short.BYTES);
+            while (acknowledgement.hasRemaining()) {
+                if (channel.read(acknowledgement) < 0) {
+                    throw new EOFException("Connection closed by audit agent " + address);
+                }
+            }
+            status = acknowledgement.flip().getShort();
+        } catch (IOException ex) {
+            inFlight.set(null);
+            closeQuietly(channel);
+            throw new UncheckedIOException(ex);
+        }
+        if (inFlight.getAndSet(null) == null) {
+            // Claimed and closed by the timeout
+            return;
+        }
+        if (idle.size() < maxIdle) {
+            idle.addFirst(channel);
+        } else {
+            closeQuietly(channel);
+        }
+        if (status < 200 || status >= 300) {
+            throw new WebApplicationException("Audit agent response: " + status, status);
+        }
+    }
+
+    /**
+     * Get the flags of a payload
+     *
+     * @param payload Payload
+     * @return Flags
+     */
+    protected static byte flags(final AuditLogPayload payload) {
+        var flags = AuditLogsBatchConfig.Format.NDJSON.contentType().equals(payload.contentType()) ? NDJSON_FLAG : 0;
+        if (AuditLogsCompressionConfig.Algorithm.GZIP.contentEncoding().equals(payload.contentEncoding())) {
+            flags |= GZIP_FLAG;
+        } else if (AuditLogsCompressionConfig.Algorithm.DEFLATE.contentEncoding().equals(payload.contentEncoding())) {
+            flags |= DEFLATE_FLAG;
+        }
+        return flags;
+    }
+
+    /**
+     * Close a connection, ignoring errors
+     *
+     * @param channel Connection, may be null
+     */
+    protected static void closeQuietly(final SocketChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                Loggers.AUDIT_LOGS.debug("Error while closing audit agent connection", ex);
+            }
+        }
+    }
+}
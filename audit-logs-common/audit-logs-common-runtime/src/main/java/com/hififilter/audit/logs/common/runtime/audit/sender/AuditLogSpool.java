@@ -0,0 +1,323 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsSpoolConfig;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only disk spool of serialized audit logs.
+ *
+ * <p>Audit logs are written in segment files named after the offset of their first record. A record is the length of
+ * the audit log followed by its bytes. The offset of the first unsent audit log is saved in a checkpoint file, and
+ * segments containing only sent audit logs are deleted.</p>
+ *
+ * <p>Audit logs are appended by a single writer and read then committed by a single shipper.</p>
+ */
+public class AuditLogSpool implements Closeable {
+
+    /**
+     * Extension of segment files
+     */
+    private static final String SEGMENT_EXTENSION = ".log";
+
+    /**
+     * Name of the checkpoint file
+     */
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    /**
+     * Size of a record header (audit log length)
+     */
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES;
+
+    /**
+     * Spool configuration
+     */
+    protected final AuditLogsSpoolConfig config;
+
+    /**
+     * Spool directory
+     */
+    protected final Path directory;
+
+    /**
+     * Segment files by offset of their first record
+     */
+    protected final NavigableMap<Long, FileChannel> segments = new ConcurrentSkipListMap<>();
+
+    /**
+     * Checkpoint file
+     */
+    protected final FileChannel checkpoint;
+
+    /**
+     * Offset of the first unsent audit log
+     */
+    protected volatile long readOffset;
+
+    /**
+     * Offset of the end of the spool
+     */
+    protected volatile long writeOffset;
+
+    /**
+     * Number of unsent audit logs
+     */
+    protected volatile int count;
+
+    /**
+     * Constructor. Open the spool and recover its state from the segment and checkpoint files
+     *
+     * @param config Spool configuration
+     * @param directory Spool directory
+     * @throws IOException If spool files can't be opened
+     */
+    public AuditLogSpool(final AuditLogsSpoolConfig config, final Path directory) throws IOException {
+        this.config = config;
+        this.directory = Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (var file : files.filter(path -> path.toString().endsWith(SEGMENT_EXTENSION)).toList()) {
+                var name = file.getFileName().toString();
+                segments.put(
+                    Long.parseLong(name.substring(0, name.length() - SEGMENT_EXTENSION.length())),
+                    FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                );
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.put(0L, openSegment(0L));
+        }
+        var last = segments.lastEntry();
+        writeOffset = last.getKey() + recover(last.getValue());
+        checkpoint = FileChannel.open(directory.resolve(CHECKPOINT_FILE), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        var offset = ByteBuffer.allocate(Long.BYTES);
+        readOffset = checkpoint.read(offset, 0) == Long.BYTES ? offset.getLong(0) : 0L;
+        readOffset = Math.min(Math.max(readOffset, segments.firstKey()), writeOffset);
+        count = count(readOffset, writeOffset);
+    }
+
+    /**
+     * Append serialized audit logs to the spool, in order, and force them to the storage device once if sync is
+     * enabled. Audit logs which don't fit in the spool are not appended
+     *
+     * @param entries Serialized audit logs
+     * @return Number of audit logs appended, less than the number of audit logs if the spool is full
+     * @throws IOException If audit logs can't be written
+     */
+    public synchronized int append(final List<byte[]> entries) throws IOException {
+        var appended = 0;
+        FileChannel written = null;
+        for (var entry : entries) {
+            var recordSize = RECORD_HEADER_SIZE + entry.length;
+            if (writeOffset - readOffset + recordSize > config.maxSize()) {
+                break;
+            }
+            var segment = segments.lastEntry();
+            var position = writeOffset - segment.getKey();
+            if (position > 0 && position + recordSize > config.segmentSize()) {
+                if (config.sync()) {
+                    segment.getValue().force(false);
+                }
+                segments.put(writeOffset, openSegment(writeOffset));
+                segment = segments.lastEntry();
+            }
+            var buffers = new ByteBuffer[] {ByteBuffer.allocate(RECORD_HEADER_SIZE).putInt(0, entry.length),
+                ByteBuffer.wrap(entry)};
+            while (buffers[1].hasRemaining()) {
+                segment.getValue().write(buffers);
+            }
+            written = segment.getValue();
+            writeOffset += recordSize;
+            count++;
+            appended++;
+        }
+        if (config.sync() && written != null) {
+            written.force(false);
+        }
+        return appended;
+    }
+
+    /**
+     * Read unsent audit logs, starting from the checkpoint. At least one audit log is read if the spool is not empty
+     *
+     * @param maxCount Maximum number of audit logs to read
+     * @param maxBytes Maximum size in bytes of the audit logs to read
+     * @return Audit logs read and offset of the next audit log
+     * @throws IOException If audit logs can't be read
+     */
+    public Entries read(final int maxCount, final long maxBytes) throws IOException {
+        var entries = new ArrayList<byte[]>();
+        var offset = readOffset;
+        var end = writeOffset;
+        var bytes = 0L;
+        var header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        while (offset < end && entries.size() < maxCount) {
+            var segment = segments.floorEntry(offset);
+            var position = offset - segment.getKey();
+            readFully(segment.getValue(), header.clear(), position);
+            var length = header.getInt(0);
+            if (!entries.isEmpty() && bytes + length > maxBytes) {
+                break;
+            }
+            var entry = new byte[length];
+            readFully(segment.getValue(), ByteBuffer.wrap(entry), position + RECORD_HEADER_SIZE);
+            entries.add(entry);
+            bytes += length;
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return new Entries(entries, offset);
+    }
+
+    /**
+     * Acknowledge audit logs sent: save the checkpoint and delete segments containing only sent audit logs
+     *
+     * @param entries Audit logs sent, as read from the spool
+     * @throws IOException If checkpoint can't be written
+     */
+    public synchronized void commit(final Entries entries) throws IOException {
+        var offset = entries.end();
+        checkpoint.write(ByteBuffer.allocate(Long.BYTES).putLong(0, offset), 0);
+        if (config.sync()) {
+            checkpoint.force(false);
+        }
+        readOffset = offset;
+        count -= entries.entries().size();
+        var sent = segments.headMap(segments.floorKey(offset), false);
+        for (var segment : sent.entrySet()) {
+            segment.getValue().close();
+            Files.deleteIfExists(segmentPath(segment.getKey()));
+        }
+        sent.clear();
+    }
+
+    /**
+     * Get size in bytes of unsent audit logs
+     *
+     * @return Size in bytes
+     */
+    public long size() {
+        return writeOffset - readOffset;
+    }
+
+    /**
+     * Get number of unsent audit logs
+     *
+     * @return Number of audit logs
+     */
+    public int count() {
+        return count;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (var segment : segments.values()) {
+            segment.close();
+        }
+        checkpoint.close();
+    }
+
+    /**
+     * Count the records between two offsets
+     *
+     * @param from Offset of the first record
+     * @param to Offset following the last record
+     * @return Number of records
+     * @throws IOException If segments can't be read
+     */
+    protected int count(final long from, final long to) throws IOException {
+        var records = 0;
+        var header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        for (var offset = from; offset < to; records++) {
+            var segment = segments.floorEntry(offset);
+            readFully(segment.getValue(), header.clear(), offset - segment.getKey());
+            offset += RECORD_HEADER_SIZE + header.getInt(0);
+        }
+        return records;
+    }
+
+    /**
+     * Open a new segment file
+     *
+     * @param offset Offset of the first record of the segment
+     * @return Segment file
+     * @throws IOException If segment can't be created
+     */
+    protected FileChannel openSegment(final long offset) throws IOException {
+        return FileChannel.open(segmentPath(offset), StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Get path of a segment file
+     *
+     * @param offset Offset of the first record of the segment
+     * @return Segment path
+     */
+    protected Path segmentPath(final long offset) {
+        return directory.resolve(String.format("%020d%s", offset, SEGMENT_EXTENSION));
+    }
+
+    /**
+     * Find the end of the last complete record of a segment and truncate a record partially written before a crash
+     *
+     * @param segment Segment file
+     * @return Size of the segment
+     * @throws IOException If segment can't be read
+     */
+    protected static long recover(final FileChannel segment) throws IOException {
+        var size = segment.size();
+        var header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        var position = 0L;
+        while (position + RECORD_HEADER_SIZE <= size) {
+            readFully(segment, header.clear(), position);
+            var length = header.getInt(0);
+            if (length < 0 || position + RECORD_HEADER_SIZE + length > size) {
+                break;
+            }
+            position += RECORD_HEADER_SIZE + length;
+        }
+        if (position < size) {
+            segment.truncate(position);
+        }
+        segment.position(position);
+        return position;
+    }
+
+    /**
+     * Read bytes from a file until the buffer is full
+     *
+     * @param file File
+     * @param buffer Buffer
+     * @param position Position of the first byte to read
+     * @throws IOException If file can't be read or is too short
+     */
+    protected static void readFully(final FileChannel file, final ByteBuffer buffer, final long position)
+        throws IOException {
+        while (buffer.hasRemaining()) {
+            if (file.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of audit log spool segment");
+            }
+        }
+    }
+
+    /**
+     * Audit logs read from the spool
+     *
+     * @param entries Serialized audit logs
+     * @param end Offset of the audit log following the last one read
+     */
+    public record Entries(List<byte[]> entries, long end) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsTransportConfig;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import jakarta.ws.rs.ext.ContextResolver;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.rest.client.RestClientBuilder;
+import org.jboss.resteasy.reactive.client.api.QuarkusRestClientProperties;
+
+/**
+ * HTTP transport of the audit log endpoints: rest client builder or Vert.x HTTP client options configured from the
+ * transport configuration
+ */
+public final class AuditLogTransport {
+
+    /**
+     * Private constructor
+     */
+    private AuditLogTransport() {
+    }
+
+    /**
+     * Create a rest client builder of an endpoint.<br />
+     *
+     * <p>Pool size, keep-alive and connect timeout are set as rest client properties because the rest client
+     * overrides them in the HTTP client options. Other HTTP client options are provided by a context resolver.</p>
+     *
+     * @param uri Endpoint URI
+     * @param config Transport configuration
+     * @return Rest client builder
+     */
+    public static RestClientBuilder restClientBuilder(final String uri, final AuditLogsTransportConfig config) {
+        return RestClientBuilder.newBuilder()
+            .baseUri(URI.create(uri))
+            .connectTimeout(config.connectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+            .readTimeout(config.readTimeout().toMillis(), TimeUnit.MILLISECONDS)
+            .property(QuarkusRestClientProperties.CONNECTION_POOL_SIZE, config.maxPoolSize())
+            .property(QuarkusRestClientProperties.KEEP_ALIVE_ENABLED, config.keepAlive())
+            .property(QuarkusRestClientProperties.CONNECTION_TTL, (int) config.keepAliveTimeout().toSeconds())
+            .register(new HttpClientOptionsResolver(httpClientOptions(config)));
+    }
+
+    /**
+     * Create the options of a Vert.x HTTP client
+     *
+     * @param config Transport configuration
+     * @return HTTP client options
+     */
+    public static HttpClientOptions vertxHttpClientOptions(final AuditLogsTransportConfig config) {
+        return httpClientOptions(config)
+            .setConnectTimeout((int) config.connectTimeout().toMillis())
+            .setMaxPoolSize(config.maxPoolSize())
+            .setKeepAlive(config.keepAlive())
+            .setKeepAliveTimeout((int) config.keepAliveTimeout().toSeconds())
+            .setHttp2KeepAliveTimeout((int) config.keepAliveTimeout().toSeconds());
+    }
+
+    /**
+     * Create the HTTP client options not covered by rest client properties
+     *
+     * @param config Transport configuration
+     * @return HTTP client options
+     */
+    private static HttpClientOptions httpClientOptions(final AuditLogsTransportConfig config) {
+        var options = new HttpClientOptions()
+            .setMaxWaitQueueSize(config.maxWaitQueueSize())
+            .setPipelining(config.pipelining())
+            .setPipeliningLimit(config.pipeliningLimit());
+        config.idleTimeout().ifPresent(idleTimeout -> options
+            .setIdleTimeout((int) idleTimeout.toMillis())
+            .setIdleTimeoutUnit(TimeUnit.MILLISECONDS));
+        if (config.http2()) {
+            options.setProtocolVersion(HttpVersion.HTTP_2)
+                .setUseAlpn(true)
+                .setAlpnVersions(List.of(HttpVersion.HTTP_2, HttpVersion.HTTP_1_1))
+                .setHttp2ClearTextUpgrade(config.http2ClearTextUpgrade())
+                .setHttp2MultiplexingLimit(config.http2MaxConcurrentStreams());
+        }
+        return options;
+    }
+
+    /**
+     * Context resolver of the HTTP client options. Declared as a class (not a lambda) so the rest client can resolve
+     * its type argument
+     *
+     * @param options HTTP client options
+     */
+    private record HttpClientOptionsResolver(HttpClientOptions options) implements ContextResolver<HttpClientOptions> {
+
+        @Override
+        public HttpClientOptions getContext(final Class<?> type) {
+            return options;
+        }
+    }
+}
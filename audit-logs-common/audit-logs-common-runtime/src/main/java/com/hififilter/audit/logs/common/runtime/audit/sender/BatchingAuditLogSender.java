@@ -0,0 +1,249 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsBatchConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogSender;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.smallrye.mutiny.Uni;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Batching audit log sender. Accumulate serialized audit logs and send them in a single payload when the max count,
+ * max bytes or max linger threshold is reached. If adaptive sizing is enabled, the count and linger thresholds are
+ * adjusted to the round-trip time and failures of the batches.
+ */
+public class BatchingAuditLogSender implements AuditLogSender, AuditLogEntrySender {
+
+    /**
+     * Name of the thread flushing batches on linger timeout
+     */
+    private static final String FLUSH_THREAD_NAME = "audit-logs-batch";
+
+    /**
+     * Batch configuration
+     */
+    protected final AuditLogsBatchConfig config;
+
+    /**
+     * Audit log encoder
+     */
+    protected final AuditLogEncoder encoder;
+
+    /**
+     * Sender of batch payloads
+     */
+    protected final AuditLogPayloadSender payloadSender;
+
+    /**
+     * Adaptive batch controller. Null if adaptive batch sizing is disabled
+     */
+    protected final AuditLogBatchController controller;
+
+    /**
+     * Scheduler used to flush batches on linger timeout
+     */
+    protected final ScheduledExecutorService scheduler;
+
+    /**
+     * Serialized audit logs of the current batch
+     */
+    protected List<byte[]> entries = new ArrayList<>();
+
+    /**
+     * Size in bytes of the current batch
+     */
+    protected int bytes;
+
+    /**
+     * Linger timeout task of the current batch
+     */
+    protected ScheduledFuture<?> lingerTask;
+
+    /**
+     * Number of audit logs in payloads being sent
+     */
+    protected final AtomicInteger shipping = new AtomicInteger();
+
+    /**
+     * Number of audit logs in payloads which failed to be sent
+     */
+    protected final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param name Batch name, used in metrics
+     * @param config Batch configuration
+     * @param encoder Audit log encoder
+     * @param payloadSender Sender of batch payloads
+     */
+    public BatchingAuditLogSender(final String name, final AuditLogsBatchConfig config, final AuditLogEncoder encoder,
+        final AuditLogPayloadSender payloadSender) {
+        this.config = config;
+        this.encoder = encoder;
+        this.payloadSender = payloadSender;
+        this.controller = config.adaptive().enabled() ? new AuditLogBatchController(name, config) : null;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, FLUSH_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog) {
+        return send(auditLog, encoder.encode(auditLog));
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog, final byte[] entry) {
+        var payloads = new ArrayList<AuditLogPayload>(2);
+        synchronized (this) {
+            // Keep the batch under max bytes: the current batch is sent before adding an entry which overflows it
+            if (!entries.isEmpty() && bytes + entry.length > config.maxBytes()) {
+                payloads.add(drain());
+            }
+            entries.add(entry);
+            bytes += entry.length;
+            if (entries.size() >= maxCount() || bytes >= config.maxBytes()) {
+                payloads.add(drain());
+            } else if (lingerTask == null) {
+                lingerTask = scheduler.schedule(this::flush, maxLinger(), TimeUnit.MILLISECONDS);
+            }
+        }
+        payloads.forEach(this::ship);
+        return Uni.createFrom().voidItem();
+    }
+
+    /**
+     * Send the current batch whatever its size
+     */
+    public void flush() {
+        AuditLogPayload payload;
+        synchronized (this) {
+            payload = entries.isEmpty() ? null : drain();
+        }
+        if (payload != null) {
+            ship(payload);
+        }
+    }
+
+    /**
+     * Send the current batch and stop the linger scheduler
+     */
+    public void close() {
+        flush();
+        scheduler.shutdown();
+    }
+
+    /**
+     * Get number of audit logs in the current batch or being sent
+     *
+     * @return Pending audit logs
+     */
+    public int pending() {
+        synchronized (this) {
+            return entries.size() + shipping.get();
+        }
+    }
+
+    /**
+     * Send the current batch and wait until the payloads being sent are acknowledged, then stop the linger scheduler
+     *
+     * @param deadline Deadline, in {@link System#nanoTime()} time, after which pending audit logs are abandoned
+     * @return Number of abandoned audit logs: still pending at the deadline or failed to be sent meanwhile
+     */
+    public long close(final long deadline) {
+        var failed = failures.get();
+        close();
+        AuditLogDrain.await(this::pending, deadline);
+        return pending() + failures.get() - failed;
+    }
+
+    /**
+     * Get current maximum number of audit logs in a batch
+     *
+     * @return Batch count threshold
+     */
+    protected int maxCount() {
+        return controller != null ? controller.count() : config.maxCount();
+    }
+
+    /**
+     * Get current maximum time an audit log waits in a batch
+     *
+     * @return Batch linger threshold in ms
+     */
+    protected long maxLinger() {
+        return controller != null ? controller.linger() : config.maxLinger().toMillis();
+    }
+
+    /**
+     * Build the payload of the current batch and start a new one. Must be called with lock held
+     *
+     * @return Payload of the current batch
+     */
+    protected AuditLogPayload drain() {
+        if (lingerTask != null) {
+            lingerTask.cancel(false);
+            lingerTask = null;
+        }
+        var payload = encoder.encode(entries, config.format());
+        entries = new ArrayList<>();
+        bytes = 0;
+        return payload;
+    }
+
+    /**
+     * Send a payload without waiting for the response
+     *
+     * @param payload Batch payload
+     */
+    protected void ship(final AuditLogPayload payload) {
+        shipping.addAndGet(payload.count());
+        var start = System.nanoTime();
+        AuditLogsMetrics.record(Uni.createFrom().deferred(() -> payloadSender.send(payload)), payload.count())
+            .subscribe()
+            .with(
+                ignored -> {
+                    record(payload, start, false);
+                    shipping.addAndGet(-payload.count());
+                    Loggers.AUDIT_LOGS.trace("Batch of {} audit logs sent", payload::count);
+                },
+                error -> {
+                    failures.addAndGet(payload.count());
+                    shipping.addAndGet(-payload.count());
+                    if (error instanceof AuditLogDroppedException) {
+                        // Not sent: no latency to adapt to
+                        Loggers.AUDIT_LOGS.debug("Batch of {} audit logs dropped: {}", payload::count,
+                            error::getMessage);
+                    } else {
+                        record(payload, start, true);
+                        Loggers.AUDIT_LOGS.error("Error while sending batch of {} audit logs", payload::count,
+                            () -> error);
+                    }
+                }
+            );
+    }
+
+    /**
+     * Adjust the adaptive thresholds to the outcome of a batch
+     *
+     * @param payload Batch payload
+     * @param start Time the batch was sent, in {@link System#nanoTime()} time
+     * @param failure True if the batch failed
+     */
+    protected void record(final AuditLogPayload payload, final long start, final boolean failure) {
+        if (controller != null) {
+            controller.record(payload.count(), System.nanoTime() - start, failure);
+        }
+    }
+}
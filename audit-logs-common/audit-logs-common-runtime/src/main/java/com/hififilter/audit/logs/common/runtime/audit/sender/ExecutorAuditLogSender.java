@@ -0,0 +1,125 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsExecutorConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogSender;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.smallrye.mutiny.Uni;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor audit log sender. Serialize and send audit logs on a dedicated bounded pool of threads, isolated from the
+ * event loops handling requests. Audit logs are dropped when the executor queue is full.
+ */
+public class ExecutorAuditLogSender implements AuditLogSender {
+
+    /**
+     * Prefix of the names of the executor threads
+     */
+    private static final String THREAD_NAME_PREFIX = "audit-logs-executor-";
+
+    /**
+     * Sender used to deliver audit logs
+     */
+    protected final AuditLogSender delegate;
+
+    /**
+     * Executor metrics
+     */
+    protected final AuditLogsMetrics.Executor metrics;
+
+    /**
+     * Executor
+     */
+    protected final ThreadPoolExecutor executor;
+
+    /**
+     * Constructor. Start the executor threads
+     *
+     * @param name Executor name, used in metrics and thread names
+     * @param config Executor configuration
+     * @param delegate Sender used to deliver audit logs
+     */
+    public ExecutorAuditLogSender(final String name, final AuditLogsExecutorConfig config,
+        final AuditLogSender delegate) {
+        this.delegate = delegate;
+        this.metrics = AuditLogsMetrics.executor(name);
+        metrics.threads().set(config.threads());
+        var threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(config.threads(), config.threads(), 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(config.queueSize()), runnable -> {
+                var thread = new Thread(runnable, THREAD_NAME_PREFIX + name + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }) {
+
+            @Override
+            protected void beforeExecute(final Thread thread, final Runnable runnable) {
+                metrics.active().incrementAndGet();
+                metrics.queued().set(getQueue().size());
+            }
+
+            @Override
+            protected void afterExecute(final Runnable runnable, final Throwable error) {
+                metrics.active().decrementAndGet();
+            }
+        };
+        executor.prestartAllCoreThreads();
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog) {
+        return Uni.createFrom().deferred(() -> delegate.send(auditLog))
+            .runSubscriptionOn(this::execute)
+            .onFailure(RejectedExecutionException.class)
+            .recoverWithItem(() -> {
+                metrics.rejected().increment();
+                AuditLogsMetrics.SEND_DROPPED_COUNTER.increment();
+                Loggers.AUDIT_LOGS.warn("Audit log executor is full, audit log {} dropped", auditLog::uuid);
+                return null;
+            });
+    }
+
+    /**
+     * Get number of audit logs waiting for a thread or being handed to the sender
+     *
+     * @return Pending audit logs
+     */
+    public int pending() {
+        return executor.getQueue().size() + executor.getActiveCount();
+    }
+
+    /**
+     * Wait until the audit logs waiting for a thread are handed to the sender, then stop the executor
+     *
+     * @param deadline Deadline, in {@link System#nanoTime()} time, after which pending audit logs are abandoned
+     * @return Number of abandoned audit logs
+     */
+    public long close(final long deadline) {
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+                return 0;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return executor.shutdownNow().size();
+    }
+
+    /**
+     * Run a task on the executor
+     *
+     * @param task Task
+     * @throws RejectedExecutionException If the executor queue is full
+     */
+    protected void execute(final Runnable task) {
+        executor.execute(task);
+        metrics.queued().set(executor.getQueue().size());
+    }
+}
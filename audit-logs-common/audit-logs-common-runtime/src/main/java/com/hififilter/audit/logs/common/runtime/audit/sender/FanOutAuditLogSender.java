@@ -0,0 +1,263 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsAsyncConfig;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogSender;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.smallrye.mutiny.Uni;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Fan-out audit log sender. Send each audit log to all the sinks whose filter matches it.<br />
+ *
+ * <p>The audit log is serialized once, and the same bytes are handed to every sink. In asynchronous mode each sink
+ * has its own bounded queue (with priority lanes if enabled) drained by its own consumer thread, so a slow sink
+ * doesn't delay the others; in synchronous mode the audit log is sent to the sinks at the same time and the returned
+ * uni completes when all of them are done.</p>
+ */
+public class FanOutAuditLogSender implements AuditLogSender {
+
+    /**
+     * Prefix of the names of the consumer threads
+     */
+    private static final String CONSUMER_THREAD_NAME_PREFIX = "audit-logs-fan-out-";
+
+    /**
+     * Audit log encoder
+     */
+    protected final AuditLogEncoder encoder;
+
+    /**
+     * Lanes, one per sink
+     */
+    protected final List<Lane> lanes;
+
+    /**
+     * Constructor. Start a consumer thread per sink in asynchronous mode
+     *
+     * @param config Asynchronous send configuration (queue size and max in flight apply to each sink)
+     * @param encoder Audit log encoder
+     * @param sinks Sinks
+     */
+    public FanOutAuditLogSender(final AuditLogsAsyncConfig config, final AuditLogEncoder encoder,
+        final List<Sink> sinks) {
+        this.encoder = encoder;
+        this.lanes = sinks.stream().map(sink -> new Lane(config, sink)).toList();
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog) {
+        byte[] entry = null;
+        List<Uni<Void>> sends = null;
+        for (var lane : lanes) {
+            if (lane.sink.filter().test(auditLog)) {
+                if (entry == null) {
+                    entry = encoder.encode(auditLog);
+                }
+                var send = lane.send(auditLog, entry);
+                if (send != null) {
+                    if (sends == null) {
+                        sends = new ArrayList<>(lanes.size());
+                    }
+                    sends.add(send);
+                }
+            }
+        }
+        return sends == null ? Uni.createFrom().voidItem() : Uni.combine().all().unis(sends).discardItems();
+    }
+
+    /**
+     * Stop the consumer threads. Audit logs still in queues are discarded
+     */
+    public void close() {
+        lanes.forEach(Lane::close);
+    }
+
+    /**
+     * Get number of audit logs queued or being sent, summed over the sinks
+     *
+     * @return Pending audit logs
+     */
+    public int pending() {
+        return lanes.stream().mapToInt(lane -> lane.pending.get()).sum();
+    }
+
+    /**
+     * Wait until the queued audit logs are sent to all the sinks, then stop the consumer threads
+     *
+     * @param deadline Deadline, in {@link System#nanoTime()} time, after which pending audit logs are abandoned
+     * @return Number of abandoned audit logs, summed over the sinks
+     */
+    public long close(final long deadline) {
+        return lanes.stream().mapToLong(lane -> lane.close(deadline)).sum();
+    }
+
+    /**
+     * Sink of the fan-out
+     *
+     * @param name Sink name, used in logs and thread names
+     * @param filter Filter of the audit logs sent to the sink
+     * @param sender Sender of the sink
+     */
+    public record Sink(String name, Predicate<AuditLog> filter, AuditLogEntrySender sender) {
+    }
+
+    /**
+     * Audit log serialized for the sinks
+     *
+     * @param auditLog Audit log
+     * @param entry Audit log serialized to JSON
+     */
+    protected record Entry(AuditLog auditLog, byte[] entry) {
+    }
+
+    /**
+     * Delivery of audit logs to a sink, synchronously or through its own queue
+     */
+    protected static class Lane {
+
+        /**
+         * Sink
+         */
+        protected final Sink sink;
+
+        /**
+         * Queue of audit logs waiting to be sent to the sink. Null if asynchronous mode is disabled
+         */
+        protected final AuditLogQueue<Entry> queue;
+
+        /**
+         * Permits limiting the number of audit logs being sent to the sink at the same time
+         */
+        protected final Semaphore inFlight;
+
+        /**
+         * Consumer thread. Null if asynchronous mode is disabled
+         */
+        protected final Thread consumer;
+
+        /**
+         * Running flag of consumer thread
+         */
+        protected volatile boolean running;
+
+        /**
+         * Number of audit logs queued or being sent to the sink
+         */
+        protected final AtomicInteger pending = new AtomicInteger();
+
+        /**
+         * Number of audit logs which failed to be sent to the sink
+         */
+        protected final AtomicLong failures = new AtomicLong();
+
+        /**
+         * Constructor
+         *
+         * @param config Asynchronous send configuration
+         * @param sink Sink
+         */
+        protected Lane(final AuditLogsAsyncConfig config, final Sink sink) {
+            this.sink = sink;
+            if (config.enabled()) {
+                queue = new AuditLogQueue<>(sink.name(), config, Entry::auditLog);
+                inFlight = new Semaphore(config.maxInFlight());
+                running = true;
+                consumer = new Thread(this::consume, CONSUMER_THREAD_NAME_PREFIX + sink.name());
+                consumer.setDaemon(true);
+                consumer.start();
+            } else {
+                queue = null;
+                inFlight = null;
+                consumer = null;
+            }
+        }
+
+        /**
+         * Send an audit log to the sink, or queue it in asynchronous mode
+         *
+         * @param auditLog Audit log
+         * @param entry Audit log serialized to JSON
+         * @return A void uni, or null if the audit log is queued
+         */
+        protected Uni<Void> send(final AuditLog auditLog, final byte[] entry) {
+            if (queue == null) {
+                return Uni.createFrom().deferred(() -> sink.sender().send(auditLog, entry));
+            }
+            var dropped = queue.offer(new Entry(auditLog, entry));
+            if (dropped == null) {
+                pending.incrementAndGet();
+            } else {
+                Loggers.AUDIT_LOGS.warn("Audit log queue of sink {} is full, audit log {} dropped", sink::name,
+                    () -> dropped.auditLog().uuid());
+            }
+            return null;
+        }
+
+        /**
+         * Stop the consumer thread
+         */
+        protected void close() {
+            running = false;
+            if (consumer != null) {
+                consumer.interrupt();
+            }
+        }
+
+        /**
+         * Wait until the queued audit logs are sent to the sink, then stop the consumer thread
+         *
+         * @param deadline Deadline, in {@link System#nanoTime()} time, after which pending audit logs are abandoned
+         * @return Number of abandoned audit logs
+         */
+        protected long close(final long deadline) {
+            if (queue == null) {
+                return 0;
+            }
+            var failed = failures.get();
+            AuditLogDrain.await(pending::get, deadline);
+            close();
+            return pending.get() + failures.get() - failed;
+        }
+
+        /**
+         * Consumer loop: take audit logs from the queue and send them without waiting for the response
+         */
+        protected void consume() {
+            while (running) {
+                try {
+                    var entry = queue.take();
+                    inFlight.acquire();
+                    Uni.createFrom().deferred(() -> sink.sender().send(entry.auditLog(), entry.entry()))
+                        .subscribe()
+                        .with(
+                            ignored -> {
+                                inFlight.release();
+                                pending.decrementAndGet();
+                            },
+                            error -> {
+                                inFlight.release();
+                                failures.incrementAndGet();
+                                pending.decrementAndGet();
+                                if (error instanceof AuditLogDroppedException) {
+                                    Loggers.AUDIT_LOGS.debug("Audit log {} dropped by sink {}: {}",
+                                        () -> entry.auditLog().uuid(), sink::name, error::getMessage);
+                                } else {
+                                    Loggers.AUDIT_LOGS.error("Error while sending audit log {} to sink {}",
+                                        () -> entry.auditLog().uuid(), sink::name, () -> error);
+                                }
+                            }
+                        );
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
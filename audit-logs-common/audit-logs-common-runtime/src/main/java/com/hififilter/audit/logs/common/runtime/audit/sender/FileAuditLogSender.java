@@ -0,0 +1,479 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsFileConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogSender;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.smallrye.mutiny.Uni;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Rolling file audit log sender. Append audit logs as newline delimited JSON to a local file, rotated on size or
+ * age.<br />
+ *
+ * <p>Audit logs are queued and a dedicated writer appends them by batch through a write buffer, so sending never
+ * waits for the disk. The writer is never interrupted: an interrupt would close the file channel.</p>
+ */
+public class FileAuditLogSender implements AuditLogSender, AuditLogEntrySender {
+
+    /**
+     * Name of the thread writing audit logs
+     */
+    private static final String WRITER_THREAD_NAME = "audit-logs-file";
+
+    /**
+     * Extension of the files
+     */
+    private static final String EXTENSION = ".log";
+
+    /**
+     * Pattern of the timestamp of the rotated file names
+     */
+    private static final String ROTATION_PATTERN = "yyyyMMdd-HHmmss-SSS";
+
+    /**
+     * Regular expression of the timestamp of the rotated file names, matching {@link #ROTATION_PATTERN}
+     */
+    private static final String ROTATION_REGEX = "(\\d{8}-\\d{6}-\\d{3})";
+
+    /**
+     * Timestamp of the rotated file names
+     */
+    private static final DateTimeFormatter ROTATION_FORMAT = DateTimeFormatter.ofPattern(ROTATION_PATTERN)
+        .withZone(ZoneOffset.UTC);
+
+    /**
+     * Separator of the audit logs
+     */
+    private static final byte LINE_SEPARATOR = '\n';
+
+    /**
+     * Maximum number of audit logs written in a batch
+     */
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    /**
+     * Maximum time to wait for an audit log before checking rotation and fsync
+     */
+    private static final long POLL_TIMEOUT_IN_MS = 100;
+
+    /**
+     * Minimum time to wait on close for the writer to finish its current batch and close the active file, even if the
+     * deadline is over
+     */
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * File configuration
+     */
+    protected final AuditLogsFileConfig config;
+
+    /**
+     * Directory of the files
+     */
+    protected final Path directory;
+
+    /**
+     * Active file
+     */
+    protected final Path activeFile;
+
+    /**
+     * Names of the rotated files: prefix, timestamp, optional sequence number and extension. Other files of the
+     * directory are never deleted
+     */
+    protected final Pattern rotatedFileName;
+
+    /**
+     * Audit log encoder
+     */
+    protected final AuditLogEncoder encoder;
+
+    /**
+     * Audit logs waiting to be written
+     */
+    protected final BlockingQueue<byte[]> queue;
+
+    /**
+     * Write buffer
+     */
+    protected final ByteBuffer buffer;
+
+    /**
+     * Thread writing audit logs
+     */
+    protected final Thread writer;
+
+    /**
+     * False once the sender is closed
+     */
+    protected volatile boolean running = true;
+
+    /**
+     * Deadline of the drain on close, in {@link System#nanoTime()} time, after which the writer stops taking queued
+     * audit logs. No deadline until the sender is closed
+     */
+    protected volatile long deadline = Long.MAX_VALUE;
+
+    /**
+     * Number of audit logs queued or being written
+     */
+    protected final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Number of audit logs which failed to be written
+     */
+    protected final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Channel of the active file. Null if it couldn't be opened
+     */
+    protected FileChannel channel;
+
+    /**
+     * Size in bytes of the active file
+     */
+    protected long fileSize;
+
+    /**
+     * Time in ms when the active file was opened
+     */
+    protected long openedAt;
+
+    /**
+     * Time in ms of the last force to the storage device
+     */
+    protected long syncedAt;
+
+    /**
+     * True if audit logs were written since the last force to the storage device
+     */
+    protected boolean dirty;
+
+    /**
+     * Constructor. Open the active file and start the writer
+     *
+     * @param config File configuration
+     * @param directory Directory of the files
+     * @param encoder Audit log encoder
+     * @throws UncheckedIOException If the active file can't be opened
+     */
+    public FileAuditLogSender(final AuditLogsFileConfig config, final Path directory, final AuditLogEncoder encoder) {
+        this.config = config;
+        this.directory = directory;
+        this.activeFile = directory.resolve(config.prefix() + EXTENSION);
+        this.rotatedFileName = Pattern.compile(
+            Pattern.quote(config.prefix() + "-") + ROTATION_REGEX + "(?:-(\\d{1,18}))?" + Pattern.quote(EXTENSION));
+        this.encoder = encoder;
+        this.queue = new ArrayBlockingQueue<>(config.queueSize());
+        this.buffer = ByteBuffer.allocateDirect(config.bufferSize());
+        try {
+            Files.createDirectories(directory);
+            open();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.writer = new Thread(this::write, WRITER_THREAD_NAME);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog) {
+        return send(auditLog, encoder.encode(auditLog));
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog, final byte[] entry) {
+        pending.incrementAndGet();
+        if (!queue.offer(entry)) {
+            pending.decrementAndGet();
+            AuditLogsMetrics.SEND_DROPPED_COUNTER.increment();
+            Loggers.AUDIT_LOGS.warn("Audit log file queue is full, audit log dropped");
+        }
+        return Uni.createFrom().voidItem();
+    }
+
+    /**
+     * Get number of audit logs queued or being written
+     *
+     * @return Pending audit logs
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Stop the writer once queued audit logs are written or the deadline is over, and wait for it to finish its
+     * current batch and flush, force and close the active file
+     *
+     * @param deadline Deadline, in {@link System#nanoTime()} time, after which pending audit logs are abandoned
+     * @return Number of abandoned audit logs: still pending at the deadline or failed to be written meanwhile
+     */
+    public long close(final long deadline) {
+        var failed = failures.get();
+        this.deadline = deadline;
+        running = false;
+        AuditLogDrain.join(writer, Math.max(deadline, AuditLogDrain.deadline(CLOSE_TIMEOUT)));
+        return pending.get() + failures.get() - failed;
+    }
+
+    /**
+     * Write queued audit logs until the sender is closed and the queue is empty, or until the drain deadline is over
+     */
+    protected void write() {
+        var batch = new ArrayList<byte[]>(MAX_BATCH_SIZE);
+        while ((running || !queue.isEmpty()) && System.nanoTime() < deadline) {
+            try {
+                var first = queue.poll(POLL_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                    write(batch);
+                }
+                maintain();
+            } catch (IOException ex) {
+                AuditLogsMetrics.SEND_FAILED_COUNTER.add(batch.size());
+                failures.addAndGet(batch.size());
+                Loggers.AUDIT_LOGS.error("Error while writing audit logs to file {}", activeFile, ex);
+                reopen();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                pending.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+        try {
+            if (channel != null) {
+                flush();
+                if (config.fsync() != AuditLogsFileConfig.Fsync.NEVER) {
+                    force();
+                }
+                channel.close();
+            }
+        } catch (IOException ex) {
+            Loggers.AUDIT_LOGS.error("Error while closing audit log file {}", activeFile, ex);
+        }
+    }
+
+    /**
+     * Append a batch of audit logs to the active file, rotating it when it's full
+     *
+     * @param batch Serialized audit logs
+     * @throws IOException If audit logs can't be written
+     */
+    protected void write(final List<byte[]> batch) throws IOException {
+        if (channel == null) {
+            open();
+        }
+        for (var entry : batch) {
+            var size = entry.length + 1;
+            if (fileSize > 0 && fileSize + size > config.maxFileSize()) {
+                rotate();
+            }
+            if (buffer.remaining() < size) {
+                flush();
+            }
+            if (buffer.remaining() < size) {
+                // Larger than the buffer: written directly
+                writeFully(ByteBuffer.wrap(entry), ByteBuffer.wrap(new byte[] {LINE_SEPARATOR}));
+            } else {
+                buffer.put(entry).put(LINE_SEPARATOR);
+            }
+            fileSize += size;
+        }
+        flush();
+        if (config.fsync() == AuditLogsFileConfig.Fsync.BATCH) {
+            force();
+        }
+        AuditLogsMetrics.SEND_SUCCESS_COUNTER.add(batch.size());
+    }
+
+    /**
+     * Rotate the active file if it's too old, and force writes to the storage device if the fsync interval elapsed
+     *
+     * @throws IOException If the file can't be rotated or forced
+     */
+    protected void maintain() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        var now = System.currentTimeMillis();
+        if (fileSize > 0 && config.rotationInterval().isPresent()
+            && now - openedAt >= config.rotationInterval().get().toMillis()) {
+            rotate();
+        }
+        if (config.fsync() == AuditLogsFileConfig.Fsync.INTERVAL
+            && now - syncedAt >= config.fsyncInterval().toMillis()) {
+            force();
+        }
+    }
+
+    /**
+     * Open the active file, in append mode
+     *
+     * @throws IOException If the file can't be opened
+     */
+    protected void open() throws IOException {
+        channel = FileChannel.open(activeFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+        fileSize = channel.size();
+        openedAt = System.currentTimeMillis();
+        syncedAt = openedAt;
+    }
+
+    /**
+     * Close the active file after a write error. It's opened again on next write
+     */
+    protected void reopen() {
+        buffer.clear();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ex) {
+            Loggers.AUDIT_LOGS.debug("Error while closing audit log file {}", activeFile, ex);
+        }
+        channel = null;
+    }
+
+    /**
+     * Rename the active file with the current timestamp, open a new one and delete the oldest rotated files
+     *
+     * @throws IOException If the file can't be rotated
+     */
+    protected void rotate() throws IOException {
+        flush();
+        if (config.fsync() != AuditLogsFileConfig.Fsync.NEVER) {
+            force();
+        }
+        channel.close();
+        var timestamp = ROTATION_FORMAT.format(Instant.now());
+        var rotatedFile = directory.resolve(config.prefix() + "-" + timestamp + EXTENSION);
+        for (var i = 1; Files.exists(rotatedFile); i++) {
+            rotatedFile = directory.resolve(config.prefix() + "-" + timestamp + "-" + i + EXTENSION);
+        }
+        Files.move(activeFile, rotatedFile);
+        open();
+        if (config.maxFiles() > 0) {
+            deleteOldestFiles();
+        }
+    }
+
+    /**
+     * Delete the oldest rotated files beyond the maximum number of files
+     *
+     * @throws IOException If the directory can't be listed
+     */
+    protected void deleteOldestFiles() throws IOException {
+        List<Path> rotatedFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            rotatedFiles = files
+                .filter(file -> rotatedFileName.matcher(file.getFileName().toString()).matches())
+                .sorted(Comparator.comparing(this::rotationTimestamp).thenComparingLong(this::rotationSequence))
+                .toList();
+        }
+        for (var file : rotatedFiles.subList(0, Math.max(0, rotatedFiles.size() - config.maxFiles()))) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Get the timestamp of a rotated file, from its name
+     *
+     * @param file Rotated file
+     * @return Timestamp
+     */
+    protected String rotationTimestamp(final Path file) {
+        return rotation(file).group(1);
+    }
+
+    /**
+     * Get the sequence number of a rotated file, from its name: several files rotated in the same millisecond are
+     * suffixed with -1, -2... after the timestamp
+     *
+     * @param file Rotated file
+     * @return Sequence number, 0 if none
+     */
+    protected long rotationSequence(final Path file) {
+        var sequence = rotation(file).group(2);
+        return sequence == null ? 0 : Long.parseLong(sequence);
+    }
+
+    /**
+     * Match the name of a rotated file
+     *
+     * @param file Rotated file
+     * @return Matcher of the timestamp (group 1) and sequence number (group 2, null if none)
+     */
+    protected Matcher rotation(final Path file) {
+        var matcher = rotatedFileName.matcher(file.getFileName().toString());
+        matcher.matches();
+        return matcher;
+    }
+
+    /**
+     * Write the buffer to the active file
+     *
+     * @throws IOException If the buffer can't be written
+     */
+    protected void flush() throws IOException {
+        if (buffer.position() > 0) {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Force writes to the storage device
+     *
+     * @throws IOException If writes can't be forced
+     */
+    protected void force() throws IOException {
+        if (dirty) {
+            channel.force(false);
+            dirty = false;
+        }
+        syncedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Write buffers entirely to the active file
+     *
+     * @param buffers Buffers
+     * @throws IOException If buffers can't be written
+     */
+    protected void writeFully(final ByteBuffer... buffers) throws IOException {
+        for (var source : buffers) {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+        dirty = true;
+    }
+}
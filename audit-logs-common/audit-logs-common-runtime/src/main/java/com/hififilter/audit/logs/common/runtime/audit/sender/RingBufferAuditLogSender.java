@@ -0,0 +1,63 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogSender;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.smallrye.mutiny.Uni;
+import java.io.IOException;
+
+/**
+ * Ring buffer audit log sender. Write audit logs to a memory-mapped ring buffer consumed by a shipper process on the
+ * same host: no socket nor HTTP request on the application side.
+ */
+public class RingBufferAuditLogSender implements AuditLogSender, AuditLogEntrySender {
+
+    /**
+     * Ring buffer
+     */
+    protected final AuditLogRingBuffer ringBuffer;
+
+    /**
+     * Audit log encoder
+     */
+    protected final AuditLogEncoder encoder;
+
+    /**
+     * Constructor
+     *
+     * @param ringBuffer Ring buffer
+     * @param encoder Audit log encoder
+     */
+    public RingBufferAuditLogSender(final AuditLogRingBuffer ringBuffer, final AuditLogEncoder encoder) {
+        this.ringBuffer = ringBuffer;
+        this.encoder = encoder;
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog) {
+        return send(auditLog, encoder.encode(auditLog));
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog, final byte[] entry) {
+        if (ringBuffer.offer(entry)) {
+            AuditLogsMetrics.SEND_SUCCESS_COUNTER.increment();
+        } else {
+            AuditLogsMetrics.SEND_DROPPED_COUNTER.increment();
+            Loggers.AUDIT_LOGS.warn("Audit log ring buffer is full, audit log dropped");
+        }
+        return Uni.createFrom().voidItem();
+    }
+
+    /**
+     * Close the ring buffer. Audit logs not consumed yet stay in the file
+     */
+    public void close() {
+        try {
+            ringBuffer.close();
+        } catch (IOException ex) {
+            Loggers.AUDIT_LOGS.error("Error while closing audit log ring buffer", ex);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsBatchConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.AuditLogsSpoolConfig;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogSender;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.smallrye.mutiny.Uni;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spooling audit log sender. Append audit logs to a disk spool, a dedicated shipper sends them to the endpoint and
+ * acknowledges them once sent. Audit logs are kept on disk while the endpoint is slow or down.<br />
+ *
+ * <p>Audit logs are queued and a dedicated writer appends them to the spool by batch, so sending never waits for the
+ * disk. Neither the writer nor the shipper is ever interrupted: an interrupt would close the spool files. They're
+ * stopped by flags and unparked instead.</p>
+ */
+public class SpoolingAuditLogSender implements AuditLogSender, AuditLogEntrySender {
+
+    /**
+     * Name of the thread shipping audit logs
+     */
+    private static final String SHIPPER_THREAD_NAME = "audit-logs-spool";
+
+    /**
+     * Name of the thread writing audit logs to the spool
+     */
+    private static final String WRITER_THREAD_NAME = "audit-logs-spool-writer";
+
+    /**
+     * Maximum number of audit logs written in a batch
+     */
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    /**
+     * Maximum time to wait for an audit log to write
+     */
+    private static final long POLL_TIMEOUT_IN_MS = 100;
+
+    /**
+     * Minimum time to wait on close for queued audit logs to be written to the spool and for the shipper to stop, even
+     * if the deadline is over
+     */
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * Maximum time to wait for the endpoint response
+     */
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Maximum time to wait before checking the spool for new audit logs
+     */
+    private static final long IDLE_TIMEOUT_IN_MS = 1000;
+
+    /**
+     * Spool configuration
+     */
+    protected final AuditLogsSpoolConfig config;
+
+    /**
+     * Batch configuration (audit logs are shipped by batch if enabled)
+     */
+    protected final AuditLogsBatchConfig batchConfig;
+
+    /**
+     * Audit log encoder
+     */
+    protected final AuditLogEncoder encoder;
+
+    /**
+     * Sender of payloads
+     */
+    protected final AuditLogPayloadSender payloadSender;
+
+    /**
+     * Disk spool
+     */
+    protected final AuditLogSpool spool;
+
+    /**
+     * Audit logs waiting to be written to the spool
+     */
+    protected final BlockingQueue<byte[]> queue;
+
+    /**
+     * Number of audit logs queued or being written to the spool
+     */
+    protected final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * Thread writing queued audit logs to the spool
+     */
+    protected final Thread writer;
+
+    /**
+     * Thread shipping spooled audit logs
+     */
+    protected final Thread shipper;
+
+    /**
+     * False once the sender is closing: the writer stops once queued audit logs are written
+     */
+    protected volatile boolean writing = true;
+
+    /**
+     * False once the sender is closed
+     */
+    protected volatile boolean running = true;
+
+    /**
+     * Deadline of the drain on close, in {@link System#nanoTime()} time, after which the shipper stops waiting for
+     * the endpoint. No deadline until the sender is closed
+     */
+    protected volatile long deadline = Long.MAX_VALUE;
+
+    /**
+     * Constructor. Open the spool, start the writer and start shipping audit logs not sent before the last stop
+     *
+     * @param config Spool configuration
+     * @param batchConfig Batch configuration
+     * @param directory Spool directory
+     * @param encoder Audit log encoder
+     * @param payloadSender Sender of payloads
+     * @throws UncheckedIOException If spool can't be opened
+     */
+    public SpoolingAuditLogSender(final AuditLogsSpoolConfig config, final AuditLogsBatchConfig batchConfig,
+        final Path directory, final AuditLogEncoder encoder, final AuditLogPayloadSender payloadSender) {
+        this.config = config;
+        this.batchConfig = batchConfig;
+        this.encoder = encoder;
+        this.payloadSender = payloadSender;
+        this.queue = new ArrayBlockingQueue<>(config.queueSize());
+        try {
+            this.spool = new AuditLogSpool(config, directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (spool.size() > 0) {
+            Loggers.AUDIT_LOGS.info("Replaying {} bytes of audit logs from spool {}", spool.size(), directory);
+        }
+        this.writer = new Thread(this::write, WRITER_THREAD_NAME);
+        this.writer.setDaemon(true);
+        this.writer.start();
+        this.shipper = new Thread(this::ship, SHIPPER_THREAD_NAME);
+        this.shipper.setDaemon(true);
+        this.shipper.start();
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog) {
+        return send(auditLog, encoder.encode(auditLog));
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog, final byte[] entry) {
+        queued.incrementAndGet();
+        if (!queue.offer(entry)) {
+            queued.decrementAndGet();
+            AuditLogsMetrics.SEND_DROPPED_COUNTER.increment();
+            Loggers.AUDIT_LOGS.warn("Audit log spool queue is full, audit log dropped");
+        }
+        return Uni.createFrom().voidItem();
+    }
+
+    /**
+     * Get number of audit logs queued or in the spool, not acknowledged yet
+     *
+     * @return Pending audit logs
+     */
+    public int pending() {
+        return queued.get() + spool.count();
+    }
+
+    /**
+     * Ship spooled audit logs until the spool is empty or until the deadline, then stop the writer once queued audit
+     * logs are written, stop the shipper and close the spool. Unsent audit logs are kept in the spool and sent on next
+     * start
+     *
+     * @param deadline Deadline, in {@link System#nanoTime()} time, after which the shipper is stopped
+     * @return Number of audit logs kept in the spool
+     */
+    public long close(final long deadline) {
+        this.deadline = deadline;
+        LockSupport.unpark(shipper);
+        AuditLogDrain.await(this::pending, deadline);
+        var stopDeadline = Math.max(deadline, AuditLogDrain.deadline(CLOSE_TIMEOUT));
+        writing = false;
+        AuditLogDrain.join(writer, stopDeadline);
+        running = false;
+        LockSupport.unpark(shipper);
+        AuditLogDrain.join(shipper, stopDeadline);
+        var kept = pending();
+        if (writer.isAlive() || shipper.isAlive()) {
+            Loggers.AUDIT_LOGS.warn("Audit log spool writer or shipper still running, spool left open");
+            return kept;
+        }
+        try {
+            spool.close();
+        } catch (IOException ex) {
+            Loggers.AUDIT_LOGS.error("Error while closing audit log spool", ex);
+        }
+        return kept;
+    }
+
+    /**
+     * Write queued audit logs to the spool by batch until the sender is closing and the queue is empty
+     */
+    protected void write() {
+        var batch = new ArrayList<byte[]>(MAX_BATCH_SIZE);
+        while (writing || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(POLL_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                var appended = spool.append(batch);
+                if (appended > 0) {
+                    LockSupport.unpark(shipper);
+                }
+                if (appended < batch.size()) {
+                    AuditLogsMetrics.SEND_DROPPED_COUNTER.add(batch.size() - appended);
+                    Loggers.AUDIT_LOGS.warn("Audit log spool is full, {} audit logs dropped", batch.size() - appended);
+                }
+            } catch (IOException ex) {
+                AuditLogsMetrics.SEND_FAILED_COUNTER.add(batch.size());
+                Loggers.AUDIT_LOGS.error("Error while writing audit logs to spool", ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                queued.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Ship spooled audit logs until the sender is closed or the drain deadline is over. A payload is acknowledged only
+     * once sent, and sent again after the retry interval on failure, or if dropped by the rate limit or the circuit
+     * breaker
+     */
+    protected void ship() {
+        var maxCount = batchConfig.enabled() ? batchConfig.maxCount() : 1;
+        var maxBytes = batchConfig.enabled() ? batchConfig.maxBytes() : Long.MAX_VALUE;
+        while (running) {
+            try {
+                // Once the drain deadline is over, spooled audit logs are kept for the next start
+                var entries = System.nanoTime() < deadline ? spool.read(maxCount, maxBytes) : null;
+                if (entries == null || entries.entries().isEmpty()) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_IN_MS));
+                    continue;
+                }
+                var payload = batchConfig.enabled()
+                    ? encoder.encode(entries.entries(), batchConfig.format())
+                    : encoder.encode(entries.entries().get(0));
+                if (send(payload)) {
+                    spool.commit(entries);
+                } else {
+                    pause();
+                }
+            } catch (AuditLogDroppedException ex) {
+                // Kept in the spool until the endpoint accepts audit logs again
+                Loggers.AUDIT_LOGS.debug("Spooled audit logs not sent: {}", ex.getMessage());
+                pause();
+            } catch (IOException | RuntimeException ex) {
+                if (running) {
+                    Loggers.AUDIT_LOGS.error("Error while shipping spooled audit logs", ex);
+                    pause();
+                }
+            }
+        }
+    }
+
+    /**
+     * Send a payload and wait for the endpoint response, until the send timeout or the drain deadline
+     *
+     * @param payload Payload
+     * @return True if sent, false if the endpoint didn't respond in time
+     * @throws RuntimeException If the payload couldn't be sent
+     */
+    protected boolean send(final AuditLogPayload payload) {
+        var result = AuditLogsMetrics.record(Uni.createFrom().deferred(() -> payloadSender.send(payload)),
+                payload.count(), false)
+            .subscribeAsCompletionStage();
+        result.whenComplete((ignored, error) -> LockSupport.unpark(shipper));
+        var timeout = AuditLogDrain.deadline(SEND_TIMEOUT);
+        while (!result.isDone()) {
+            var remaining = Math.min(timeout, deadline) - System.nanoTime();
+            if (remaining <= 0) {
+                result.cancel(false);
+                Loggers.AUDIT_LOGS.debug("No response to {} spooled audit logs in time, kept in spool",
+                    payload::count);
+                return false;
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+        try {
+            result.join();
+            return true;
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    /**
+     * Wait for the retry interval. Unparked when the sender is closed
+     */
+    protected void pause() {
+        var end = AuditLogDrain.deadline(config.retryInterval());
+        for (var remaining = end - System.nanoTime(); running && remaining > 0; remaining = end - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.AuditLogsSyslogConfig;
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogSender;
+import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.smallrye.mutiny.Uni;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Syslog audit log sender. Send audit logs as RFC 5424 messages over UDP, or over TCP with octet counting framing.<br />
+ *
+ * <p>A message holds the audit log JSON, prefixed by a structured data element with its uuid, action, user, method,
+ * URI and status. Audit logs are queued and a dedicated writer sends them by batch: over TCP a batch of frames is
+ * written through a single buffer, over UDP the datagrams of a batch are sent in a row. After a TCP error the batch is
+ * sent again on a new connection, so some audit logs may be received twice.</p>
+ */
+public class SyslogAuditLogSender implements AuditLogSender, AuditLogEntrySender {
+
+    /**
+     * Name of the thread sending audit logs
+     */
+    private static final String WRITER_THREAD_NAME = "audit-logs-syslog";
+
+    /**
+     * Value of the fields not set
+     */
+    private static final String NILVALUE = "-";
+
+    /**
+     * Byte order mark starting the UTF-8 messages
+     */
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    /**
+     * Timestamp of the messages (audit log datetimes are UTC)
+     */
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern(
+        "yyyy-MM-dd'T'HH:mm:ss.SSSSSS'Z'");
+
+    /**
+     * Maximum length of the host name
+     */
+    private static final int MAX_HOSTNAME_LENGTH = 255;
+
+    /**
+     * Maximum length of the application name
+     */
+    private static final int MAX_APP_NAME_LENGTH = 48;
+
+    /**
+     * Maximum length of the message id
+     */
+    private static final int MAX_MSG_ID_LENGTH = 32;
+
+    /**
+     * Maximum number of audit logs sent in a batch
+     */
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    /**
+     * Maximum time to wait for an audit log
+     */
+    private static final long POLL_TIMEOUT_IN_MS = 100;
+
+    /**
+     * Minimum time to wait on close for the writer to finish its current batch and close the channel, even if the
+     * deadline is over
+     */
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * Maximum time to wait for the TCP connection
+     */
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * Syslog configuration
+     */
+    protected final AuditLogsSyslogConfig config;
+
+    /**
+     * Audit log encoder
+     */
+    protected final AuditLogEncoder encoder;
+
+    /**
+     * Address of the syslog server
+     */
+    protected final InetSocketAddress address;
+
+    /**
+     * Header part common to all messages: host name, application name and process id
+     */
+    protected final String origin;
+
+    /**
+     * Audit logs waiting to be sent, formatted
+     */
+    protected final BlockingQueue<byte[]> queue;
+
+    /**
+     * Write buffer
+     */
+    protected final ByteBuffer buffer;
+
+    /**
+     * Thread sending audit logs
+     */
+    protected final Thread writer;
+
+    /**
+     * False once the sender is closed
+     */
+    protected volatile boolean running = true;
+
+    /**
+     * Deadline of the drain on close, in {@link System#nanoTime()} time, after which the writer stops taking queued
+     * audit logs. No deadline until the sender is closed
+     */
+    protected volatile long deadline = Long.MAX_VALUE;
+
+    /**
+     * Number of audit logs queued or being sent
+     */
+    protected final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Number of audit logs which failed to be sent
+     */
+    protected final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Channel to the syslog server. Null until opened, or after an error
+     */
+    protected ByteChannel channel;
+
+    /**
+     * True if the last batch couldn't be sent, to log an error only once
+     */
+    protected boolean failing;
+
+    /**
+     * Constructor. Start the writer, the channel is opened on first send
+     *
+     * @param config Syslog configuration
+     * @param encoder Audit log encoder
+     */
+    public SyslogAuditLogSender(final AuditLogsSyslogConfig config, final AuditLogEncoder encoder) {
+        this.config = config;
+        this.encoder = encoder;
+        this.address = new InetSocketAddress(config.host(), config.port());
+        this.origin = " " + name(config.hostname().orElseGet(SyslogAuditLogSender::localHostname), MAX_HOSTNAME_LENGTH)
+            + " " + name(config.appName(), MAX_APP_NAME_LENGTH)
+            + " " + ProcessHandle.current().pid() + " ";
+        this.queue = new ArrayBlockingQueue<>(config.queueSize());
+        this.buffer = ByteBuffer.allocateDirect(Math.max(config.bufferSize(), config.maxDatagramSize()));
+        this.writer = new Thread(this::write, WRITER_THREAD_NAME);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog) {
+        return send(auditLog, encoder.encode(auditLog));
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLog auditLog, final byte[] entry) {
+        var message = format(auditLog, entry);
+        if (config.protocol() == AuditLogsSyslogConfig.Protocol.UDP && message.length > config.maxDatagramSize()) {
+            AuditLogsMetrics.SEND_DROPPED_COUNTER.increment();
+            Loggers.AUDIT_LOGS.warn("Audit log larger than syslog max datagram size ({} bytes), audit log dropped",
+                message.length);
+        } else {
+            pending.incrementAndGet();
+            if (!queue.offer(message)) {
+                pending.decrementAndGet();
+                AuditLogsMetrics.SEND_DROPPED_COUNTER.increment();
+                Loggers.AUDIT_LOGS.warn("Audit log syslog queue is full, audit log dropped");
+            }
+        }
+        return Uni.createFrom().voidItem();
+    }
+
+    /**
+     * Get number of audit logs queued or being sent
+     *
+     * @return Pending audit logs
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Stop the writer once queued audit logs are sent or the deadline is over, and wait for it to finish its
+     * current batch and close the channel
+     *
+     * @param deadline Deadline, in {@link System#nanoTime()} time, after which pending audit logs are abandoned
+     * @return Number of abandoned audit logs: still pending at the deadline or failed to be sent meanwhile
+     */
+    public long close(final long deadline) {
+        var failed = failures.get();
+        this.deadline = deadline;
+        running = false;
+        AuditLogDrain.join(writer, Math.max(deadline, AuditLogDrain.deadline(CLOSE_TIMEOUT)));
+        return pending.get() + failures.get() - failed;
+    }
+
+    /**
+     * Format an audit log as a syslog message
+     *
+     * @param auditLog Audit log
+     * @param json Audit log serialized to JSON
+     * @return Message bytes
+     */
+    protected byte[] format(final AuditLog auditLog, final byte[] json) {
+        var header = new StringBuilder(256)
+            .append('<').append(config.facility() * 8 + config.severity()).append(">1 ")
+            .append(auditLog.startDatetime() != null ? TIMESTAMP_FORMAT.format(auditLog.startDatetime()) : NILVALUE)
+            .append(origin)
+            .append(name(auditLog.action(), MAX_MSG_ID_LENGTH))
+            .append(" [")
+            .append(config.structuredDataId());
+        param(header, "uuid", auditLog.uuid());
+        param(header, "action", auditLog.action());
+        if (auditLog.user() != null) {
+            param(header, "userId", auditLog.user().id());
+            param(header, "remoteAddress", auditLog.user().remoteAddress());
+        }
+        if (auditLog.request() != null) {
+            param(header, "method", auditLog.request().method());
+            param(header, "uri", auditLog.request().uri());
+        }
+        if (auditLog.response() != null && auditLog.response().status() > 0) {
+            param(header, "status", String.valueOf(auditLog.response().status()));
+        }
+        var prefix = header.append("] ").toString().getBytes(StandardCharsets.UTF_8);
+        var message = new byte[prefix.length + BOM.length + json.length];
+        System.arraycopy(prefix, 0, message, 0, prefix.length);
+        System.arraycopy(BOM, 0, message, prefix.length, BOM.length);
+        System.arraycopy(json, 0, message, prefix.length + BOM.length, json.length);
+        return message;
+    }
+
+    /**
+     * Send queued audit logs until the sender is closed and the queue is empty, or until the drain deadline is over
+     */
+    protected void write() {
+        var batch = new ArrayList<byte[]>(MAX_BATCH_SIZE);
+        while ((running || !queue.isEmpty()) && System.nanoTime() < deadline) {
+            try {
+                var first = queue.poll(POLL_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                    write(batch);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                pending.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+        closeChannel();
+    }
+
+    /**
+     * Send a batch of audit logs. Over TCP, the batch is sent again on a new connection after an error until the
+     * sender is closed
+     *
+     * @param batch Formatted audit logs
+     * @throws InterruptedException If interrupted while waiting to reconnect
+     */
+    protected void write(final List<byte[]> batch) throws InterruptedException {
+        while (true) {
+            try {
+                if (channel == null) {
+                    open();
+                }
+                if (config.protocol() == AuditLogsSyslogConfig.Protocol.UDP) {
+                    writeDatagrams(batch);
+                } else {
+                    writeFrames(batch);
+                    AuditLogsMetrics.SEND_SUCCESS_COUNTER.add(batch.size());
+                }
+                failing = false;
+                return;
+            } catch (IOException ex) {
+                closeChannel();
+                if (!failing) {
+                    Loggers.AUDIT_LOGS.error("Error while sending audit logs to syslog server {}", address, ex);
+                    failing = true;
+                }
+                if (config.protocol() == AuditLogsSyslogConfig.Protocol.UDP || !running) {
+                    AuditLogsMetrics.SEND_FAILED_COUNTER.add(batch.size());
+                    failures.addAndGet(batch.size());
+                    return;
+                }
+                Thread.sleep(config.reconnectDelay().toMillis());
+            }
+        }
+    }
+
+    /**
+     * Send audit logs as datagrams. A datagram refused by the server host is lost
+     *
+     * @param batch Formatted audit logs
+     * @throws IOException If datagrams can't be sent
+     */
+    protected void writeDatagrams(final List<byte[]> batch) throws IOException {
+        for (var message : batch) {
+            buffer.clear().put(message).flip();
+            try {
+                channel.write(buffer);
+                AuditLogsMetrics.SEND_SUCCESS_COUNTER.increment();
+            } catch (PortUnreachableException ex) {
+                // Reported for a previous datagram: nothing listening on the server port
+                AuditLogsMetrics.SEND_FAILED_COUNTER.increment();
+                failures.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Write audit logs framed by octet counting ("length message") through the write buffer
+     *
+     * @param batch Formatted audit logs
+     * @throws IOException If frames can't be written
+     */
+    protected void writeFrames(final List<byte[]> batch) throws IOException {
+        buffer.clear();
+        for (var message : batch) {
+            var length = (message.length + " ").getBytes(StandardCharsets.US_ASCII);
+            var size = length.length + message.length;
+            if (buffer.remaining() < size) {
+                flush();
+            }
+            if (buffer.remaining() < size) {
+                // Larger than the buffer: written directly
+                writeFully(ByteBuffer.wrap(length), ByteBuffer.wrap(message));
+            } else {
+                buffer.put(length).put(message);
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Open the channel to the syslog server
+     *
+     * @throws IOException If channel can't be opened
+     */
+    protected void open() throws IOException {
+        if (config.protocol() == AuditLogsSyslogConfig.Protocol.UDP) {
+            channel = DatagramChannel.open().connect(address);
+        } else {
+            var socketChannel = SocketChannel.open();
+            try {
+                socketChannel.socket().setTcpNoDelay(true);
+                socketChannel.socket().connect(address, (int) CONNECT_TIMEOUT.toMillis());
+            } catch (IOException ex) {
+                socketChannel.close();
+                throw ex;
+            }
+            channel = socketChannel;
+        }
+    }
+
+    /**
+     * Close the channel, ignoring errors. It's opened again on next send
+     */
+    protected void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                Loggers.AUDIT_LOGS.debug("Error while closing syslog channel", ex);
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Write the buffer to the channel
+     *
+     * @throws IOException If the buffer can't be written
+     */
+    protected void flush() throws IOException {
+        if (buffer.position() > 0) {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Write buffers entirely to the channel
+     *
+     * @param buffers Buffers
+     * @throws IOException If buffers can't be written
+     */
+    protected void writeFully(final ByteBuffer... buffers) throws IOException {
+        for (var source : buffers) {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    /**
+     * Append a structured data parameter, escaping its value. Nothing is appended if the value is not set
+     *
+     * @param header Message header
+     * @param name Parameter name
+     * @param value Parameter value
+     */
+    protected static void param(final StringBuilder header, final String name, final String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        header.append(' ').append(name).append("=\"");
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == '"' || c == '\\' || c == ']') {
+                header.append('\\');
+            }
+            header.append(c);
+        }
+        header.append('"');
+    }
+
+    /**
+     * Sanitize a header field: printable US-ASCII only, truncated
+     *
+     * @param value Field value
+     * @param maxLength Maximum length
+     * @return Field value, or the nil value if not set
+     */
+    protected static String name(final String value, final int maxLength) {
+        if (value == null || value.isEmpty()) {
+            return NILVALUE;
+        }
+        var name = new StringBuilder(Math.min(value.length(), maxLength));
+        for (var i = 0; i < value.length() && name.length() < maxLength; i++) {
+            var c = value.charAt(i);
+            name.append(c > ' ' && c < 127 ? c : '_');
+        }
+        return name.toString();
+    }
+
+    /**
+     * Get the local host name
+     *
+     * @return Host name, or the nil value if unknown
+     */
+    protected static String localHostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return NILVALUE;
+        }
+    }
+}
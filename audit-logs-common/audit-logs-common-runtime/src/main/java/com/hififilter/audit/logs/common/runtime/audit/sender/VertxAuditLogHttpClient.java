@@ -0,0 +1,152 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsTransportConfig;
+import io.netty.buffer.Unpooled;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import java.io.Closeable;
+import java.net.URI;
+
+/**
+ * Client of an audit log endpoint on the Vert.x HTTP client. Serialized audit logs are wrapped in a buffer without
+ * copy and written as is: no JAX-RS provider lookup, filter nor interceptor on each send.<br />
+ *
+ * <p>Like the rest client, a response which isn't 2xx fails with a {@link WebApplicationException} holding the
+ * response status and its Retry-After header, so retries and circuit breaker behave the same.</p>
+ */
+public class VertxAuditLogHttpClient implements AuditLogPayloadSender, Closeable {
+
+    /**
+     * Default HTTP port
+     */
+    private static final int HTTP_PORT = 80;
+
+    /**
+     * Default HTTPS port
+     */
+    private static final int HTTPS_PORT = 443;
+
+    /**
+     * Vert.x HTTP client, with its own connection pool
+     */
+    protected final HttpClient client;
+
+    /**
+     * Event loop context the requests are sent on. Sending from any other thread could let a response end before its
+     * body handler is set on a reused connection
+     */
+    protected final Context context;
+
+    /**
+     * Endpoint host
+     */
+    protected final String host;
+
+    /**
+     * Endpoint port
+     */
+    protected final int port;
+
+    /**
+     * True if the endpoint uses HTTPS
+     */
+    protected final boolean ssl;
+
+    /**
+     * Request URI (path and query) of the endpoint
+     */
+    protected final String requestUri;
+
+    /**
+     * Timeout of the response in ms
+     */
+    protected final long readTimeout;
+
+    /**
+     * Constructor
+     *
+     * @param vertx Vert.x instance
+     * @param uri Endpoint URI
+     * @param config Transport configuration
+     */
+    public VertxAuditLogHttpClient(final Vertx vertx, final String uri, final AuditLogsTransportConfig config) {
+        var endpoint = URI.create(uri);
+        this.ssl = "https".equalsIgnoreCase(endpoint.getScheme());
+        this.host = endpoint.getHost();
+        this.port = endpoint.getPort() != -1 ? endpoint.getPort() : ssl ? HTTPS_PORT : HTTP_PORT;
+        var path = endpoint.getRawPath() == null || endpoint.getRawPath().isEmpty() ? "/" : endpoint.getRawPath();
+        this.requestUri = endpoint.getRawQuery() != null ? path + "?" + endpoint.getRawQuery() : path;
+        this.readTimeout = config.readTimeout().toMillis();
+        this.client = vertx.createHttpClient(AuditLogTransport.vertxHttpClientOptions(config).setSsl(ssl));
+        this.context = vertx.getOrCreateContext();
+    }
+
+    @Override
+    public Uni<Void> send(final AuditLogPayload payload) {
+        return Uni.createFrom().completionStage(() -> {
+            if (Vertx.currentContext() == context) {
+                return request(payload).toCompletionStage();
+            }
+            var promise = Promise.<Void>promise();
+            context.runOnContext(ignored -> request(payload).onComplete(promise));
+            return promise.future().toCompletionStage();
+        });
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    /**
+     * Send a payload and check the response status
+     *
+     * @param payload Payload
+     * @return A void future, failed if the payload isn't accepted
+     */
+    protected Future<Void> request(final AuditLogPayload payload) {
+        var options = new RequestOptions()
+            .setMethod(HttpMethod.POST)
+            .setHost(host)
+            .setPort(port)
+            .setSsl(ssl)
+            .setURI(requestUri)
+            .setTimeout(readTimeout)
+            .putHeader(HttpHeaders.CONTENT_TYPE, payload.contentType());
+        if (payload.contentEncoding() != null) {
+            options.putHeader(HttpHeaders.CONTENT_ENCODING, payload.contentEncoding());
+        }
+        return client.request(options)
+            .compose(request -> request.send(Buffer.buffer(Unpooled.wrappedBuffer(payload.body()))))
+            .compose(response -> response.body().compose(body -> status(response)));
+    }
+
+    /**
+     * Check the response status
+     *
+     * @param response HTTP response
+     * @return A void future, failed if the response status isn't 2xx
+     */
+    protected static Future<Void> status(final HttpClientResponse response) {
+        if (response.statusCode() >= 200 && response.statusCode() < 300) {
+            return Future.succeededFuture();
+        }
+        var retryAfter = response.getHeader(HttpHeaders.RETRY_AFTER);
+        var error = Response.status(response.statusCode());
+        if (retryAfter != null) {
+            error.header(HttpHeaders.RETRY_AFTER.toString(), retryAfter);
+        }
+        return Future.failedFuture(new WebApplicationException(error.build()));
+    }
+}
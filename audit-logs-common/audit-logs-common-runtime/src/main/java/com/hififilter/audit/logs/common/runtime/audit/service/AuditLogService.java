@@ -1,10 +1,7 @@
 package com.hififilter.audit.logs.common.runtime.audit.service;
 
-import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
-import com.hififilter.audit.logs.common.runtime.audit.AuditLogCustomFieldsGeneratorFactory;
 import com.hififilter.audit.logs.common.runtime.audit.AuditLogOptionsService;
 import com.hififilter.audit.logs.common.runtime.audit.AuditLogSender;
-import com.hififilter.audit.logs.common.runtime.audit.annotations.AuditLogOptions;
 import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
 import io.smallrye.mutiny.Uni;
 import io.vertx.core.net.SocketAddress;
@@ -19,7 +16,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import lombok.Getter;
 
 /**
  * Audit log management service.
@@ -54,18 +50,6 @@ public class AuditLogService {
     @Inject
     protected AuditLogOptionsService auditLogOptionsService;
 
-    /**
-     * Factory to get AuditLogCustomFieldsGenerator instance
-     */
-    @Inject
-    protected AuditLogCustomFieldsGeneratorFactory auditLogCustomFieldsGeneratorFactory;
-
-    /**
-     * Audit options to apply. Init with default options
-     */
-    @Getter
-    protected AuditLogOptions options;
-
     /**
      * Init audit log with request infos.
      *
@@ -124,10 +108,12 @@ public class AuditLogService {
      * @param invokedMethod Invoked API resource
      */
     public void initResourceMethodInfos(final AuditLog auditLog, final Method invokedMethod) {
-        options = auditLogOptionsService.getOptions(invokedMethod);
+        var options = auditLogOptionsService.getOptions(invokedMethod);
         auditLog
+            .options(options)
             .action(options.action())
-            .invokedMethod(invokedMethod);
+            .invokedMethod(invokedMethod)
+            .invokedMethodSignature(options.invokedMethodSignature());
     }
 
     /**
@@ -139,13 +125,12 @@ public class AuditLogService {
     public void setRequestBody(final AuditLog auditLog, final Object entity) {
         // If options is null. The request has been stopped before matching the resource
         // In this particular cas, we log body to avoid losing information
+        var options = auditLog.options();
         if (options == null) {
             auditLog.request().body(entity);
         } else {
             auditLog.request()
-                .customFields(auditLogCustomFieldsGeneratorFactory
-                    .getInstance(options.request().customFieldGeneratorClass())
-                    .generate(entity))
+                .customFields(options.request().customFieldsGenerator().generate(entity))
                 .body(options.request().logEntity() ? entity : null);
         }
     }
@@ -172,13 +157,12 @@ public class AuditLogService {
     public void setResponseBody(final AuditLog auditLog, final Object entity) {
         // If options is null. The request has been killed before matching the resource
         // In this particular cas, we log body to avoid losing information
+        var options = auditLog.options();
         if (options == null) {
             auditLog.response().body(entity);
         } else {
             auditLog.response()
-                .customFields(auditLogCustomFieldsGeneratorFactory
-                    .getInstance(options.response().customFieldGeneratorClass())
-                    .generate(entity))
+                .customFields(options.response().customFieldsGenerator().generate(entity))
                 .body(options.response().logEntity() ? entity : null);
         }
     }
@@ -203,10 +187,6 @@ public class AuditLogService {
     public Uni<Void> send(final AuditLog auditLog) {
         auditLog.setEndDatetimeAsNow();
         return senderService.send(auditLog)
-            .onItem()
-            .invoke(AuditLogsMetrics.SEND_SUCCESS_COUNTER::increment)
-            .onFailure()
-            .invoke(AuditLogsMetrics.SEND_FAILED_COUNTER::increment)
             .onFailure()
             .recoverWithNull();
     }
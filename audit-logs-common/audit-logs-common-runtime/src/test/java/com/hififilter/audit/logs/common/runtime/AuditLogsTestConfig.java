@@ -0,0 +1,149 @@
+package com.hififilter.audit.logs.common.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.quarkus.runtime.configuration.HyphenateEnumConverter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Build audit logs configurations in unit tests: each item has its default value, unless overridden by a property
+ * named as in application.properties, relative to the configuration (e.g. "batch.adaptive.enabled")
+ */
+public final class AuditLogsTestConfig {
+
+    /**
+     * Constructor
+     */
+    private AuditLogsTestConfig() {
+    }
+
+    /**
+     * Build a configuration
+     *
+     * @param type Configuration class
+     * @param properties Overridden properties
+     * @param <T> Configuration type
+     * @return Configuration
+     */
+    public static <T> T of(final Class<T> type, final Map<String, String> properties) {
+        return of(type, properties, "");
+    }
+
+    /**
+     * Build a configuration with default values
+     *
+     * @param type Configuration class
+     * @param <T> Configuration type
+     * @return Configuration
+     */
+    public static <T> T of(final Class<T> type) {
+        return of(type, Map.of());
+    }
+
+    /**
+     * Build a configuration group
+     *
+     * @param type Configuration class
+     * @param properties Overridden properties
+     * @param prefix Prefix of the properties of the group
+     * @param <T> Configuration type
+     * @return Configuration
+     */
+    private static <T> T of(final Class<T> type, final Map<String, String> properties, final String prefix) {
+        try {
+            var config = type.getDeclaredConstructor().newInstance();
+            for (var field : type.getDeclaredFields()) {
+                var item = field.getAnnotation(ConfigItem.class);
+                if (item == null || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                field.set(config, value(field, item, properties, prefix + name(field)));
+            }
+            return config;
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalArgumentException("Can't build configuration " + type.getName(), ex);
+        }
+    }
+
+    /**
+     * Get the value of a configuration item
+     *
+     * @param field Field of the item
+     * @param item Item annotation
+     * @param properties Overridden properties
+     * @param name Property name of the item
+     * @return Value
+     */
+    private static Object value(final Field field, final ConfigItem item, final Map<String, String> properties,
+        final String name) {
+        var type = field.getGenericType();
+        if (field.getType().isAnnotationPresent(ConfigGroup.class)) {
+            return of(field.getType(), properties, name + ".");
+        }
+        if (field.getType() == Map.class) {
+            var groupType = (Class<?>) ((ParameterizedType) type).getActualTypeArguments()[1];
+            var groups = new HashMap<String, Object>();
+            properties.keySet().stream()
+                .filter(key -> key.startsWith(name + "."))
+                .map(key -> key.substring(name.length() + 1, key.indexOf('.', name.length() + 1)))
+                .distinct()
+                .forEach(key -> groups.put(key, of(groupType, properties, name + "." + key + ".")));
+            return groups;
+        }
+        var value = properties.getOrDefault(name,
+            ConfigItem.NO_DEFAULT.equals(item.defaultValue()) ? null : item.defaultValue());
+        if (field.getType() == Optional.class) {
+            var valueType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            return Optional.ofNullable(value).map(optional -> convert(valueType, optional));
+        }
+        return value == null ? null : convert(type, value);
+    }
+
+    /**
+     * Convert a property value
+     *
+     * @param type Type of the value
+     * @param value Property value
+     * @return Value
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(final Type type, final String value) {
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() == List.class) {
+            return Arrays.stream(value.split(",")).map(String::trim).toList();
+        } else if (type == boolean.class) {
+            return Boolean.parseBoolean(value);
+        } else if (type == int.class) {
+            return Integer.parseInt(value);
+        } else if (type == long.class) {
+            return Long.parseLong(value);
+        } else if (type == double.class) {
+            return Double.parseDouble(value);
+        } else if (type == Duration.class) {
+            return DurationConverter.parseDuration(value);
+        } else if (type instanceof Class<?> enumType && enumType.isEnum()) {
+            return HyphenateEnumConverter.of((Class<Enum>) enumType).convert(value);
+        }
+        return value;
+    }
+
+    /**
+     * Get the property name of a configuration item: its field name, hyphenated
+     *
+     * @param field Field of the item
+     * @return Property name
+     */
+    private static String name(final Field field) {
+        return field.getName().replaceAll("([a-z0-9])([A-Z])", "$1-$2").toLowerCase();
+    }
+}
@@ -0,0 +1,133 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsBatchConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.AuditLogsTestConfig;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of {@link AuditLogBatchController} with synthetic latencies. Thresholds are checked through the batch gauges
+ */
+public class AuditLogBatchControllerTest {
+
+    /**
+     * Batch name
+     */
+    private static final String NAME = "endpoint";
+
+    /**
+     * Latency below the target latency (200 ms)
+     */
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * Latency above the target latency (200 ms)
+     */
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(300);
+
+    /**
+     * Round-trip time of each audit log of a batch, for latencies proportional to the batch size
+     */
+    private static final long PER_ENTRY = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * Batch configuration: max count 100 and max linger 500 ms; min count 1, min linger 10 ms, count step 5, linger
+     * step 25 ms and decrease factor 2 by default
+     */
+    private static final AuditLogsBatchConfig CONFIG = AuditLogsTestConfig.of(AuditLogsBatchConfig.class, Map.of(
+        "enabled", "true",
+        "adaptive.enabled", "true"
+    ));
+
+    @Test
+    public void testStartAtMinimum() {
+        var controller = new AuditLogBatchController(NAME, CONFIG);
+        assertThresholds(controller, 1, 10);
+    }
+
+    @Test
+    public void testAdditiveIncreaseOnFullFastBatch() {
+        var controller = new AuditLogBatchController(NAME, CONFIG);
+        controller.record(1, FAST, false);
+        assertThresholds(controller, 6, 35);
+        controller.record(6, FAST, false);
+        assertThresholds(controller, 11, 60);
+    }
+
+    @Test
+    public void testLingerDecreaseOnPartialFastBatch() {
+        var controller = new AuditLogBatchController(NAME, CONFIG);
+        controller.record(1, FAST, false);
+        controller.record(6, FAST, false);
+        assertThresholds(controller, 11, 60);
+        controller.record(3, FAST, false);
+        assertThresholds(controller, 11, 35);
+        controller.record(3, FAST, false);
+        assertThresholds(controller, 11, 10);
+        controller.record(3, FAST, false);
+        assertThresholds(controller, 11, 10);
+    }
+
+    @Test
+    public void testMultiplicativeDecreaseOnSlowOrFailedBatch() {
+        var controller = new AuditLogBatchController(NAME, CONFIG);
+        for (var size = 1; size <= 16; size += 5) {
+            controller.record(size, FAST, false);
+        }
+        assertThresholds(controller, 21, 110);
+        controller.record(21, SLOW, false);
+        assertThresholds(controller, 10, 55);
+        // A failure decreases the thresholds, even if fast, so a retry carries fewer audit logs
+        controller.record(10, FAST, true);
+        assertThresholds(controller, 5, 27);
+    }
+
+    @Test
+    public void testBoundedByMaximumAndMinimum() {
+        var controller = new AuditLogBatchController(NAME, CONFIG);
+        for (var i = 0; i < 30; i++) {
+            controller.record(controller.count(), FAST, false);
+        }
+        assertThresholds(controller, 100, 500);
+        controller.record(100, SLOW, false);
+        assertThresholds(controller, 50, 250);
+        for (var i = 0; i < 10; i++) {
+            controller.record(controller.count(), SLOW, true);
+        }
+        assertThresholds(controller, 1, 10);
+    }
+
+    @Test
+    public void testSettleWithLatencyProportionalToSize() {
+        var controller = new AuditLogBatchController(NAME, CONFIG);
+        // Full batches, 5 ms per audit log: the target latency (200 ms) is reached at 40 audit logs
+        for (var i = 0; i < 300; i++) {
+            var size = controller.count();
+            controller.record(size, size * PER_ENTRY, false);
+            if (i >= 50) {
+                assertTrue(controller.count() >= 20 && controller.count() <= 45,
+                    () -> "Batch count out of the target band: " + controller.count());
+                assertTrue(controller.linger() < 500, () -> "Batch linger at maximum: " + controller.linger());
+            }
+        }
+    }
+
+    /**
+     * Check the thresholds of a controller and the gauges of its batch
+     *
+     * @param controller Controller
+     * @param count Expected batch count threshold
+     * @param linger Expected batch linger threshold in ms
+     */
+    private static void assertThresholds(final AuditLogBatchController controller, final int count,
+        final long linger) {
+        assertEquals(count, controller.count());
+        assertEquals(linger, controller.linger());
+        assertEquals(count, AuditLogsMetrics.batch(NAME).size().get());
+        assertEquals(linger, AuditLogsMetrics.batch(NAME).linger().get());
+    }
+}
@@ -0,0 +1,199 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hififilter.audit.logs.common.runtime.AuditLogsConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsTestConfig;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of {@link AuditLogPipeline}: fan-out to the ring buffer and the rolling file, each with its own filter, and
+ * drain of the queued audit logs on shutdown
+ */
+public class AuditLogPipelineTest {
+
+    /**
+     * Custom field holding the rest client name of the test audit logs
+     */
+    private static final String CLIENT_FIELD = "client";
+
+    /**
+     * Drain timeout on shutdown
+     */
+    private static final long DRAIN_TIMEOUT_IN_MS = 1000;
+
+    /**
+     * Time allowed to close the pipeline after the drain timeout
+     */
+    private static final long CLOSE_MARGIN_IN_MS = 500;
+
+    /**
+     * Delay of the endpoint before acknowledging the audit logs it doesn't block
+     */
+    private static final long ENDPOINT_DELAY_IN_MS = 200;
+
+    /**
+     * Directory of the ring buffer and the files
+     */
+    @TempDir
+    protected Path directory;
+
+    @Test
+    public void testFanOutFiltersAndSingleSerialization() throws IOException {
+        var properties = new HashMap<String, String>();
+        properties.put("fan-out.enabled", "true");
+        properties.put("ring-buffer.enabled", "true");
+        properties.put("ring-buffer.path", directory.resolve("audit-logs.ring").toString());
+        properties.put("ring-buffer.capacity", "65536");
+        properties.put("file.enabled", "true");
+        properties.put("file.directory", directory.toString());
+        // The ring buffer receives server errors only, the file receives the audit logs of the foo client only
+        properties.put("fan-out.sinks.ring-buffer.min-status", "500");
+        properties.put("fan-out.sinks.ring-buffer.max-status", "599");
+        properties.put("fan-out.sinks.file.clients", "foo");
+        var encoder = new CountingEncoder();
+        var pipeline = new AuditLogPipeline("test", AuditLogsTestConfig.of(AuditLogsConfig.class, properties),
+            encoder, List.of(), auditLog -> (String) auditLog.customFields().get(CLIENT_FIELD), null, null);
+
+        pipeline.send(auditLog("foo", 200)).await().indefinitely();
+        pipeline.send(auditLog("bar", 503)).await().indefinitely();
+        pipeline.send(auditLog("foo", 500)).await().indefinitely();
+        pipeline.send(auditLog("bar", 404)).await().indefinitely();
+        pipeline.close();
+
+        // Serialized once for all the sinks, and not at all if no sink matches
+        assertEquals(3, encoder.count.get());
+        var ringBufferLogs = new ArrayList<JsonObject>();
+        try (var reader = new AuditLogRingBufferReader(directory.resolve("audit-logs.ring"))) {
+            reader.poll(entry -> ringBufferLogs.add(new JsonObject(new String(entry, StandardCharsets.UTF_8))), 10);
+        }
+        assertEquals(List.of(503, 500), ringBufferLogs.stream().map(AuditLogPipelineTest::status).toList());
+        var fileLogs = Files.readAllLines(directory.resolve("audit.log")).stream().map(JsonObject::new).toList();
+        assertEquals(List.of(200, 500), fileLogs.stream().map(AuditLogPipelineTest::status).toList());
+    }
+
+    @Test
+    public void testDrainOnShutdownWithinDeadline() {
+        var properties = new HashMap<String, String>();
+        properties.put("async.enabled", "true");
+        properties.put("shutdown.drain-timeout", Duration.ofMillis(DRAIN_TIMEOUT_IN_MS).toString());
+        var config = AuditLogsTestConfig.of(AuditLogsConfig.class, properties);
+        var pipeline = new AuditLogPipeline("test", config,
+            new AuditLogEncoder(new ObjectMapper().findAndRegisterModules()),
+            List.of(new AuditLogPipeline.Route("endpoint", null, List.of("http://blocked"), directory,
+                config.rateLimit())),
+            auditLog -> null, null, uri -> AuditLogPipelineTest::blockServerErrors);
+
+        // Server errors are blocked by the endpoint, the other audit logs are delayed
+        for (var status : List.of(200, 503, 201, 503, 204)) {
+            pipeline.send(auditLog(null, status)).await().indefinitely();
+        }
+        var start = System.nanoTime();
+        var drain = pipeline.close();
+        var elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(new AuditLogPipeline.Drain(3, 2, 0), drain);
+        assertTrue(elapsed >= DRAIN_TIMEOUT_IN_MS - CLOSE_MARGIN_IN_MS, () -> "Closed in " + elapsed + " ms");
+        assertTrue(elapsed < DRAIN_TIMEOUT_IN_MS + CLOSE_MARGIN_IN_MS, () -> "Closed in " + elapsed + " ms");
+    }
+
+    @Test
+    public void testSpoolKeptOnShutdownWithinDeadline() {
+        var properties = new HashMap<String, String>();
+        properties.put("spool.enabled", "true");
+        properties.put("shutdown.drain-timeout", Duration.ofMillis(DRAIN_TIMEOUT_IN_MS).toString());
+        var config = AuditLogsTestConfig.of(AuditLogsConfig.class, properties);
+        var pipeline = new AuditLogPipeline("test", config,
+            new AuditLogEncoder(new ObjectMapper().findAndRegisterModules()),
+            List.of(new AuditLogPipeline.Route("endpoint", null, List.of("http://blocked"), directory,
+                config.rateLimit())),
+            auditLog -> null, null, uri -> payload -> Uni.createFrom().nothing());
+
+        for (var status : List.of(200, 201, 204)) {
+            pipeline.send(auditLog(null, status)).await().indefinitely();
+        }
+        var start = System.nanoTime();
+        var drain = pipeline.close();
+        var elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Kept in the spool for the next start, instead of waiting for the endpoint response timeout
+        assertEquals(new AuditLogPipeline.Drain(0, 0, 3), drain);
+        assertTrue(elapsed < DRAIN_TIMEOUT_IN_MS + CLOSE_MARGIN_IN_MS, () -> "Closed in " + elapsed + " ms");
+    }
+
+    /**
+     * Endpoint blocking the audit logs of server errors, and acknowledging the other ones after a delay
+     *
+     * @param payload Serialized audit log
+     * @return A void uni, never completed for server errors
+     */
+    private static Uni<Void> blockServerErrors(final AuditLogPayload payload) {
+        var status = status(new JsonObject(new String(payload.body(), StandardCharsets.UTF_8)));
+        return status >= 500
+            ? Uni.createFrom().nothing()
+            : Uni.createFrom().voidItem().onItem().delayIt().by(Duration.ofMillis(ENDPOINT_DELAY_IN_MS));
+    }
+
+    /**
+     * Build an audit log
+     *
+     * @param client Rest client name
+     * @param status HTTP response status
+     * @return Audit log
+     */
+    private static AuditLog auditLog(final String client, final int status) {
+        var auditLog = new AuditLog();
+        auditLog.putCustomField(CLIENT_FIELD, client);
+        auditLog.response().status(status);
+        return auditLog;
+    }
+
+    /**
+     * Get the HTTP response status of a serialized audit log
+     *
+     * @param log Serialized audit log
+     * @return HTTP response status
+     */
+    private static int status(final JsonObject log) {
+        return log.getJsonObject("response").getInteger("status");
+    }
+
+    /**
+     * Encoder counting the audit logs serialized
+     */
+    private static class CountingEncoder extends AuditLogEncoder {
+
+        /**
+         * Number of audit logs serialized
+         */
+        private final AtomicInteger count = new AtomicInteger();
+
+        /**
+         * Constructor
+         */
+        CountingEncoder() {
+            super(new ObjectMapper().findAndRegisterModules());
+        }
+
+        @Override
+        public byte[] encode(final AuditLog auditLog) {
+            count.incrementAndGet();
+            return super.encode(auditLog);
+        }
+    }
+}
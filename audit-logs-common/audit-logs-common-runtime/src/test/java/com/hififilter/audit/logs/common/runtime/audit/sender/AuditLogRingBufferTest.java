@@ -0,0 +1,202 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of {@link AuditLogRingBuffer} and {@link AuditLogRingBufferReader}: concurrent producers, records at the end
+ * of the data region and recovery of a reused file
+ */
+public class AuditLogRingBufferTest {
+
+    /**
+     * Capacity of the small ring buffers: 64 bytes, 4 records of 16 bytes
+     */
+    private static final int SMALL_CAPACITY = 64;
+
+    /**
+     * Number of concurrent producers
+     */
+    private static final int PRODUCERS = 4;
+
+    /**
+     * Number of audit logs offered by each producer
+     */
+    private static final int ENTRIES_PER_PRODUCER = 20000;
+
+    /**
+     * Maximum time to read all the audit logs of the producers
+     */
+    private static final long READ_TIMEOUT_IN_MS = 30000;
+
+    /**
+     * Directory of the ring buffer file
+     */
+    @TempDir
+    protected Path directory;
+
+    @Test
+    public void testConcurrentProducersReadOnceInOrder() throws IOException, InterruptedException {
+        var path = directory.resolve("concurrent.ring");
+        try (var ringBuffer = new AuditLogRingBuffer(path, 4096);
+            var reader = new AuditLogRingBufferReader(path)) {
+            var producers = new ArrayList<Thread>();
+            for (var producer = 0; producer < PRODUCERS; producer++) {
+                var id = producer;
+                var thread = new Thread(() -> {
+                    for (var i = 0; i < ENTRIES_PER_PRODUCER; i++) {
+                        var entry = bytes(id + ":" + i);
+                        while (!ringBuffer.offer(entry)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+                thread.setDaemon(true);
+                producers.add(thread);
+                thread.start();
+            }
+            var next = new int[PRODUCERS];
+            var read = 0;
+            var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(READ_TIMEOUT_IN_MS);
+            while (read < PRODUCERS * ENTRIES_PER_PRODUCER && System.nanoTime() < deadline) {
+                read += reader.poll(entry -> {
+                    var parts = new String(entry, StandardCharsets.UTF_8).split(":");
+                    var id = Integer.parseInt(parts[0]);
+                    // Exactly once and in order: each producer's audit logs are read in sequence, without gap
+                    assertEquals(next[id]++, Integer.parseInt(parts[1]));
+                }, 100);
+            }
+            for (var producer : producers) {
+                producer.join(READ_TIMEOUT_IN_MS);
+            }
+            assertEquals(PRODUCERS * ENTRIES_PER_PRODUCER, read);
+            for (var producer = 0; producer < PRODUCERS; producer++) {
+                assertEquals(ENTRIES_PER_PRODUCER, next[producer]);
+            }
+            assertEquals(0, reader.poll(entry -> { }, 100));
+            assertEquals(0, ringBuffer.size());
+        }
+    }
+
+    @Test
+    public void testRecordFillingTheEnd() throws IOException {
+        var path = directory.resolve("fill.ring");
+        try (var ringBuffer = new AuditLogRingBuffer(path, SMALL_CAPACITY);
+            var reader = new AuditLogRingBufferReader(path)) {
+            // Records of 32 bytes (header of 8 bytes): the second one ends exactly at the end of the data region
+            assertTrue(ringBuffer.offer(entry('a', 24)));
+            assertTrue(ringBuffer.offer(entry('b', 24)));
+            assertEquals(64, ringBuffer.size());
+            assertFalse(ringBuffer.offer(entry('c', 1)));
+            assertEquals(List.of("a", "b"), poll(reader));
+            assertEquals(64, reader.position());
+            // No padding: the next record starts at the beginning of the data region
+            assertTrue(ringBuffer.offer(entry('c', 24)));
+            assertEquals(32, ringBuffer.size());
+            assertEquals(List.of("c"), poll(reader));
+            assertEquals(96, reader.position());
+        }
+    }
+
+    @Test
+    public void testRecordWrapping() throws IOException {
+        var path = directory.resolve("wrap.ring");
+        try (var ringBuffer = new AuditLogRingBuffer(path, SMALL_CAPACITY);
+            var reader = new AuditLogRingBufferReader(path)) {
+            var first = entry('a', 40);
+            assertTrue(ringBuffer.offer(first));
+            var read = new ArrayList<byte[]>();
+            assertEquals(1, reader.poll(read::add, 100));
+            assertEquals(48, reader.position());
+            // Record of 32 bytes with 16 bytes left: padding up to the end, then the record from the beginning
+            var second = entry('b', 24);
+            assertTrue(ringBuffer.offer(second));
+            assertEquals(48, ringBuffer.size());
+            assertEquals(1, reader.poll(read::add, 100));
+            assertEquals(96, reader.position());
+            assertEquals(0, ringBuffer.size());
+            assertArrayEquals(first, read.get(0));
+            assertArrayEquals(second, read.get(1));
+        }
+    }
+
+    @Test
+    public void testReopenWithUnreadAndUncommittedRecords() throws IOException {
+        var path = directory.resolve("reopen.ring");
+        try (var ringBuffer = new AuditLogRingBuffer(path, SMALL_CAPACITY);
+            var reader = new AuditLogRingBufferReader(path)) {
+            // Records of 16 bytes
+            assertTrue(ringBuffer.offer(entry('a', 8)));
+            assertTrue(ringBuffer.offer(entry('b', 8)));
+            assertEquals(1, reader.poll(entry -> { }, 1));
+            assertEquals(16, reader.position());
+        }
+        // Crash: a record claimed at 32 but not committed (type without length), and a committed record after it
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var buffer = AuditLogRingBuffer.map(channel, SMALL_CAPACITY);
+            var uncommitted = AuditLogRingBuffer.HEADER_SIZE + 32;
+            buffer.putInt(uncommitted + AuditLogRingBuffer.RECORD_TYPE_OFFSET, AuditLogRingBuffer.AUDIT_LOG_TYPE);
+            var committed = AuditLogRingBuffer.HEADER_SIZE + 48;
+            buffer.putInt(committed, 16);
+            buffer.putInt(committed + AuditLogRingBuffer.RECORD_TYPE_OFFSET, AuditLogRingBuffer.AUDIT_LOG_TYPE);
+            buffer.force();
+        }
+        try (var ringBuffer = new AuditLogRingBuffer(path, SMALL_CAPACITY);
+            var reader = new AuditLogRingBufferReader(path)) {
+            // The unread record is kept, the uncommitted record ends the ring buffer
+            assertEquals(16, ringBuffer.size());
+            assertEquals(16, reader.position());
+            assertTrue(ringBuffer.offer(entry('c', 8)));
+            assertEquals(32, ringBuffer.size());
+            // The record after the uncommitted one was cleared: nothing is read after c
+            assertEquals(List.of("b", "c"), poll(reader));
+            assertEquals(48, reader.position());
+            assertEquals(0, ringBuffer.size());
+        }
+    }
+
+    /**
+     * Read all available audit logs
+     *
+     * @param reader Reader
+     * @return First character of each audit log read
+     */
+    private static List<String> poll(final AuditLogRingBufferReader reader) {
+        var read = new ArrayList<String>();
+        reader.poll(entry -> read.add(new String(entry, 0, 1, StandardCharsets.UTF_8)), 100);
+        return read;
+    }
+
+    /**
+     * Build an audit log of a given size, filled with a character
+     *
+     * @param character Character
+     * @param size Size in bytes
+     * @return Serialized audit log
+     */
+    private static byte[] entry(final char character, final int size) {
+        return bytes(String.valueOf(character).repeat(size));
+    }
+
+    /**
+     * Encode a string in UTF-8
+     *
+     * @param value String
+     * @return Bytes
+     */
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,177 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsTestConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsTransportConfig;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of {@link AuditLogSocketClient}: a connection whose acknowledgement timed out is never reused
+ */
+public class AuditLogSocketClientTest {
+
+    /**
+     * Payload acknowledged by the agent after the client timeout
+     */
+    private static final String SLOW_PAYLOAD = "slow";
+
+    /**
+     * Delay of the agent before acknowledging slow payloads
+     */
+    private static final long SLOW_DELAY_IN_MS = 500;
+
+    /**
+     * Directory of the socket
+     */
+    @TempDir
+    protected Path directory;
+
+    /**
+     * Audit agent
+     */
+    protected ServerSocketChannel agent;
+
+    /**
+     * Number of connections accepted by the agent
+     */
+    protected final AtomicInteger connections = new AtomicInteger();
+
+    /**
+     * Released once the agent acknowledges a slow payload
+     */
+    protected final CountDownLatch slowAcknowledged = new CountDownLatch(1);
+
+    @BeforeEach
+    public void startAgent() throws IOException {
+        agent = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        agent.bind(UnixDomainSocketAddress.of(directory.resolve("agent.sock")));
+        var acceptor = new Thread(() -> {
+            try {
+                while (agent.isOpen()) {
+                    var connection = agent.accept();
+                    connections.incrementAndGet();
+                    var reader = new Thread(() -> acknowledge(connection));
+                    reader.setDaemon(true);
+                    reader.start();
+                }
+            } catch (IOException ex) {
+                // Agent stopped
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @AfterEach
+    public void stopAgent() throws IOException {
+        agent.close();
+    }
+
+    @Test
+    public void testTimedOutConnectionNotReused() throws InterruptedException {
+        var config = AuditLogsTestConfig.of(AuditLogsTransportConfig.class, Map.of("read-timeout", "0.1S"));
+        var client = new AuditLogSocketClient(directory.resolve("agent.sock"), config);
+        try {
+            assertThrows(TimeoutException.class, () -> unwrap(() -> client.send(payload(SLOW_PAYLOAD))
+                .await().indefinitely()));
+            // The agent acknowledges once the connection is claimed by the timeout
+            assertTrue(slowAcknowledged.await(SLOW_DELAY_IN_MS * 2, TimeUnit.MILLISECONDS));
+            client.send(payload("fast")).await().indefinitely();
+            client.send(payload("fast")).await().indefinitely();
+
+            // A new connection after the timeout, then reused
+            assertEquals(2, connections.get());
+            assertTrue(client.idle.stream().allMatch(SocketChannel::isOpen));
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * Read the frames of a connection and acknowledge each of them
+     *
+     * @param connection Connection
+     */
+    private void acknowledge(final SocketChannel connection) {
+        try (connection) {
+            while (true) {
+                var header = ByteBuffer.allocate(Integer.BYTES + 1);
+                if (!readFully(connection, header)) {
+                    return;
+                }
+                var body = ByteBuffer.allocate(header.getInt(0) - 1);
+                readFully(connection, body);
+                var slow = SLOW_PAYLOAD.equals(new String(body.array(), StandardCharsets.UTF_8));
+                if (slow) {
+                    Thread.sleep(SLOW_DELAY_IN_MS);
+                    slowAcknowledged.countDown();
+                }
+                var acknowledgement = ByteBuffer.allocate(Short.BYTES).putShort(0, (short) 200);
+                while (acknowledgement.hasRemaining()) {
+                    connection.write(acknowledgement);
+                }
+            }
+        } catch (IOException | InterruptedException ex) {
+            // Connection closed
+        }
+    }
+
+    /**
+     * Read a buffer fully
+     *
+     * @param connection Connection
+     * @param buffer Buffer
+     * @return False if the connection is closed
+     * @throws IOException If connection can't be read
+     */
+    private static boolean readFully(final SocketChannel connection, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (connection.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Build a payload
+     *
+     * @param body Payload body
+     * @return Payload
+     */
+    private static AuditLogPayload payload(final String body) {
+        return new AuditLogPayload(body.getBytes(StandardCharsets.UTF_8), 1, "application/json");
+    }
+
+    /**
+     * Run an action, throwing the cause of its failure
+     *
+     * @param action Action
+     * @throws Throwable Cause of the failure
+     */
+    private static void unwrap(final Runnable action) throws Throwable {
+        try {
+            action.run();
+        } catch (RuntimeException ex) {
+            throw ex.getCause() != null ? ex.getCause() : ex;
+        }
+    }
+}
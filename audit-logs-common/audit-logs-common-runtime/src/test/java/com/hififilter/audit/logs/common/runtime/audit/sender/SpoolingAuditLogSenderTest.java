@@ -0,0 +1,154 @@
+package com.hififilter.audit.logs.common.runtime.audit.sender;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hififilter.audit.logs.common.runtime.AuditLogsBatchConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import com.hififilter.audit.logs.common.runtime.AuditLogsSpoolConfig;
+import com.hififilter.audit.logs.common.runtime.AuditLogsTestConfig;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonObject;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of {@link SpoolingAuditLogSender} restarted on an existing spool directory, or full
+ */
+public class SpoolingAuditLogSenderTest {
+
+    /**
+     * Timeout used to retrieve audit logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 2000;
+
+    /**
+     * Time waited to check that no audit log is sent, longer than the shipper idle timeout
+     */
+    private static final int NO_LOG_TIMEOUT = 1500;
+
+    /**
+     * Spool directory
+     */
+    @TempDir
+    protected Path directory;
+
+    /**
+     * Statuses of the audit logs received by the endpoint
+     */
+    protected final BlockingQueue<Integer> received = new LinkedBlockingQueue<>();
+
+    @Test
+    public void testAcknowledgedLogsNotResentOnRestart() throws InterruptedException {
+        var sender = newSender(this::receive);
+        sender.send(auditLog(200));
+        sender.send(auditLog(201));
+        assertEquals(200, received.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(201, received.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(0, sender.close(System.nanoTime() + TimeUnit.SECONDS.toNanos(1)));
+
+        var restarted = newSender(this::receive);
+        try {
+            assertNull(received.poll(NO_LOG_TIMEOUT, TimeUnit.MILLISECONDS));
+            restarted.send(auditLog(202));
+            assertEquals(202, received.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+            assertNull(received.poll(NO_LOG_TIMEOUT, TimeUnit.MILLISECONDS));
+        } finally {
+            restarted.close(System.nanoTime());
+        }
+    }
+
+    @Test
+    public void testUnacknowledgedLogsSentOnceOnRestart() throws InterruptedException {
+        var sender = newSender(payload -> Uni.createFrom().nothing());
+        sender.send(auditLog(200));
+        sender.send(auditLog(201));
+        assertEquals(2, sender.close(System.nanoTime()));
+
+        var restarted = newSender(this::receive);
+        try {
+            assertEquals(200, received.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+            assertEquals(201, received.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+            assertNull(received.poll(NO_LOG_TIMEOUT, TimeUnit.MILLISECONDS));
+        } finally {
+            restarted.close(System.nanoTime());
+        }
+    }
+
+    @Test
+    public void testLogsDroppedWhenSpoolIsFull() {
+        var dropped = AuditLogsMetrics.SEND_DROPPED_COUNTER.sum();
+        var sender = newSender(payload -> Uni.createFrom().nothing(), Map.of("max-size", "1"));
+        try {
+            sender.send(auditLog(200));
+            AuditLogDrain.await(sender::pending,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WAIT_FOR_LOGS_TIMEOUT));
+            assertEquals(0, sender.pending());
+            assertEquals(dropped + 1, AuditLogsMetrics.SEND_DROPPED_COUNTER.sum());
+        } finally {
+            sender.close(System.nanoTime());
+        }
+    }
+
+    /**
+     * Open a spooling sender on the spool directory
+     *
+     * @param payloadSender Sender of payloads
+     * @return Spooling sender
+     */
+    private SpoolingAuditLogSender newSender(final AuditLogPayloadSender payloadSender) {
+        return newSender(payloadSender, Map.of());
+    }
+
+    /**
+     * Open a spooling sender on the spool directory
+     *
+     * @param payloadSender Sender of payloads
+     * @param properties Spool configuration properties, in addition to the retry interval
+     * @return Spooling sender
+     */
+    private SpoolingAuditLogSender newSender(final AuditLogPayloadSender payloadSender,
+        final Map<String, String> properties) {
+        var spoolProperties = new HashMap<>(properties);
+        spoolProperties.put("retry-interval", "0.1S");
+        return new SpoolingAuditLogSender(
+            AuditLogsTestConfig.of(AuditLogsSpoolConfig.class, spoolProperties),
+            AuditLogsTestConfig.of(AuditLogsBatchConfig.class),
+            directory,
+            new AuditLogEncoder(new ObjectMapper().findAndRegisterModules()),
+            payloadSender
+        );
+    }
+
+    /**
+     * Endpoint receiving audit logs
+     *
+     * @param payload Serialized audit log
+     * @return A void uni
+     */
+    private Uni<Void> receive(final AuditLogPayload payload) {
+        var log = new JsonObject(new String(payload.body(), StandardCharsets.UTF_8));
+        received.add(log.getJsonObject("response").getInteger("status"));
+        return Uni.createFrom().voidItem();
+    }
+
+    /**
+     * Build an audit log
+     *
+     * @param status HTTP response status
+     * @return Audit log
+     */
+    private static AuditLog auditLog(final int status) {
+        var auditLog = new AuditLog();
+        auditLog.response().status(status);
+        return auditLog;
+    }
+}
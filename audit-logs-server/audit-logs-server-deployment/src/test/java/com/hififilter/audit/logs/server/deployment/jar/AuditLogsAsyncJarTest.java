@@ -0,0 +1,43 @@
+package com.hififilter.audit.logs.server.deployment.jar;
+
+import com.hififilter.audit.logs.server.runtime.AuditLogsServerConfig;
+import io.quarkus.test.QuarkusUnitTest;
+import jakarta.inject.Inject;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * Audit logs extension asynchronous send config test
+ */
+public class AuditLogsAsyncJarTest {
+
+    /**
+     * Register extension
+     */
+    @RegisterExtension
+    protected static final QuarkusUnitTest UNIT_TEST = new QuarkusUnitTest()
+        .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+            .addAsResource(new StringAsset("""
+                quarkus.hifi-filter.audit-logs.endpoint=http://foo.bar
+                quarkus.hifi-filter.audit-logs.async.enabled=true
+                quarkus.hifi-filter.audit-logs.async.queue-size=10
+                """), "application.properties"));
+
+    /**
+     * Audit logs extension runtime config
+     */
+    @Inject
+    protected AuditLogsServerConfig auditLogsConfig;
+
+    @Test
+    public void testAsyncConfig() {
+        assertTrue(auditLogsConfig.server().async().enabled());
+        assertEquals(10, auditLogsConfig.server().async().queueSize());
+        assertEquals(64, auditLogsConfig.server().async().maxInFlight());
+    }
+}
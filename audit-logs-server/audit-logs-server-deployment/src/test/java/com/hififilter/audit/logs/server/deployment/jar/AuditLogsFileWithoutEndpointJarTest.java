@@ -0,0 +1,44 @@
+package com.hififilter.audit.logs.server.deployment.jar;
+
+import com.hififilter.audit.logs.server.runtime.AuditLogsServerConfig;
+import io.quarkus.test.QuarkusUnitTest;
+import jakarta.inject.Inject;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * Audit logs extension rolling file without endpoint config test
+ */
+public class AuditLogsFileWithoutEndpointJarTest {
+
+    /**
+     * Register extension
+     */
+    @RegisterExtension
+    protected static final QuarkusUnitTest UNIT_TEST = new QuarkusUnitTest()
+        .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+            .addAsResource(new StringAsset("""
+                quarkus.hifi-filter.audit-logs.file.enabled=true
+                quarkus.hifi-filter.audit-logs.file.directory=target/audit-logs-file-without-endpoint
+                """), "application.properties"));
+
+    /**
+     * Audit logs extension runtime config
+     */
+    @Inject
+    protected AuditLogsServerConfig auditLogsConfig;
+
+    @Test
+    public void testFileWithoutEndpointConfig() {
+        // The extension starts: audit logs are written to the rolling file, the endpoint is not needed
+        assertTrue(auditLogsConfig.server().enabled());
+        assertTrue(auditLogsConfig.server().file().enabled());
+        assertTrue(auditLogsConfig.server().endpoint().isEmpty());
+        assertFalse(auditLogsConfig.server().requiresEndpoint());
+    }
+}
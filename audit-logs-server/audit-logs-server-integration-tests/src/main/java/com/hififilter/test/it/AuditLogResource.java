@@ -14,6 +14,7 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -206,6 +207,38 @@ public class AuditLogResource {
         return "audit custom fields";
     }
 
+    /**
+     * Audit log custom fields generator with injection test
+     *
+     * @param myVar A parameter
+     * @return A string
+     */
+    @POST
+    @Path("/custom-fields-injected")
+    @Produces(MediaType.APPLICATION_JSON)
+    @AuditLogOptions(
+        request = @AuditLogHttpOptions(customFieldGeneratorClass = MyInjectedCustomFields.class)
+    )
+    public String auditCustomFieldsInjected(final String myVar) {
+        return "audit custom fields";
+    }
+
+    /**
+     * Audit log test endpoint with array and generic parameters
+     *
+     * @param tags Tags, a generic parameter
+     * @param values Values, an array parameter
+     * @return A string
+     */
+    @POST
+    @Path("/array")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @AuditLogOptions(action = "ARRAY")
+    public String auditArray(@QueryParam("tag") final List<String> tags, final String[] values) {
+        return "audit " + tags.size() + " tags, " + values.length + " values";
+    }
+
     /**
      * Audit log test void endpoint
      */
@@ -0,0 +1,19 @@
+package com.hififilter.test.it;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Bean providing the value of a custom field, injected in a custom field generator
+ */
+@ApplicationScoped
+public class MyCustomFieldsSource {
+
+    /**
+     * Get the tenant of the application
+     *
+     * @return Tenant
+     */
+    public String tenant() {
+        return "acme";
+    }
+}
@@ -0,0 +1,24 @@
+package com.hififilter.test.it;
+
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogCustomFieldsGenerator;
+import jakarta.enterprise.context.Dependent;
+import jakarta.inject.Inject;
+import java.util.Map;
+
+/**
+ * Custom field generator using injection
+ */
+@Dependent
+public class MyInjectedCustomFields implements AuditLogCustomFieldsGenerator {
+
+    /**
+     * Source of the custom field value
+     */
+    @Inject
+    protected MyCustomFieldsSource source;
+
+    @Override
+    public Map<String, Object> generate(final Object entity) {
+        return Map.of("tenant", source.tenant());
+    }
+}
@@ -0,0 +1,106 @@
+package com.hififilter.test.it;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs asynchronous send tests of {@link com.hififilter.test.it.AuditLogResource}: responses don't wait for
+ * the endpoint, and audit logs are dropped once the queue is full
+ */
+@QuarkusTest
+@TestProfile(AuditLogAsyncResourceTest.AsyncProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogAsyncResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    /**
+     * Maximum response time while the endpoint is blocked, far below the endpoint read timeout
+     */
+    private static final long MAX_RESPONSE_TIME_IN_MS = 1000;
+
+    /**
+     * Number of requests sent while the endpoint is blocked, more than the audit logs in flight and queued
+     */
+    private static final int REQUESTS = 8;
+
+    @BeforeEach
+    public void warmUp() throws InterruptedException {
+        // First request and first audit log sent before blocking the endpoint: not slowed down by initialization
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        assertNotNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    @AfterEach
+    public void release() {
+        AuditLogTestResourceManager.release();
+    }
+
+    @Test
+    public void testResponseNotDelayedByBlockedEndpoint() throws InterruptedException {
+        AuditLogTestResourceManager.BLOCKED.set(true);
+        var start = System.nanoTime();
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        var elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsed < MAX_RESPONSE_TIME_IN_MS, () -> "Response in " + elapsed + " ms");
+        assertNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+
+        // Delivered later, once the endpoint responds
+        AuditLogTestResourceManager.release();
+        var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(log);
+        assertEquals("/test/enabled", log.getJsonObject("request").getString("uri"));
+    }
+
+    @Test
+    public void testLogsDroppedWhenQueueFull() throws InterruptedException {
+        var dropped = AuditLogsMetrics.SEND_DROPPED_COUNTER.sum();
+        AuditLogTestResourceManager.BLOCKED.set(true);
+        for (var i = 0; i < REQUESTS; i++) {
+            RestAssured.given().when().get("/enabled").then().statusCode(200);
+        }
+        var droppedWhileBlocked = AuditLogsMetrics.SEND_DROPPED_COUNTER.sum() - dropped;
+        assertTrue(droppedWhileBlocked > 0, "No audit log dropped");
+
+        // The audit logs in flight and queued are delivered once the endpoint responds, the others are lost
+        AuditLogTestResourceManager.release();
+        var delivered = 0;
+        while (AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS) != null) {
+            delivered++;
+        }
+        assertEquals(REQUESTS, delivered + droppedWhileBlocked);
+    }
+
+    /**
+     * Profile enabling asynchronous send: a single audit log in flight, and a queue of 2 audit logs
+     */
+    public static class AsyncProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.async.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.async.max-in-flight", "1",
+                "quarkus.hifi-filter.audit-logs.async.queue-size", "2"
+            );
+        }
+    }
+}
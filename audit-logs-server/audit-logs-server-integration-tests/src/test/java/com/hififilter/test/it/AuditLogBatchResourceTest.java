@@ -0,0 +1,74 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs batch send tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogBatchResourceTest.BatchProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogBatchResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    /**
+     * Max linger of batches
+     */
+    private static final int MAX_LINGER_IN_MS = 300;
+
+    @Test
+    public void testBatchFlushedOnMaxCount() throws InterruptedException {
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        RestAssured.given().when().get("/action").then().statusCode(200);
+
+        var first = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        var second = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals("/test/enabled", first.getJsonObject("request").getString("uri"));
+        assertEquals("/test/action", second.getJsonObject("request").getString("uri"));
+        assertEquals("ACTION", second.getString("action"));
+    }
+
+    @Test
+    public void testBatchFlushedOnMaxLinger() throws InterruptedException {
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+
+        // The batch is not full, nothing is sent before max linger
+        assertNull(AuditLogTestResourceManager.LOGS.poll(MAX_LINGER_IN_MS / 2, TimeUnit.MILLISECONDS));
+        var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(log);
+        assertEquals("/test/enabled", log.getJsonObject("request").getString("uri"));
+    }
+
+    /**
+     * Profile enabling batch send
+     */
+    public static class BatchProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.batch.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.batch.max-count", "2",
+                "quarkus.hifi-filter.audit-logs.batch.max-linger", "PT" + MAX_LINGER_IN_MS / 1000.0 + "S"
+            );
+        }
+    }
+}
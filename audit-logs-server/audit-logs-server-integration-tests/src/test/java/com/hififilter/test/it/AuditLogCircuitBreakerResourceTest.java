@@ -0,0 +1,70 @@
+package com.hififilter.test.it;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs circuit breaker tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogCircuitBreakerResourceTest.CircuitBreakerProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogCircuitBreakerResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    @Test
+    public void testCircuitOpenedOnFailures() throws InterruptedException {
+        AuditLogTestResourceManager.FAILURES.set(2);
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        assertNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        assertNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(0, AuditLogTestResourceManager.FAILURES.get());
+
+        // The endpoint is up again but the circuit is open: the audit log is not sent
+        var endpointFailed = AuditLogsMetrics.endpoint(AuditLogTestResourceManager.ENDPOINT).failed().sum();
+        var failed = AuditLogsMetrics.SEND_FAILED_COUNTER.sum();
+        var dropped = AuditLogsMetrics.SEND_DROPPED_COUNTER.sum();
+        var rejected = AuditLogsMetrics.SEND_REJECTED_COUNTER.sum();
+        RestAssured.given().when().get("/action").then().statusCode(200);
+        assertNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+
+        // Rejected by the circuit breaker: dropped, neither a send failure nor an endpoint failure
+        assertEquals(rejected + 1, AuditLogsMetrics.SEND_REJECTED_COUNTER.sum());
+        assertEquals(dropped + 1, AuditLogsMetrics.SEND_DROPPED_COUNTER.sum());
+        assertEquals(failed, AuditLogsMetrics.SEND_FAILED_COUNTER.sum());
+        assertEquals(endpointFailed,
+            AuditLogsMetrics.endpoint(AuditLogTestResourceManager.ENDPOINT).failed().sum());
+    }
+
+    /**
+     * Profile enabling circuit breaker
+     */
+    public static class CircuitBreakerProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.circuit-breaker.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.circuit-breaker.window-size", "2",
+                "quarkus.hifi-filter.audit-logs.circuit-breaker.minimum-calls", "2",
+                "quarkus.hifi-filter.audit-logs.circuit-breaker.probe-interval", "PT60S"
+            );
+        }
+    }
+}
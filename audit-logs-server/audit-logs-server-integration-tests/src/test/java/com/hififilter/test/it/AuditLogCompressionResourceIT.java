@@ -0,0 +1,10 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+
+/**
+ * Audit log native IT tests of {@link com.hififilter.test.it.AuditLogCompressionResourceTest}
+ */
+@QuarkusIntegrationTest
+public class AuditLogCompressionResourceIT extends AuditLogCompressionResourceTest {
+}
@@ -0,0 +1,53 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs compressed send tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogCompressionResourceTest.CompressionProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogCompressionResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    @Test
+    public void testCompressedLogSent() throws InterruptedException {
+        RestAssured.given().when().get("/action").then().statusCode(200);
+
+        var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(log);
+        assertEquals("/test/action", log.getJsonObject("request").getString("uri"));
+        assertEquals("ACTION", log.getString("action"));
+        assertEquals("gzip", AuditLogTestResourceManager.LAST_CONTENT_ENCODING.get());
+    }
+
+    /**
+     * Profile enabling compression of all payloads
+     */
+    public static class CompressionProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.compression.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.compression.min-size", "0"
+            );
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.vertx.core.json.JsonObject;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Concurrency tests of {@link com.hififilter.test.it.AuditLogResource}: endpoints with different audit log options are
+ * called at the same time from several threads, and each audit log must carry the options of its own method
+ */
+@QuarkusTest
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogConcurrencyResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 5000;
+
+    /**
+     * Number of threads sending requests
+     */
+    private static final int THREADS = 16;
+
+    /**
+     * Number of requests sent by each thread
+     */
+    private static final int REQUESTS_PER_THREAD = 50;
+
+    /**
+     * Endpoints called, with the assertions on their audit logs
+     */
+    private static final List<Endpoint> ENDPOINTS = List.of(
+        new Endpoint("/action", null, log -> {
+            assertEquals("ACTION", log.getString("action"));
+            assertEquals("audit action", log.getJsonObject("response").getString("body"));
+        }),
+        new Endpoint("/enabled", null, log -> {
+            assertFalse(log.containsKey("action"));
+            assertEquals("audit enabled", log.getJsonObject("response").getString("body"));
+        }),
+        new Endpoint("/no-request-body", "foo", log -> {
+            assertFalse(log.containsKey("action"));
+            assertFalse(log.getJsonObject("request").containsKey("body"));
+            assertEquals("audit no request body", log.getJsonObject("response").getString("body"));
+        }),
+        new Endpoint("/no-response-body", "foo", log -> {
+            assertFalse(log.containsKey("action"));
+            assertEquals("foo", log.getJsonObject("request").getString("body"));
+            assertFalse(log.getJsonObject("response").containsKey("body"));
+        }),
+        new Endpoint("/custom-fields", "foo", log -> {
+            assertFalse(log.containsKey("action"));
+            assertEquals("foo", log.getJsonObject("request").getString("body"));
+            assertEquals("bar", log.getJsonObject("request").getJsonObject("customFields").getString("foo"));
+            assertEquals("audit custom fields", log.getJsonObject("response").getString("body"));
+        })
+    );
+
+    /**
+     * Base URI of the resource
+     */
+    @TestHTTPEndpoint(AuditLogResource.class)
+    @TestHTTPResource
+    protected URI baseUri;
+
+    @Test
+    public void testConcurrentRequestsKeepTheirOptions() throws Exception {
+        var client = HttpClient.newHttpClient();
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var tasks = new ArrayList<Callable<Void>>();
+            for (var thread = 0; thread < THREADS; thread++) {
+                var offset = thread;
+                tasks.add(() -> {
+                    for (var i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        var endpoint = ENDPOINTS.get((offset + i) % ENDPOINTS.size());
+                        assertEquals(200, client.send(endpoint.request(baseUri),
+                            HttpResponse.BodyHandlers.discarding()).statusCode());
+                    }
+                    return null;
+                });
+            }
+            var sends = tasks.stream().map(executor::submit).toList();
+            var logs = new ArrayList<JsonObject>();
+            while (logs.size() < THREADS * REQUESTS_PER_THREAD) {
+                var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+                assertNotNull(log, () -> "Audit logs received: " + logs.size());
+                logs.add(log);
+            }
+            for (var send : sends) {
+                send.get();
+            }
+            assertNull(AuditLogTestResourceManager.LOGS.poll(100, TimeUnit.MILLISECONDS));
+
+            var counts = new HashMap<String, Integer>();
+            for (var log : logs) {
+                var path = log.getJsonObject("request").getString("uri").substring("/test".length());
+                var endpoint = ENDPOINTS.stream().filter(e -> e.path().equals(path)).findFirst().orElseThrow();
+                endpoint.assertion().accept(log);
+                counts.merge(path, 1, Integer::sum);
+            }
+            assertEquals(ENDPOINTS.size(), counts.size());
+            assertTrue(counts.values().stream().allMatch(count -> count == THREADS * REQUESTS_PER_THREAD
+                / ENDPOINTS.size()), counts::toString);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Endpoint called by the test
+     *
+     * @param path Path, relative to the resource
+     * @param body Body posted, null for a GET request
+     * @param assertion Assertion on the audit logs of the endpoint
+     */
+    private record Endpoint(String path, String body, Consumer<JsonObject> assertion) {
+
+        /**
+         * Build the request of the endpoint
+         *
+         * @param baseUri Base URI of the resource
+         * @return Request
+         */
+        HttpRequest request(final URI baseUri) {
+            var builder = HttpRequest.newBuilder(URI.create(baseUri + path));
+            return body == null
+                ? builder.GET().build()
+                : builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs consistent-hash load balancing tests of {@link com.hififilter.test.it.AuditLogResource}, with compressed
+ * payloads
+ */
+@QuarkusTest
+@TestProfile(AuditLogConsistentHashResourceTest.ConsistentHashProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogConsistentHashResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    /**
+     * Paths called, each hashed to one of the endpoints
+     */
+    private static final List<String> PATHS = List.of("/enabled", "/action", "/uni", "/query-params");
+
+    /**
+     * Number of requests per path
+     */
+    private static final int REQUESTS_PER_PATH = 2;
+
+    @Test
+    public void testCompressedLogsSentToTheEndpointOfTheirKey() throws InterruptedException {
+        for (var path : PATHS) {
+            for (var i = 0; i < REQUESTS_PER_PATH; i++) {
+                RestAssured.given().when().get(path).then().statusCode(200);
+            }
+        }
+        var delivered = new HashMap<String, Integer>();
+        var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        while (log != null) {
+            delivered.merge(log.getJsonObject("request").getString("uri"), 1, Integer::sum);
+            log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+
+        // All the audit logs of a path go to the same endpoint: all delivered, or all lost on the unreachable one
+        assertFalse(delivered.isEmpty());
+        for (var path : PATHS) {
+            var count = delivered.getOrDefault("/test" + path, 0);
+            assertTrue(count == 0 || count == REQUESTS_PER_PATH, () -> "Audit logs delivered: " + delivered);
+        }
+        assertEquals("gzip", AuditLogTestResourceManager.LAST_CONTENT_ENCODING.get());
+    }
+
+    /**
+     * Profile adding an unreachable endpoint, never ejected, with audit logs hashed by URI and compressed
+     */
+    public static class ConsistentHashProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.endpoints", "http://localhost:9886",
+                "quarkus.hifi-filter.audit-logs.load-balancer.strategy", "consistent-hash",
+                "quarkus.hifi-filter.audit-logs.load-balancer.hash-key", "uri",
+                "quarkus.hifi-filter.audit-logs.load-balancer.ejection-failures", "1000",
+                "quarkus.hifi-filter.audit-logs.compression.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.compression.min-size", "0"
+            );
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs dedicated executor tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogExecutorResourceTest.ExecutorProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogExecutorResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    @Test
+    public void testLogsSentByExecutor() throws InterruptedException {
+        for (var i = 0; i < 3; i++) {
+            RestAssured.given().when().get("/enabled").then().statusCode(200);
+            var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+            assertNotNull(log);
+            assertEquals("/test/enabled", log.getJsonObject("request").getString("uri"));
+        }
+    }
+
+    @Test
+    public void testFailureLogSentByExecutor() throws InterruptedException {
+        RestAssured.given().when().get("/failure").then().statusCode(500);
+        var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(log);
+        assertEquals("/test/failure", log.getJsonObject("request").getString("uri"));
+        assertEquals(500, log.getJsonObject("response").getInteger("status"));
+    }
+
+    /**
+     * Profile sending audit logs on the dedicated executor
+     */
+    public static class ExecutorProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.executor.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.executor.threads", "1",
+                "quarkus.hifi-filter.audit-logs.executor.queue-size", "10"
+            );
+        }
+    }
+}
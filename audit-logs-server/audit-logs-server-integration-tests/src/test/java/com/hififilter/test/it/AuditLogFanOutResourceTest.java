@@ -0,0 +1,67 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs fan-out tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogFanOutResourceTest.FanOutProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogFanOutResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    @Test
+    public void testLogsSentToMatchingSinks() throws InterruptedException {
+        // Syslog receives all audit logs
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        var message = AuditLogTestResourceManager.SYSLOG_MESSAGES.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(message);
+        assertTrue(message.contains(" uri=\"/test/enabled\""), message);
+        assertNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+
+        // The endpoint receives the audit logs of the filtered action only
+        RestAssured.given().when().get("/action").then().statusCode(200);
+        message = AuditLogTestResourceManager.SYSLOG_MESSAGES.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(message);
+        assertTrue(message.contains(" action=\"ACTION\""), message);
+        var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(log);
+        assertEquals("ACTION", log.getString("action"));
+    }
+
+    /**
+     * Profile sending all audit logs to syslog, and the audit logs of an action to the endpoint too
+     */
+    public static class FanOutProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.fan-out.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.fan-out.sinks.endpoint.actions", "ACTION",
+                "quarkus.hifi-filter.audit-logs.syslog.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.syslog.protocol", "tcp",
+                "quarkus.hifi-filter.audit-logs.syslog.port", String.valueOf(AuditLogTestResourceManager.SYSLOG_PORT),
+                "quarkus.hifi-filter.audit-logs.async.enabled", "true"
+            );
+        }
+    }
+}
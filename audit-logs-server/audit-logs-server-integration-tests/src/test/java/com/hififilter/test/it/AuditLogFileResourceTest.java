@@ -0,0 +1,111 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs rolling file tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogFileResourceTest.FileProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogFileResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    /**
+     * File directory
+     */
+    private static final String FILE_DIRECTORY = "target/audit-logs-file";
+
+    /**
+     * Active file
+     */
+    private static final Path ACTIVE_FILE = Path.of(FILE_DIRECTORY, "audit.log");
+
+    @Test
+    public void testLogsWrittenToRollingFiles() throws IOException, InterruptedException {
+        // Each file holds a single audit log: every write rotates the previous file
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        assertEquals("/test/enabled", waitForActiveFile("/test/enabled").getJsonObject("request").getString("uri"));
+        RestAssured.given().when().get("/action").then().statusCode(200);
+        assertEquals("/test/action", waitForActiveFile("/test/action").getJsonObject("request").getString("uri"));
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        waitForActiveFile("/test/enabled");
+        assertEquals(2, countRotatedFiles());
+
+        // Nothing is sent to the endpoint
+        assertNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Wait until the active file contains the audit log of an URI
+     *
+     * @param uri Request URI
+     * @return Audit log
+     * @throws IOException If file can't be read
+     * @throws InterruptedException If interrupted
+     */
+    private static JsonObject waitForActiveFile(final String uri) throws IOException, InterruptedException {
+        var deadline = System.currentTimeMillis() + WAIT_FOR_LOGS_TIMEOUT;
+        while (System.currentTimeMillis() < deadline) {
+            var content = Files.exists(ACTIVE_FILE) ? Files.readString(ACTIVE_FILE).trim() : "";
+            if (!content.isEmpty()) {
+                var log = new JsonObject(content);
+                if (uri.equals(log.getJsonObject("request").getString("uri"))) {
+                    return log;
+                }
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Audit log of " + uri + " not written to " + ACTIVE_FILE);
+    }
+
+    /**
+     * Count rotated files
+     *
+     * @return Number of rotated files
+     * @throws IOException If directory can't be listed
+     */
+    private static long countRotatedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(FILE_DIRECTORY))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("audit-")).count();
+        }
+    }
+
+    /**
+     * Profile enabling rolling files
+     */
+    public static class FileProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.file.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.file.directory", FILE_DIRECTORY,
+                "quarkus.hifi-filter.audit-logs.file.max-file-size", "1",
+                "quarkus.hifi-filter.audit-logs.file.max-files", "2",
+                "quarkus.hifi-filter.audit-logs.file.fsync", "batch"
+            );
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.hififilter.test.it;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
+import com.hififilter.audit.logs.common.runtime.audit.sender.AuditLogEncoder;
+import com.hififilter.audit.logs.common.runtime.audit.sender.AuditLogPayloadSender;
+import com.hififilter.audit.logs.common.runtime.audit.sender.AuditLogTransport;
+import com.hififilter.audit.logs.common.runtime.audit.sender.VertxAuditLogHttpClient;
+import com.hififilter.audit.logs.server.runtime.AuditLogsServerConfig;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Benchmark of the CPU time per audit log sent with the rest client and with the Vert.x HTTP client. Enabled with
+ * -Daudit-logs.benchmark=true, results logged with -Dquarkus.log.level=INFO.<br />
+ *
+ * <p>Audit logs are sent one at a time to the test endpoint. The CPU time is the process CPU time, test endpoint
+ * included: it's the same for each client, so only the difference between clients is meaningful.</p>
+ */
+@QuarkusTest
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+@EnabledIfSystemProperty(named = "audit-logs.benchmark", matches = "true")
+public class AuditLogHttpClientBenchmarkTest {
+
+    /**
+     * Logger
+     */
+    private static final Logger logger = Logger.getLogger(AuditLogHttpClientBenchmarkTest.class);
+
+    /**
+     * Number of audit logs sent before measuring
+     */
+    private static final int WARM_UP_SENDS = 5000;
+
+    /**
+     * Number of audit logs sent while measuring
+     */
+    private static final int MEASURED_SENDS = 20000;
+
+    /**
+     * Audit logs extension runtime config
+     */
+    @Inject
+    protected AuditLogsServerConfig auditLogsConfig;
+
+    /**
+     * Jackson object mapper
+     */
+    @Inject
+    protected ObjectMapper objectMapper;
+
+    /**
+     * Vert.x instance
+     */
+    @Inject
+    protected Vertx vertx;
+
+    @Test
+    public void benchmarkHttpClients() throws InterruptedException {
+        var transport = auditLogsConfig.server().transport();
+        var restClient = AuditLogTransport.restClientBuilder(AuditLogTestResourceManager.ENDPOINT, transport)
+            .build(BenchmarkRestClient.class);
+        var auditLog = new AuditLog();
+        var encoder = new AuditLogEncoder(objectMapper);
+        var payload = encoder.encode(encoder.encode(auditLog));
+        var drain = new Thread(() -> {
+            try {
+                while (true) {
+                    AuditLogTestResourceManager.LOGS.take();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        drain.setDaemon(true);
+        drain.start();
+        try (var vertxClient = new VertxAuditLogHttpClient(vertx, AuditLogTestResourceManager.ENDPOINT,
+            transport)) {
+            AuditLogPayloadSender restClientBytes = bytes -> restClient.sendAuditLogs(bytes.body()).replaceWithVoid();
+            report("rest client, audit log serialized by Jackson provider",
+                () -> restClient.sendAuditLog(auditLog).replaceWithVoid());
+            report("rest client, pre-serialized audit log", () -> restClientBytes.send(payload));
+            report("Vert.x HTTP client, pre-serialized audit log", () -> vertxClient.send(payload));
+        } finally {
+            drain.interrupt();
+        }
+    }
+
+    /**
+     * Measure and log the CPU time per send
+     *
+     * @param name Benchmark name
+     * @param send Send of an audit log
+     */
+    private static void report(final String name, final Supplier<Uni<Void>> send) {
+        for (var i = 0; i < WARM_UP_SENDS; i++) {
+            send.get().await().indefinitely();
+        }
+        var os = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        var cpuStart = os.getProcessCpuTime();
+        var start = System.nanoTime();
+        for (var i = 0; i < MEASURED_SENDS; i++) {
+            send.get().await().indefinitely();
+        }
+        var cpuPerSend = (os.getProcessCpuTime() - cpuStart) / MEASURED_SENDS / 1000;
+        var latency = (System.nanoTime() - start) / MEASURED_SENDS / 1000;
+        logger.infof("%s: %d us CPU per send, %d us per send", name, cpuPerSend, latency);
+    }
+
+    /**
+     * Rest client of the test endpoint
+     */
+    @Path("")
+    @RegisterRestClient
+    public interface BenchmarkRestClient {
+
+        /**
+         * Send audit log
+         *
+         * @param log Audit log
+         * @return Response
+         */
+        @POST
+        @Consumes(MediaType.APPLICATION_JSON)
+        Uni<Response> sendAuditLog(AuditLog log);
+
+        /**
+         * Send audit log serialized as JSON
+         *
+         * @param payload Serialized audit log
+         * @return Response
+         */
+        @POST
+        @Consumes(MediaType.APPLICATION_JSON)
+        Uni<Response> sendAuditLogs(byte[] payload);
+    }
+}
@@ -0,0 +1,55 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs load balancing tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogLoadBalancerResourceTest.LoadBalancerProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogLoadBalancerResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 5000;
+
+    @Test
+    public void testFailoverToAvailableEndpoint() throws InterruptedException {
+        // One of the two endpoints is down: audit logs are retried on the other one, then the dead one is ejected
+        for (var i = 0; i < 4; i++) {
+            RestAssured.given().when().get("/enabled").then().statusCode(200);
+            var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+            assertNotNull(log);
+            assertEquals("/test/enabled", log.getJsonObject("request").getString("uri"));
+        }
+    }
+
+    /**
+     * Profile adding an unreachable endpoint
+     */
+    public static class LoadBalancerProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.endpoints", "http://localhost:9886",
+                "quarkus.hifi-filter.audit-logs.load-balancer.strategy", "round-robin",
+                "quarkus.hifi-filter.audit-logs.load-balancer.ejection-failures", "1",
+                "quarkus.hifi-filter.audit-logs.retry.enabled", "true"
+            );
+        }
+    }
+}
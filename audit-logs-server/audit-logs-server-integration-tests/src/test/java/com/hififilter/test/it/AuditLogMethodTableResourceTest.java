@@ -0,0 +1,69 @@
+package com.hififilter.test.it;
+
+import com.hififilter.audit.logs.common.runtime.audit.AuditLogMethodTable;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit log method table tests of {@link com.hififilter.test.it.AuditLogResource}: the audit log annotations of the
+ * resource methods are resolved at build time, none by reflection when handling requests
+ */
+@QuarkusTest
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogMethodTableResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    /**
+     * Audit log metadata of the resource methods
+     */
+    @Inject
+    protected AuditLogMethodTable methodTable;
+
+    @Test
+    public void testResourceMethodsResolvedAtBuildTime() throws Exception {
+        var resourceMethods = Arrays.stream(AuditLogResource.class.getDeclaredMethods())
+            .filter(method -> method.isAnnotationPresent(GET.class) || method.isAnnotationPresent(POST.class))
+            .toList();
+        assertTrue(methodTable.methods().containsAll(resourceMethods), () -> "Missing methods: "
+            + resourceMethods.stream().filter(method -> !methodTable.methods().contains(method)).toList());
+        assertTrue(methodTable.methods().contains(
+            AuditLogResource.class.getMethod("auditArray", List.class, String[].class)));
+
+        RestAssured.given().when().get("/action").then().statusCode(200);
+        RestAssured.given()
+            .when()
+            .contentType(ContentType.JSON)
+            .queryParam("tag", "foo", "bar")
+            .body("[\"baz\"]")
+            .post("/array")
+            .then()
+            .statusCode(200)
+            .body(Matchers.is("audit 2 tags, 1 values"));
+        for (var action : List.of("ACTION", "ARRAY")) {
+            var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+            assertNotNull(log);
+            assertEquals(action, log.getString("action"));
+        }
+
+        assertEquals(List.of(), List.copyOf(methodTable.resolved()));
+    }
+}
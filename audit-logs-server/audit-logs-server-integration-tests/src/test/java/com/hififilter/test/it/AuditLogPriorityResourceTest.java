@@ -0,0 +1,81 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import io.vertx.core.json.JsonObject;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs priority lanes tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogPriorityResourceTest.PriorityProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogPriorityResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    /**
+     * Delay for the consumer to take an audit log from the queue
+     */
+    private static final int CONSUMER_DELAY = 500;
+
+    /**
+     * Capacity of the queue of received audit logs
+     */
+    private static final int RECEIVED_LOGS_CAPACITY = 10;
+
+    @Test
+    public void testLowPriorityLogShedFirst() throws InterruptedException {
+        // The test endpoint blocks until received audit logs are read: the first audit log stays in flight and the
+        // consumer waits with the second one
+        for (var i = 0; i < RECEIVED_LOGS_CAPACITY; i++) {
+            AuditLogTestResourceManager.LOGS.put(new JsonObject());
+        }
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        Thread.sleep(CONSUMER_DELAY);
+        RestAssured.given().when().get("/action").then().statusCode(200);
+        Thread.sleep(CONSUMER_DELAY);
+
+        // The queue holds a single audit log: the error audit log takes the place of the successful GET
+        RestAssured.given().when().get("/query-params").then().statusCode(200);
+        RestAssured.given().when().get("/failure").then().statusCode(500);
+        AuditLogTestResourceManager.LOGS.clear();
+
+        for (var uri : new String[] {"/test/enabled", "/test/action", "/test/failure"}) {
+            var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+            assertNotNull(log);
+            assertEquals(uri, log.getJsonObject("request").getString("uri"));
+        }
+        assertNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Profile enabling asynchronous send with priority lanes, a single audit log in flight and in queue
+     */
+    public static class PriorityProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.async.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.async.queue-size", "1",
+                "quarkus.hifi-filter.audit-logs.async.max-in-flight", "1",
+                "quarkus.hifi-filter.audit-logs.async.priority.enabled", "true"
+            );
+        }
+    }
+}
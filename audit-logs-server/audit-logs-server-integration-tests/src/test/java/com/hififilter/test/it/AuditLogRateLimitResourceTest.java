@@ -0,0 +1,65 @@
+package com.hififilter.test.it;
+
+import com.hififilter.audit.logs.common.runtime.AuditLogsMetrics;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs rate limit tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogRateLimitResourceTest.RateLimitProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogRateLimitResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    @Test
+    public void testLogsDroppedOverBurst() throws InterruptedException {
+        var failed = AuditLogsMetrics.SEND_FAILED_COUNTER.sum();
+        var dropped = AuditLogsMetrics.SEND_DROPPED_COUNTER.sum();
+        var throttled = AuditLogsMetrics.SEND_THROTTLED_COUNTER.sum();
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        assertNotNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+        assertNotNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+
+        // The bucket is empty: the third audit log is dropped
+        assertNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+        // Throttled, counted as dropped and not as a send failure
+        assertEquals(throttled + 1, AuditLogsMetrics.SEND_THROTTLED_COUNTER.sum());
+        assertEquals(dropped + 1, AuditLogsMetrics.SEND_DROPPED_COUNTER.sum());
+        assertEquals(failed, AuditLogsMetrics.SEND_FAILED_COUNTER.sum());
+    }
+
+    /**
+     * Profile enabling rate limit: bursts of 2 requests, then a request per minute
+     */
+    public static class RateLimitProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.rate-limit.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.rate-limit.rate", "0.0167",
+                "quarkus.hifi-filter.audit-logs.rate-limit.burst", "2",
+                "quarkus.hifi-filter.audit-logs.rate-limit.on-exhausted", "drop"
+            );
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Benchmark of the CPU time and latency per audited request: audit log captured by the server filters, the reader
+ * interceptor and an application filter adding a custom field. Enabled with -Daudit-logs.benchmark=true, results
+ * logged with -Dquarkus.log.level=INFO.<br />
+ *
+ * <p>Requests are sent one at a time. The CPU time is the process CPU time, HTTP client and test endpoint included:
+ * only the difference between two runs of the benchmark is meaningful.</p>
+ */
+@QuarkusTest
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+@EnabledIfSystemProperty(named = "audit-logs.benchmark", matches = "true")
+public class AuditLogRequestBenchmarkTest {
+
+    /**
+     * Logger
+     */
+    private static final Logger logger = Logger.getLogger(AuditLogRequestBenchmarkTest.class);
+
+    /**
+     * Number of requests sent before measuring
+     */
+    private static final int WARM_UP_REQUESTS = 5000;
+
+    /**
+     * Number of requests sent while measuring
+     */
+    private static final int MEASURED_REQUESTS = 20000;
+
+    /**
+     * Audited endpoint without body
+     */
+    @TestHTTPResource("/test/enabled")
+    protected URI enabledUri;
+
+    /**
+     * Audited endpoint with body
+     */
+    @TestHTTPResource("/test/custom-fields")
+    protected URI customFieldsUri;
+
+    @Test
+    public void benchmarkRequests() throws IOException, InterruptedException {
+        var client = HttpClient.newHttpClient();
+        var drain = new Thread(() -> {
+            try {
+                while (true) {
+                    AuditLogTestResourceManager.LOGS.take();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        drain.setDaemon(true);
+        drain.start();
+        try {
+            report(client, "GET without body", HttpRequest.newBuilder(enabledUri).GET().build());
+            report(client, "POST with body", HttpRequest.newBuilder(customFieldsUri)
+                .POST(HttpRequest.BodyPublishers.ofString("my var"))
+                .build());
+        } finally {
+            drain.interrupt();
+        }
+    }
+
+    /**
+     * Measure and log the CPU time and latency per request
+     *
+     * @param client HTTP client
+     * @param name Benchmark name
+     * @param request Request
+     * @throws IOException If a request fails
+     * @throws InterruptedException If interrupted
+     */
+    private static void report(final HttpClient client, final String name, final HttpRequest request)
+        throws IOException, InterruptedException {
+        for (var i = 0; i < WARM_UP_REQUESTS; i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+        var os = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        var cpuStart = os.getProcessCpuTime();
+        var start = System.nanoTime();
+        for (var i = 0; i < MEASURED_REQUESTS; i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+        var cpuPerRequest = (os.getProcessCpuTime() - cpuStart) / MEASURED_REQUESTS / 1000;
+        var latency = (System.nanoTime() - start) / MEASURED_REQUESTS / 1000;
+        logger.infof("%s: %d us CPU per request, %d us per request", name, cpuPerRequest, latency);
+    }
+}
@@ -386,6 +386,26 @@ public class AuditLogResourceTest {
         assertFalse(response.containsKey("customFields"));
     }
 
+    @Test
+    public void testCustomFieldsInjected() throws InterruptedException {
+        RestAssured.given()
+            .when()
+            .contentType(ContentType.JSON)
+            .body("foo")
+            .post("/custom-fields-injected")
+            .then()
+            .statusCode(200)
+            .body(Matchers.is("audit custom fields"));
+
+        var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(log);
+        var request = log.getJsonObject("request");
+        assertEquals("/test/custom-fields-injected", request.getString("uri"));
+        assertNotNull(request.getJsonObject("customFields"));
+        assertEquals("acme", request.getJsonObject("customFields").getString("tenant"));
+        assertFalse(log.getJsonObject("response").containsKey("customFields"));
+    }
+
     @Test
     public void testFailure() throws InterruptedException {
         RestAssured.given()
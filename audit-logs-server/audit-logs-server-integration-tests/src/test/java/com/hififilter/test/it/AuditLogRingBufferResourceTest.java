@@ -0,0 +1,92 @@
+package com.hififilter.test.it;
+
+import com.hififilter.audit.logs.common.runtime.audit.sender.AuditLogRingBufferReader;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs memory-mapped ring buffer tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogRingBufferResourceTest.RingBufferProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogRingBufferResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    /**
+     * Ring buffer file
+     */
+    private static final String RING_BUFFER_PATH = "target/audit-logs.ring";
+
+    @Test
+    public void testLogsReadFromRingBuffer() throws IOException, InterruptedException {
+        try (var reader = new AuditLogRingBufferReader(Path.of(RING_BUFFER_PATH))) {
+            // Skip audit logs left by a previous run
+            reader.poll(entry -> { }, Integer.MAX_VALUE);
+
+            // More audit logs than the ring buffer capacity: the reader frees space and the writer wraps
+            var logs = new ArrayList<JsonObject>();
+            for (var i = 0; i < 20; i++) {
+                RestAssured.given().when().get("/enabled").then().statusCode(200);
+                waitForLogs(reader, logs, i + 1);
+            }
+            assertEquals(20, logs.size());
+            logs.forEach(log -> assertEquals("/test/enabled", log.getJsonObject("request").getString("uri")));
+        }
+
+        // Nothing is sent to the endpoint
+        assertNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Read the ring buffer until the expected number of audit logs
+     *
+     * @param reader Ring buffer reader
+     * @param logs Audit logs read
+     * @param expected Expected number of audit logs
+     * @throws InterruptedException If interrupted
+     */
+    private static void waitForLogs(final AuditLogRingBufferReader reader, final List<JsonObject> logs,
+        final int expected) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + WAIT_FOR_LOGS_TIMEOUT;
+        while (logs.size() < expected && System.currentTimeMillis() < deadline) {
+            if (reader.poll(entry -> logs.add(new JsonObject(new String(entry))), 10) == 0) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    /**
+     * Profile enabling the ring buffer
+     */
+    public static class RingBufferProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.ring-buffer.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.ring-buffer.path", RING_BUFFER_PATH,
+                "quarkus.hifi-filter.audit-logs.ring-buffer.capacity", "8192"
+            );
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs disk spool tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogSpoolResourceTest.SpoolProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogSpoolResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    /**
+     * Spool directory
+     */
+    private static final String SPOOL_DIRECTORY = "target/audit-logs-spool";
+
+    @Test
+    public void testSpooledLogsShipped() throws InterruptedException {
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        RestAssured.given().when().get("/action").then().statusCode(200);
+
+        var first = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        var second = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals("/test/enabled", first.getJsonObject("request").getString("uri"));
+        assertEquals("/test/action", second.getJsonObject("request").getString("uri"));
+        assertTrue(Files.exists(Path.of(SPOOL_DIRECTORY, "checkpoint")));
+    }
+
+    @Test
+    public void testSpooledLogsDeliveredOnceAfterOutage() throws InterruptedException {
+        // The endpoint is down for the first 3 attempts
+        AuditLogTestResourceManager.FAILURES.set(3);
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        RestAssured.given().when().get("/action").then().statusCode(200);
+        RestAssured.given().when().get("/uni").then().statusCode(200);
+
+        // Each audit log is delivered once the endpoint is restored, exactly once and in order
+        for (var uri : new String[] {"/test/enabled", "/test/action", "/test/uni"}) {
+            var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT * 5, TimeUnit.MILLISECONDS);
+            assertNotNull(log, uri);
+            assertEquals(uri, log.getJsonObject("request").getString("uri"));
+        }
+        assertEquals(0, AuditLogTestResourceManager.FAILURES.get());
+        assertNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Profile enabling disk spool, retrying every 100 ms
+     */
+    public static class SpoolProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.spool.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.spool.directory", SPOOL_DIRECTORY,
+                "quarkus.hifi-filter.audit-logs.spool.retry-interval", "0.1S"
+            );
+        }
+    }
+}
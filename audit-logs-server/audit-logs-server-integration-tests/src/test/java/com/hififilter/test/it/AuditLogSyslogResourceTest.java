@@ -0,0 +1,70 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import io.vertx.core.json.JsonObject;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs syslog tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogSyslogResourceTest.SyslogProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogSyslogResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    @Test
+    public void testLogsSentToSyslog() throws InterruptedException {
+        for (var i = 0; i < 3; i++) {
+            RestAssured.given().when().get("/enabled").then().statusCode(200);
+            var message = AuditLogTestResourceManager.SYSLOG_MESSAGES.poll(WAIT_FOR_LOGS_TIMEOUT,
+                TimeUnit.MILLISECONDS);
+            assertNotNull(message);
+
+            // <facility * 8 + severity>version timestamp hostname app-name procid msgid [structured data] BOM json
+            assertTrue(message.startsWith("<110>1 "), message);
+            assertTrue(message.contains(" test-app "), message);
+            assertTrue(message.contains(" [audit@32473 uuid=\""), message);
+            assertTrue(message.contains(" method=\"GET\" uri=\"/test/enabled\" status=\"200\"]"), message);
+            var json = new JsonObject(message.substring(message.indexOf("\uFEFF") + 1));
+            assertEquals("/test/enabled", json.getJsonObject("request").getString("uri"));
+        }
+
+        // Nothing is sent to the endpoint
+        assertNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Profile sending audit logs to the syslog server over TCP
+     */
+    public static class SyslogProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.syslog.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.syslog.protocol", "tcp",
+                "quarkus.hifi-filter.audit-logs.syslog.port", String.valueOf(AuditLogTestResourceManager.SYSLOG_PORT),
+                "quarkus.hifi-filter.audit-logs.syslog.facility", "13",
+                "quarkus.hifi-filter.audit-logs.syslog.severity", "6",
+                "quarkus.hifi-filter.audit-logs.syslog.app-name", "test-app"
+            );
+        }
+    }
+}
@@ -3,14 +3,38 @@ package com.hififilter.test.it;
 import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 import org.junit.platform.commons.logging.Logger;
 import org.junit.platform.commons.logging.LoggerFactory;
 
@@ -24,6 +48,46 @@ public class AuditLogTestResourceManager implements QuarkusTestResourceLifecycle
      */
     protected static final BlockingQueue<JsonObject> LOGS = new ArrayBlockingQueue<>(10);
 
+    /**
+     * Content encoding of the last audit log request
+     */
+    protected static final AtomicReference<String> LAST_CONTENT_ENCODING = new AtomicReference<>();
+
+    /**
+     * HTTP version of the last audit log request
+     */
+    protected static final AtomicReference<HttpVersion> LAST_HTTP_VERSION = new AtomicReference<>();
+
+    /**
+     * Unix domain socket of the audit agent
+     */
+    protected static final String AGENT_SOCKET_PATH = "target/audit-agent.sock";
+
+    /**
+     * Port of the syslog server (TCP)
+     */
+    protected static final int SYSLOG_PORT = 9887;
+
+    /**
+     * Syslog messages
+     */
+    protected static final BlockingQueue<String> SYSLOG_MESSAGES = new ArrayBlockingQueue<>(10);
+
+    /**
+     * Number of next audit log requests to reject with a 503 response
+     */
+    protected static final AtomicInteger FAILURES = new AtomicInteger();
+
+    /**
+     * True to hold the audit log requests without response, until {@link #release()}
+     */
+    protected static final AtomicBoolean BLOCKED = new AtomicBoolean();
+
+    /**
+     * Audit log requests held while blocked
+     */
+    private static final Queue<RoutingContext> HELD_REQUESTS = new ConcurrentLinkedQueue<>();
+
     /**
      * Logger
      */
@@ -34,11 +98,26 @@ public class AuditLogTestResourceManager implements QuarkusTestResourceLifecycle
      */
     private static final int SERVER_PORT = 9885;
 
+    /**
+     * URI of the audit log endpoint
+     */
+    protected static final String ENDPOINT = "http://localhost:" + SERVER_PORT;
+
     /**
      * Vertx HttpServer
      */
     private HttpServer server;
 
+    /**
+     * Audit agent listening on a Unix domain socket
+     */
+    private ServerSocketChannel agent;
+
+    /**
+     * Syslog server, receiving messages framed by octet counting
+     */
+    private ServerSocketChannel syslog;
+
     @Override
     public Map<String, String> start() {
         logger.info(() -> "Starting Vertx http server");
@@ -48,20 +127,223 @@ public class AuditLogTestResourceManager implements QuarkusTestResourceLifecycle
         server.requestHandler(router);
         router.route().handler(BodyHandler.create());
         router.route(HttpMethod.POST, "/").handler(ctx -> {
-            try {
-                LOGS.put(ctx.body().asJsonObject());
-            } catch (InterruptedException ex) {
-                throw new RuntimeException(ex);
+            if (BLOCKED.get()) {
+                HELD_REQUESTS.add(ctx);
+                return;
             }
-            ctx.response().end();
+            receive(ctx);
         });
         server.listen(SERVER_PORT);
         logger.info(() -> "Vertx http server started");
-        return Collections.singletonMap("quarkus.hifi-filter.audit-logs.endpoint", "http://localhost:" + SERVER_PORT);
+        startAgent();
+        startSyslog();
+        return Collections.singletonMap("quarkus.hifi-filter.audit-logs.endpoint", ENDPOINT);
     }
 
     @Override
     public void stop() {
         server.close();
+        try {
+            agent.close();
+            syslog.close();
+            Files.deleteIfExists(Path.of(AGENT_SOCKET_PATH));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Start the audit agent: read frames (length + 1, flags, body) and acknowledge each of them with a status code
+     */
+    private void startAgent() {
+        try {
+            Files.deleteIfExists(Path.of(AGENT_SOCKET_PATH));
+            agent = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            agent.bind(UnixDomainSocketAddress.of(AGENT_SOCKET_PATH));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        var acceptor = new Thread(() -> {
+            while (agent.isOpen()) {
+                try {
+                    var connection = agent.accept();
+                    var reader = new Thread(() -> readFrames(connection), "audit-agent-connection");
+                    reader.setDaemon(true);
+                    reader.start();
+                } catch (IOException ex) {
+                    logger.debug(() -> "Audit agent stopped");
+                }
+            }
+        }, "audit-agent");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Start the syslog server: read messages framed by octet counting ("length message")
+     */
+    private void startSyslog() {
+        try {
+            syslog = ServerSocketChannel.open();
+            syslog.bind(new InetSocketAddress("localhost", SYSLOG_PORT));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        var acceptor = new Thread(() -> {
+            while (syslog.isOpen()) {
+                try {
+                    var connection = syslog.accept();
+                    var reader = new Thread(() -> readSyslogMessages(connection), "syslog-connection");
+                    reader.setDaemon(true);
+                    reader.start();
+                } catch (IOException ex) {
+                    logger.debug(() -> "Syslog server stopped");
+                }
+            }
+        }, "syslog");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Read the messages of a syslog connection until it's closed
+     *
+     * @param connection Connection
+     */
+    private static void readSyslogMessages(final SocketChannel connection) {
+        try (connection) {
+            var digit = ByteBuffer.allocate(1);
+            var length = 0;
+            while (readFully(connection, digit.clear())) {
+                if (digit.get(0) != ' ') {
+                    length = length * 10 + digit.get(0) - '0';
+                    continue;
+                }
+                var message = ByteBuffer.allocate(length);
+                readFully(connection, message);
+                SYSLOG_MESSAGES.put(new String(message.array(), StandardCharsets.UTF_8));
+                length = 0;
+            }
+        } catch (IOException ex) {
+            logger.debug(() -> "Syslog connection closed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Read the frames of an audit agent connection until it's closed
+     *
+     * @param connection Connection
+     */
+    private static void readFrames(final SocketChannel connection) {
+        try (connection) {
+            var header = ByteBuffer.allocate(Integer.BYTES + 1);
+            while (readFully(connection, header.clear())) {
+                var flags = header.get(Integer.BYTES);
+                var body = ByteBuffer.allocate(header.getInt(0) - 1);
+                readFully(connection, body);
+                var status = (short) 202;
+                if (FAILURES.getAndUpdate(failures -> Math.max(0, failures - 1)) > 0) {
+                    status = 503;
+                } else {
+                    var contentEncoding = (flags & 2) != 0 ? "gzip" : (flags & 4) != 0 ? "deflate" : null;
+                    LAST_CONTENT_ENCODING.set(contentEncoding);
+                    putLogs(decode(body.array(), contentEncoding));
+                }
+                var acknowledgement = ByteBuffer.allocate(Short.BYTES).putShort(status).flip();
+                while (acknowledgement.hasRemaining()) {
+                    connection.write(acknowledgement);
+                }
+            }
+        } catch (IOException ex) {
+            logger.debug(() -> "Audit agent connection closed");
+        }
+    }
+
+    /**
+     * Read from a connection until the buffer is full
+     *
+     * @param connection Connection
+     * @param buffer Buffer
+     * @return False if the connection was closed
+     * @throws IOException If read fails
+     */
+    private static boolean readFully(final SocketChannel connection, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (connection.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stop blocking audit log requests, and handle the requests held meanwhile
+     */
+    protected static void release() {
+        BLOCKED.set(false);
+        RoutingContext ctx;
+        while ((ctx = HELD_REQUESTS.poll()) != null) {
+            receive(ctx);
+        }
+    }
+
+    /**
+     * Handle an audit log request: reject it while failures are requested, otherwise queue its audit logs
+     *
+     * @param ctx Request context
+     */
+    private static void receive(final RoutingContext ctx) {
+        if (FAILURES.getAndUpdate(failures -> Math.max(0, failures - 1)) > 0) {
+            ctx.response().setStatusCode(503).end();
+            return;
+        }
+        var contentEncoding = ctx.request().getHeader(HttpHeaders.CONTENT_ENCODING);
+        LAST_CONTENT_ENCODING.set(contentEncoding);
+        LAST_HTTP_VERSION.set(ctx.request().version());
+        putLogs(decode(ctx.body().buffer().getBytes(), contentEncoding));
+        ctx.response().end();
+    }
+
+    /**
+     * Queue received audit logs
+     *
+     * @param body Body: a single audit log, a JSON array or newline delimited JSON (batch send)
+     */
+    private static void putLogs(final String body) {
+        try {
+            var trimmed = body.trim();
+            if (trimmed.startsWith("[")) {
+                for (var log : new JsonArray(trimmed)) {
+                    LOGS.put((JsonObject) log);
+                }
+            } else {
+                for (var line : trimmed.split("\n")) {
+                    LOGS.put(new JsonObject(line));
+                }
+            }
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Decompress a request body
+     *
+     * @param body Request body
+     * @param contentEncoding Content encoding (null if not compressed)
+     * @return Decompressed body
+     */
+    private static String decode(final byte[] body, final String contentEncoding) {
+        try (InputStream input = "gzip".equals(contentEncoding)
+            ? new GZIPInputStream(new ByteArrayInputStream(body))
+            : "deflate".equals(contentEncoding)
+                ? new InflaterInputStream(new ByteArrayInputStream(body))
+                : new ByteArrayInputStream(body)) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 }
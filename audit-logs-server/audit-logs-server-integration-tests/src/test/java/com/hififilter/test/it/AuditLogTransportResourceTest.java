@@ -0,0 +1,56 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import io.vertx.core.http.HttpVersion;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs HTTP transport tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogTransportResourceTest.TransportProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogTransportResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    @Test
+    public void testHttp2ClearText() throws InterruptedException {
+        for (var i = 0; i < 3; i++) {
+            RestAssured.given().when().get("/enabled").then().statusCode(200);
+            assertNotNull(AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS));
+            assertEquals(HttpVersion.HTTP_2, AuditLogTestResourceManager.LAST_HTTP_VERSION.get());
+        }
+    }
+
+    /**
+     * Profile enabling HTTP/2 without upgrade on a single connection
+     */
+    public static class TransportProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.transport.http2", "true",
+                "quarkus.hifi-filter.audit-logs.transport.http2-clear-text-upgrade", "false",
+                "quarkus.hifi-filter.audit-logs.transport.http2-max-concurrent-streams", "10",
+                "quarkus.hifi-filter.audit-logs.transport.max-pool-size", "1",
+                "quarkus.hifi-filter.audit-logs.transport.read-timeout", "PT2S",
+                "quarkus.hifi-filter.audit-logs.transport.idle-timeout", "PT10S"
+            );
+        }
+    }
+}
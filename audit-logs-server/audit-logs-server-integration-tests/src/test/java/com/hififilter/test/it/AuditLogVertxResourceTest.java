@@ -0,0 +1,62 @@
+package com.hififilter.test.it;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Audit logs Vert.x HTTP client tests of {@link com.hififilter.test.it.AuditLogResource}
+ */
+@QuarkusTest
+@TestProfile(AuditLogVertxResourceTest.VertxProfile.class)
+@TestHTTPEndpoint(AuditLogResource.class)
+@QuarkusTestResource(AuditLogTestResourceManager.class)
+public class AuditLogVertxResourceTest {
+
+    /**
+     * Timeout used to retrieve logs
+     */
+    private static final int WAIT_FOR_LOGS_TIMEOUT = 1000;
+
+    @Test
+    public void testLogsSentWithVertxHttpClient() throws InterruptedException {
+        for (var i = 0; i < 3; i++) {
+            RestAssured.given().when().get("/enabled").then().statusCode(200);
+            var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+            assertNotNull(log);
+            assertEquals("/test/enabled", log.getJsonObject("request").getString("uri"));
+        }
+    }
+
+    @Test
+    public void testRetryOnEndpointFailure() throws InterruptedException {
+        AuditLogTestResourceManager.FAILURES.set(1);
+        RestAssured.given().when().get("/enabled").then().statusCode(200);
+        var log = AuditLogTestResourceManager.LOGS.poll(WAIT_FOR_LOGS_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(log);
+        assertEquals("/test/enabled", log.getJsonObject("request").getString("uri"));
+    }
+
+    /**
+     * Profile sending audit logs with the Vert.x HTTP client, with retry
+     */
+    public static class VertxProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hifi-filter.audit-logs.transport.client", "vertx",
+                "quarkus.hifi-filter.audit-logs.retry.enabled", "true",
+                "quarkus.hifi-filter.audit-logs.retry.initial-backoff", "0.05S"
+            );
+        }
+    }
+}
@@ -12,12 +12,13 @@ public class AuditLogsRecorder {
      * Initialize audit log handler
      *
      * @param config Audit logs extension runtime config
-     * @throws IllegalArgumentException If audit logs are enabled but endpoint is not set
+     * @throws IllegalArgumentException If audit logs are sent over HTTP but endpoint is not set
      */
     public void initialize(final AuditLogsServerConfig config) {
-        if (config.server().enabled() && config.server().endpoint().isEmpty()) {
+        var server = config.server();
+        if (server.enabled() && server.requiresEndpoint() && server.endpoint().isEmpty()) {
             throw new IllegalArgumentException(
-                "Audit-logs are enabled so the property quarkus.hifi-filter.audit-logs.endpoint is mandatory"
+                "Audit-logs are sent over HTTP so the property quarkus.hifi-filter.audit-logs.endpoint is mandatory"
             );
         }
     }
@@ -1,11 +1,12 @@
 package com.hififilter.audit.logs.server.runtime.audit.filter;
 
 import com.hififilter.audit.logs.common.runtime.audit.Loggers;
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
 import com.hififilter.audit.logs.server.runtime.audit.service.AuditLogServerService;
 import io.smallrye.mutiny.Uni;
 import io.vertx.core.http.HttpServerRequest;
-import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 import jakarta.ws.rs.Priorities;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerResponseContext;
@@ -15,9 +16,9 @@ import org.jboss.resteasy.reactive.server.ServerRequestFilter;
 import org.jboss.resteasy.reactive.server.ServerResponseFilter;
 
 /**
- * RestEasy filters to manage audit log
+ * RestEasy filters to manage audit log. The audit log of a request is kept in the request properties
  */
-@ApplicationScoped
+@Singleton
 public class AuditLogServerFilters {
 
     /**
@@ -35,13 +36,16 @@ public class AuditLogServerFilters {
     @ServerRequestFilter(preMatching = true, priority = Priorities.AUTHENTICATION - 500)
     public void setRequestInfos(final ContainerRequestContext request, final HttpServerRequest httpRequest) {
         try {
-            auditLogService.initRequestInfos(
+            var auditLog = auditLogService.initRequestInfos(
                 request.getMethod(),
                 request.getUriInfo().getPath(),
                 request.getUriInfo().getQueryParameters(),
                 request.getHeaders(),
                 httpRequest.remoteAddress()
             );
+            if (auditLog != null) {
+                request.setProperty(AuditLogServerService.AUDIT_LOG_PROPERTY, auditLog);
+            }
         } catch (RuntimeException ex) {
             Loggers.AUDIT_LOGS.error(
                 "Error when setting server request infos {}",
@@ -59,7 +63,7 @@ public class AuditLogServerFilters {
     @ServerRequestFilter(preMatching = true, priority = Priorities.AUTHENTICATION + 500)
     public void setUserInfos(final ContainerRequestContext request) {
         try {
-            auditLogService.initUserInfos(request.getSecurityContext().getUserPrincipal());
+            auditLogService.initUserInfos(auditLog(request), request.getSecurityContext().getUserPrincipal());
         } catch (RuntimeException ex) {
             Loggers.AUDIT_LOGS.error(
                 "Error when setting server user infos {}",
@@ -72,14 +76,19 @@ public class AuditLogServerFilters {
     /**
      * Set resource method infos, HTTP header and body
      *
+     * @param request Request context
      * @param resourceInfo ResourceInfo
      */
     @ServerRequestFilter(priority = 0)
-    public void setResourceMethodInfos(final ResourceInfo resourceInfo) {
+    public void setResourceMethodInfos(final ContainerRequestContext request, final ResourceInfo resourceInfo) {
         try {
-            auditLogService.initResourceMethodInfos(
+            var auditLog = auditLogService.initResourceMethodInfos(
+                auditLog(request),
                 Optional.ofNullable(resourceInfo).map(ResourceInfo::getResourceMethod).orElse(null)
             );
+            if (auditLog == null) {
+                request.removeProperty(AuditLogServerService.AUDIT_LOG_PROPERTY);
+            }
         } catch (RuntimeException ex) {
             Loggers.AUDIT_LOGS.error("Error when setting server resource method infos", ex);
         }
@@ -88,18 +97,30 @@ public class AuditLogServerFilters {
     /**
      * Send audit log
      *
+     * @param request Request context
      * @param response Response context
      * @return void
      */
     @ServerResponseFilter
-    public Uni<Void> send(final ContainerResponseContext response) {
+    public Uni<Void> send(final ContainerRequestContext request, final ContainerResponseContext response) {
         try {
-            auditLogService.setResponse(response);
-            auditLogService.setResponseBody(response.getEntity());
-            return auditLogService.send();
+            var auditLog = auditLog(request);
+            auditLogService.setResponse(auditLog, response);
+            auditLogService.setResponseBody(auditLog, response.getEntity());
+            return auditLogService.send(auditLog);
         } catch (RuntimeException ex) {
             Loggers.AUDIT_LOGS.error("Error when sending server response audit log", ex);
             return Uni.createFrom().voidItem();
         }
     }
+
+    /**
+     * Get the audit log of a request
+     *
+     * @param request Request context
+     * @return Audit log, or null if audit logs are disabled for the request
+     */
+    protected static AuditLog auditLog(final ContainerRequestContext request) {
+        return (AuditLog) request.getProperty(AuditLogServerService.AUDIT_LOG_PROPERTY);
+    }
 }
@@ -1,5 +1,6 @@
 package com.hififilter.audit.logs.server.runtime.audit.interceptor;
 
+import com.hififilter.audit.logs.common.runtime.audit.bean.AuditLog;
 import com.hififilter.audit.logs.server.runtime.audit.service.AuditLogServerService;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.ConstrainedTo;
@@ -25,7 +26,8 @@ public class AuditLogServerIOInterceptor implements ReaderInterceptor {
     @Override
     public Object aroundReadFrom(final ReaderInterceptorContext context) throws IOException {
         Object entity = context.proceed();
-        auditLogServerService.setRequestBody(entity);
+        auditLogServerService.setRequestBody(
+            (AuditLog) context.getProperty(AuditLogServerService.AUDIT_LOG_PROPERTY), entity);
         return entity;
     }
 }
@@ -5,19 +5,31 @@ import com.hififilter.audit.logs.common.runtime.audit.service.AuditLogService;
 import com.hififilter.audit.logs.server.runtime.AuditLogsServerConfig;
 import io.smallrye.mutiny.Uni;
 import io.vertx.core.net.SocketAddress;
-import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 import jakarta.ws.rs.container.ContainerResponseContext;
 import jakarta.ws.rs.core.MultivaluedMap;
 import java.lang.reflect.Method;
 import java.security.Principal;
+import org.jboss.resteasy.reactive.server.core.CurrentRequestManager;
 
 /**
- * Audit log server service
+ * Audit log server service.<br />
+ *
+ * <p>The audit log of a request is kept in the properties of the request (see {@link #AUDIT_LOG_PROPERTY}): the
+ * server filters and interceptor read it from their context and pass it explicitly, so capturing an audit log needs
+ * neither an active CDI request context nor a client proxy. Application code can still use
+ * {@link #putCustomField(String, Object)}, which looks up the current request.</p>
  */
-@RequestScoped
+@Singleton
 public class AuditLogServerService {
 
+    /**
+     * Name of the request property holding the audit log of the request
+     */
+    public static final String AUDIT_LOG_PROPERTY = AuditLog.class.getName();
+
     /**
      * Service to manage audit logs
      */
@@ -25,15 +37,16 @@ public class AuditLogServerService {
     protected AuditLogService auditLogService;
 
     /**
-     * Audit logs extension runtime config
+     * Audit logs extension runtime config. Resolved on first request: this bean is created at static init, with the
+     * filters, before the runtime config is available
      */
     @Inject
-    protected AuditLogsServerConfig auditLogsConfig;
+    protected Instance<AuditLogsServerConfig> auditLogsConfig;
 
     /**
-     * Audit log
+     * True if audit logs are enabled on server side, null until the first request
      */
-    protected AuditLog auditLog;
+    protected volatile Boolean enabled;
 
     /**
      * Init audit log with request infos.
@@ -43,31 +56,35 @@ public class AuditLogServerService {
      * @param queryParams HTTP query params
      * @param headers HTTP request headers
      * @param socketAddress User remote address
+     * @return Audit log of the request, to store in the request properties, or null if audit logs are disabled
      */
-    public void initRequestInfos(final String method, final String uri,
+    public AuditLog initRequestInfos(final String method, final String uri,
         final MultivaluedMap<String, String> queryParams,
         final MultivaluedMap<String, String> headers,
         final SocketAddress socketAddress) {
-        if (auditLogsConfig.server().enabled()) {
-            auditLog = new AuditLog();
-            auditLogService.initRequestInfos(
-                auditLog,
-                method,
-                uri,
-                AuditLogService.extractMultivaluedMap(queryParams),
-                AuditLogService.extractHeaders(headers),
-                socketAddress
-            );
+        if (!enabled()) {
+            return null;
         }
+        var auditLog = new AuditLog();
+        auditLogService.initRequestInfos(
+            auditLog,
+            method,
+            uri,
+            AuditLogService.extractMultivaluedMap(queryParams),
+            AuditLogService.extractHeaders(headers),
+            socketAddress
+        );
+        return auditLog;
     }
 
     /**
      * Inject information about user from principal
      *
+     * @param auditLog Audit log of the request, may be null
      * @param principal Principal (Java security object)
      */
-    public void initUserInfos(final Principal principal) {
-        if (isReady()) {
+    public void initUserInfos(final AuditLog auditLog, final Principal principal) {
+        if (auditLog != null) {
             auditLog.user().id(principal == null ? null : principal.getName());
         }
     }
@@ -75,22 +92,27 @@ public class AuditLogServerService {
     /**
      * Init resource info method, Audit options will be search on this method
      *
+     * @param auditLog Audit log of the request, may be null
      * @param invokedMethod Invoked API resource
+     * @return Audit log of the request, or null if audit logs are disabled on the invoked method
      */
-    public void initResourceMethodInfos(final Method invokedMethod) {
-        auditLog = auditLogService.isDisabledOnInvokedMethod(auditLog, invokedMethod);
-        if (isReady()) {
-            auditLogService.initResourceMethodInfos(auditLog, invokedMethod);
+    public AuditLog initResourceMethodInfos(final AuditLog auditLog, final Method invokedMethod) {
+        var enabledAuditLog = auditLog == null ? null : auditLogService.isDisabledOnInvokedMethod(auditLog,
+            invokedMethod);
+        if (enabledAuditLog != null) {
+            auditLogService.initResourceMethodInfos(enabledAuditLog, invokedMethod);
         }
+        return enabledAuditLog;
     }
 
     /**
      * Inject input body
      *
+     * @param auditLog Audit log of the request, may be null
      * @param entity HTTP body
      */
-    public void setRequestBody(final Object entity) {
-        if (isReady()) {
+    public void setRequestBody(final AuditLog auditLog, final Object entity) {
+        if (auditLog != null) {
             auditLogService.setRequestBody(auditLog, entity);
         }
     }
@@ -98,10 +120,11 @@ public class AuditLogServerService {
     /**
      * Inject output information from a ContainerResponseContext object
      *
+     * @param auditLog Audit log of the request, may be null
      * @param responseContext ContainerResponseContext object (JAX-RS object)
      */
-    public void setResponse(final ContainerResponseContext responseContext) {
-        if (isReady()) {
+    public void setResponse(final AuditLog auditLog, final ContainerResponseContext responseContext) {
+        if (auditLog != null) {
             auditLogService.setResponse(
                 auditLog,
                 responseContext.getStatus(),
@@ -113,22 +136,26 @@ public class AuditLogServerService {
     /**
      * Inject input body
      *
+     * @param auditLog Audit log of the request, may be null
      * @param entity HTTP body
      */
-    public void setResponseBody(final Object entity) {
-        if (isReady()) {
+    public void setResponseBody(final AuditLog auditLog, final Object entity) {
+        if (auditLog != null) {
             auditLogService.setResponseBody(auditLog, entity);
         }
     }
 
     /**
-     * Inject a custom field. If the custom field is already defined, it will be silently replaced
+     * Inject a custom field in the audit log of the current request. If the custom field is already defined, it will
+     * be silently replaced
      *
      * @param key Key of custom field
      * @param value Value of custom field
      */
     public void putCustomField(final String key, final Object value) {
-        if (isReady()) {
+        var request = CurrentRequestManager.get();
+        var auditLog = request == null ? null : (AuditLog) request.getProperty(AUDIT_LOG_PROPERTY);
+        if (auditLog != null) {
             auditLogService.putCustomField(auditLog, key, value);
         }
     }
@@ -136,18 +163,24 @@ public class AuditLogServerService {
     /**
      * Send audit log to http endpoint.
      *
-     * @return Optional with AuditLog uuid if sent (audit log enabled), empty optional otherwise
+     * @param auditLog Audit log of the request, may be null
+     * @return A void uni
      */
-    public Uni<Void> send() {
-        return isReady() ? auditLogService.send(auditLog) : Uni.createFrom().voidItem();
+    public Uni<Void> send(final AuditLog auditLog) {
+        return auditLog != null ? auditLogService.send(auditLog) : Uni.createFrom().voidItem();
     }
 
     /**
-     * Return true if audit log is enabled for the current request
+     * Check if audit logs are enabled on server side
      *
-     * @return true if audit log is enabled for the current request
+     * @return True if audit logs are enabled
      */
-    protected boolean isReady() {
-        return auditLog != null;
+    protected boolean enabled() {
+        var serverEnabled = enabled;
+        if (serverEnabled == null) {
+            serverEnabled = auditLogsConfig.get().server().enabled();
+            enabled = serverEnabled;
+        }
+        return serverEnabled;
     }
 }